@@ -3,7 +3,9 @@ package com.blocksmith;
 import com.blocksmith.core.Block;
 import com.blocksmith.core.Blockchain;
 import com.blocksmith.core.Transaction;
+import com.blocksmith.util.AmountUtil;
 import com.blocksmith.util.BlockchainConfig;
+import com.blocksmith.util.Hash256;
 
 /**
  * BlockSmith demonstration - shows Proof-of-Work mining in action.
@@ -117,8 +119,9 @@ public class BlockSmithDemo {
         System.out.println();
         
         System.out.println("▶ Creating transactions...");
-        Transaction tx1 = new Transaction("Miner1", "Alice", 30.0);
-        Transaction tx2 = new Transaction("Miner1", "Bob", 15.0);
+        double fee = AmountUtil.toCoins(BlockchainConfig.TRANSACTION_FEE);
+        Transaction tx1 = new Transaction("Miner1", "Alice", 30.0, fee);
+        Transaction tx2 = new Transaction("Miner1", "Bob", 15.0, fee);
         System.out.println("  " + tx1);
         System.out.println("  " + tx2);
         System.out.println();
@@ -129,7 +132,7 @@ public class BlockSmithDemo {
         System.out.println("  Pending transactions: " + txBlockchain.getPendingCount());
         System.out.println();
         
-        System.out.println("▶ Miner2 mines the block with pending transactions...");
+        System.out.println("▶ Miner2 mines the block with pending transactions (and collects the fees)...");
         txBlockchain.minePendingTransactions("Miner2");
         System.out.println();
         
@@ -167,13 +170,13 @@ public class BlockSmithDemo {
         try {
             java.lang.reflect.Field merkleField = Block.class.getDeclaredField("merkleRoot");
             merkleField.setAccessible(true);
-            merkleField.set(blockchain.getBlock(1), "HACKED_MERKLE_ROOT_1234567890123456789012345678901234");
+            merkleField.set(blockchain.getBlock(1), Hash256.sha256("HACKED_MERKLE_ROOT"));
         } catch (Exception e) {
             System.out.println("  Tamper failed: " + e.getMessage());
         }
         
         System.out.println("▶ Re-validating chain after tampering...");
-        boolean isValid = blockchain.isChainValid();
+        boolean isValid = blockchain.validateFullChain();
         System.out.println("  Chain valid: " + isValid);
         System.out.println();
         
@@ -1,10 +1,13 @@
 package com.blocksmith.core;
 
+import com.blocksmith.util.Hash256;
 import com.blocksmith.util.HashUtil;
 import com.blocksmith.util.BlockchainConfig;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Represents a single block in the blockchain.
@@ -25,16 +28,21 @@ import java.util.List;
  * MERKLE TREE: Instead of hashing all transactions directly, we build
  * a binary tree of hashes. This allows efficient verification of
  * individual transactions without downloading the entire block.
+ * 
+ * HASH STORAGE: hash, previousHash and merkleRoot are kept as Hash256
+ * values (32 raw bytes). The String getters render hex on demand;
+ * the get...Value() getters return the compact form for comparisons.
  */
 public class Block {
     
     private final int index;
     private final long timestamp;
     private final String data;  // Legacy: used for Genesis block message
-    private final String previousHash;
+    private final Hash256 previousHash;
     private final List<Transaction> transactions;
-    private final String merkleRoot;
-    private String hash;
+    private transient List<Transaction> transactionsView;  // read-only, created on first use
+    private final Hash256 merkleRoot;
+    private Hash256 hash;
     private int nonce;
 
     /**
@@ -44,7 +52,7 @@ public class Block {
      * @param transactions List of transactions to include
      * @param previousHash Hash of the previous block
      */
-    public Block(int index, List<Transaction> transactions, String previousHash) {
+    public Block(int index, List<Transaction> transactions, Hash256 previousHash) {
         this.index = index;
         this.timestamp = System.currentTimeMillis();
         this.transactions = new ArrayList<>(transactions);  // Defensive copy
@@ -52,7 +60,38 @@ public class Block {
         this.previousHash = previousHash;
         this.merkleRoot = calculateMerkleRoot();
         this.nonce = 0;
-        this.hash = calculateHash();
+        this.hash = calculateHashValue(nonce);
+    }
+
+    /**
+     * Creates a new block whose Merkle root was already computed
+     * incrementally (see MerkleAccumulator), so the tree is not rebuilt.
+     * 
+     * @param index Block number in the chain
+     * @param transactions List of transactions to include
+     * @param previousHash Hash of the previous block
+     * @param merkleRoot Merkle root of exactly these transactions
+     */
+    Block(int index, List<Transaction> transactions, Hash256 previousHash, Hash256 merkleRoot) {
+        this.index = index;
+        this.timestamp = System.currentTimeMillis();
+        this.transactions = new ArrayList<>(transactions);  // Defensive copy
+        this.data = "";
+        this.previousHash = previousHash;
+        this.merkleRoot = merkleRoot;
+        this.nonce = 0;
+        this.hash = calculateHashValue(nonce);
+    }
+
+    /**
+     * Creates a new block with transactions.
+     * 
+     * @param index Block number in the chain
+     * @param transactions List of transactions to include
+     * @param previousHash Hash of the previous block (64-character hex)
+     */
+    public Block(int index, List<Transaction> transactions, String previousHash) {
+        this(index, transactions, toHash256(previousHash));
     }
 
     /**
@@ -63,7 +102,7 @@ public class Block {
      * @param data Block content (simple string)
      * @param previousHash Hash of the previous block
      */
-    public Block(int index, String data, String previousHash) {
+    public Block(int index, String data, Hash256 previousHash) {
         this.index = index;
         this.timestamp = System.currentTimeMillis();
         this.data = data;
@@ -71,7 +110,34 @@ public class Block {
         this.previousHash = previousHash;
         this.merkleRoot = calculateMerkleRoot();
         this.nonce = 0;
-        this.hash = calculateHash();
+        this.hash = calculateHashValue(nonce);
+    }
+
+    /**
+     * Creates a new block with simple data (legacy constructor).
+     * 
+     * @param index Block number in the chain
+     * @param data Block content (simple string)
+     * @param previousHash Hash of the previous block (64-character hex)
+     */
+    public Block(int index, String data, String previousHash) {
+        this(index, data, toHash256(previousHash));
+    }
+
+    /**
+     * Restores a block exactly as it was stored (see BlockCodec).
+     * Nothing is recalculated - validation is the chain's job.
+     */
+    Block(int index, long timestamp, String data, Hash256 previousHash, List<Transaction> transactions,
+          Hash256 merkleRoot, Hash256 hash, int nonce) {
+        this.index = index;
+        this.timestamp = timestamp;
+        this.data = data;
+        this.previousHash = previousHash;
+        this.transactions = new ArrayList<>(transactions);
+        this.merkleRoot = merkleRoot;
+        this.hash = hash;
+        this.nonce = nonce;
     }
 
     /**
@@ -102,43 +168,25 @@ public class Block {
      * BITCOIN uses Merkle trees to enable SPV (Simple Payment Verification)
      * where light clients can verify transactions without full blockchain.
      * 
-     * @return 64-character Merkle root hash
+     * NODE HASH: parent = SHA-256(hex(left) + hex(right)); an odd last node
+     * is paired with itself.
+     * 
+     * @return Merkle root hash
      */
-    private String calculateMerkleRoot() {
+    private Hash256 calculateMerkleRoot() {
         // If no transactions, hash the data field (for Genesis block)
         if (transactions.isEmpty()) {
-            return HashUtil.applySha256(data);
+            return Hash256.sha256(data);
         }
         
         // If only one transaction, return its hash
         if (transactions.size() == 1) {
-            return transactions.get(0).getTransactionId();
+            return transactions.get(0).getTransactionIdValue();
         }
         
-        // Build the Merkle tree from transaction IDs
-        List<String> hashes = new ArrayList<>();
-        for (Transaction tx : transactions) {
-            hashes.add(tx.getTransactionId());
-        }
-        
-        // Keep hashing pairs until we get one root
-        while (hashes.size() > 1) {
-            List<String> nextLevel = new ArrayList<>();
-            
-            for (int i = 0; i < hashes.size(); i += 2) {
-                String left = hashes.get(i);
-                // If odd number, duplicate the last hash
-                String right = (i + 1 < hashes.size()) ? hashes.get(i + 1) : left;
-                
-                // Combine and hash
-                String combined = HashUtil.applySha256(left + right);
-                nextLevel.add(combined);
-            }
-            
-            hashes = nextLevel;
-        }
-        
-        return hashes.get(0);
+        // Build the Merkle tree from transaction IDs (raw digests,
+        // wide levels hashed in parallel - see MerkleTree)
+        return MerkleTree.computeRoot(transactions);
     }
 
     /**
@@ -151,11 +199,55 @@ public class Block {
      * NOTE: The nonce is included in the hash calculation. This is what allows
      * miners to change the hash output by incrementing the nonce.
      * 
+     * ENCODING: The header fields are hashed in a fixed 80-byte binary
+     * layout (see BlockHeader), not as a concatenated string.
+     * 
      * @return 64-character hexadecimal hash
      */
     public String calculateHash() {
-        String dataToHash = index + timestamp + merkleRoot + previousHash + nonce;
-        return HashUtil.applySha256(dataToHash);
+        return calculateHash(nonce);
+    }
+
+    /**
+     * Calculates the hash this block would have with the given nonce,
+     * without modifying the block. Used by mining workers that search
+     * different nonces concurrently on the same block.
+     * 
+     * @param candidateNonce The nonce to try
+     * @return 64-character hexadecimal hash
+     */
+    String calculateHash(int candidateNonce) {
+        return calculateHashValue(candidateNonce).toHex();
+    }
+
+    /**
+     * Calculates the hash of this block as a Hash256 (no hex conversion).
+     * 
+     * @return The block hash for the current nonce
+     */
+    public Hash256 calculateHashValue() {
+        return calculateHashValue(nonce);
+    }
+
+    private Hash256 calculateHashValue(int candidateNonce) {
+        byte[] header = BlockHeader.encode(this, candidateNonce);
+        byte[] digest = new byte[HashUtil.HASH_LENGTH];
+        HashUtil.sha256(header, 0, header.length, digest);
+        return Hash256.fromBytes(digest);
+    }
+
+    /**
+     * Converts a previous-hash argument to a Hash256.
+     * 
+     * A 64-character hex digest is parsed as-is. Any other text is reduced
+     * to 32 bytes with SHA-256 - the same rule the binary header has always
+     * applied - so arbitrary labels still give distinct, stable hashes.
+     */
+    private static Hash256 toHash256(String value) {
+        if (HashUtil.isHexDigest(value)) {
+            return Hash256.fromHex(value);
+        }
+        return Hash256.sha256(value);
     }
 
     /**
@@ -173,20 +265,26 @@ public class Block {
      * SECURITY: To tamper with a block, attacker must re-mine it AND 
      * all subsequent blocks faster than the network adds new ones. 
      *
+     * PERFORMANCE: The loop works on raw bytes - the header is encoded
+     * once, only the nonce bytes change per attempt, and the difficulty
+     * is checked on the 32-byte digest. Hex is produced only for the
+     * winning hash.
+     *
      * @param difficulty Number of leading zeros required in hash
      * @return Mining time in milliseconds
      */
     public long mineBlock(int difficulty) {
-        // Create target string: "0000" for difficulty 4
-        String target = "0".repeat(difficulty);
+        HeaderHasher hasher = new HeaderHasher(this);
 
         long startTime = System.currentTimeMillis();
 
         // Keep incrementing nonce until we find a valid hash
-        while (!hash.startsWith(target)) {
+        byte[] candidate = hasher.hash(nonce);
+        while (!HashUtil.meetsDifficulty(candidate, difficulty)) {
             nonce++;
-            hash = calculateHash();
+            candidate = hasher.hash(nonce);
         }
+        hash = Hash256.fromBytes(candidate);
 
         long endTime = System.currentTimeMillis();
         long miningTime = endTime - startTime;
@@ -197,12 +295,43 @@ public class Block {
         return miningTime;
     }
 
+    /**
+     * Mines this block using several threads at once.
+     * 
+     * THEORY: Each nonce attempt is independent of every other attempt,
+     * so the search parallelizes perfectly. Every worker gets its own
+     * disjoint slice of the nonce space and the first one to find a
+     * valid hash stops the others (see ParallelMiner).
+     * 
+     * With N cores the expected mining time is roughly 1/N of the
+     * single-threaded time - the work is the same, it is just shared.
+     * 
+     * @param difficulty Number of leading zeros required in hash
+     * @param threads Number of worker threads to use
+     * @return Mining time in milliseconds
+     */
+    public long mineBlock(int difficulty, int threads) {
+        return new ParallelMiner(threads).mine(this, difficulty);
+    }
+
+    /**
+     * Stores the result of a successful Proof-of-Work search.
+     * Called by ParallelMiner once a winning nonce has been found.
+     * 
+     * @param winningNonce The nonce that produced a valid hash
+     * @param winningHash The hash produced by that nonce
+     */
+    void applyProofOfWork(int winningNonce, Hash256 winningHash) {
+        this.nonce = winningNonce;
+        this.hash = winningHash;
+    }
+
     /**
      * Factory method to create the Genesis block (first block in chain).
      * 
      * THEORY: Genesis block is special:
      * - Always has index 0
-     * - previousHash is always "0" (no previous block exists yet)
+     * - previousHash is the all-zero hash (no previous block exists yet)
      * - Contains special message or timestamp to identify it as genesis
      * 
      * @return The Genesis block (not mined yet = call mineBlock() after creation)
@@ -230,10 +359,18 @@ public class Block {
     }
 
     public String getPreviousHash() {
-        return previousHash;
+        return previousHash.toHex();
     }
 
     public String getHash() {
+        return hash.toHex();
+    }
+
+    public Hash256 getPreviousHashValue() {
+        return previousHash;
+    }
+
+    public Hash256 getHashValue() {
         return hash;
     }
 
@@ -241,11 +378,60 @@ public class Block {
         return nonce;
     }
 
+    /**
+     * Returns a copy of the block's transactions, which the caller may modify.
+     * 
+     * Code that only reads should use getTransactionsView(),
+     * getTransaction(int) or forEachTransaction() - they do not copy.
+     */
     public List<Transaction> getTransactions() {
         return new ArrayList<>(transactions);  // Defensive copy
     }
 
+    /**
+     * Returns a read-only view of the block's transactions.
+     * 
+     * PERFORMANCE: No copy - the same view object is returned on every
+     * call, so scanning many blocks allocates nothing per block.
+     * Modifying the view throws UnsupportedOperationException.
+     */
+    public List<Transaction> getTransactionsView() {
+        List<Transaction> view = transactionsView;
+        if (view == null) {
+            // Blocks decoded by Gson skip the constructors; build the view lazily
+            view = Collections.unmodifiableList(transactions);
+            transactionsView = view;
+        }
+        return view;
+    }
+
+    /**
+     * Returns the transaction at a position in the block (0 = coinbase).
+     * 
+     * @param position Index of the transaction
+     * @return The transaction
+     * @throws IndexOutOfBoundsException if there is no such transaction
+     */
+    public Transaction getTransaction(int position) {
+        return transactions.get(position);
+    }
+
+    /**
+     * Calls action for every transaction, in block order, without copying.
+     * 
+     * @param action Called once per transaction
+     */
+    public void forEachTransaction(Consumer<Transaction> action) {
+        for (Transaction tx : transactions) {
+            action.accept(tx);
+        }
+    }
+
     public String getMerkleRoot() {
+        return merkleRoot.toHex();
+    }
+
+    public Hash256 getMerkleRootValue() {
         return merkleRoot;
     }
 
@@ -260,9 +446,9 @@ public class Block {
             ", timestamp=" + timestamp +
             ", nonce=" + nonce +
             ", transactions=" + transactions.size() +
-            ", merkleRoot='" + merkleRoot.substring(0, 8) + "...'" +
-            ", previousHash='" + previousHash.substring(0, Math.min(8, previousHash.length())) + "...'" +
-            ", hash='" + hash.substring(0, 8) + "...'" +
+            ", merkleRoot='" + getMerkleRoot().substring(0, 8) + "...'" +
+            ", previousHash='" + getPreviousHash().substring(0, 8) + "...'" +
+            ", hash='" + getHash().substring(0, 8) + "...'" +
             '}';
     }    
 }
\ No newline at end of file
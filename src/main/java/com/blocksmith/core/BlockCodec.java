@@ -0,0 +1,233 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.Hash256;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of blocks for storage on disk.
+ *
+ * THEORY: JSON is great for the network protocol (readable, easy to
+ * debug), but for a block log we want small records that are cheap to
+ * write and read back. The binary form stores every field exactly once,
+ * hashes as raw 32 bytes and amounts as 8-byte longs.
+ *
+ * BLOCK LAYOUT (big-endian):
+ *
+ *   int     index
+ *   long    timestamp
+ *   int     nonce
+ *   32      previousHash
+ *   32      merkleRoot
+ *   32      hash
+ *   string  data
+ *   int     transaction count
+ *   ...     transactions
+ *
+ * TRANSACTION LAYOUT:
+ *
+ *   32      transactionId
+ *   string  sender
+ *   string  recipient
+ *   long    amount (units)
+ *   long    fee (units)
+ *   long    timestamp
+ *   bytes   signature       (length -1 = none)
+ *   bytes   public key      (X.509 encoded, length -1 = none)
+ *
+ * "string" and "bytes" are an int length followed by the bytes (UTF-8
+ * for strings).
+ *
+ * Decoding restores the block exactly as stored, including its hash and
+ * Merkle root, so tampered or corrupted data is still caught by chain
+ * validation instead of being silently "fixed" on load.
+ *
+ * BITCOIN: Blocks are stored in blk*.dat files in the same serialization
+ * that is sent over the network.
+ */
+public final class BlockCodec {
+
+    private BlockCodec() {
+        throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+    }
+
+    /**
+     * Encodes a block into bytes.
+     *
+     * @param block The block to encode
+     * @return The encoded block
+     */
+    public static byte[] encode(Block block) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+
+            out.writeInt(block.getIndex());
+            out.writeLong(block.getTimestamp());
+            out.writeInt(block.getNonce());
+            out.write(block.getPreviousHashValue().toBytes());
+            out.write(block.getMerkleRootValue().toBytes());
+            out.write(block.getHashValue().toBytes());
+            writeString(out, block.getData());
+
+            List<Transaction> transactions = block.getTransactionsView();
+            out.writeInt(transactions.size());
+            for (Transaction tx : transactions) {
+                writeTransaction(out, tx);
+            }
+
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws - this cannot happen
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes a block from bytes produced by encode().
+     *
+     * @param encoded The encoded block
+     * @return The restored block
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     */
+    public static Block decode(byte[] encoded) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(encoded);
+
+            int index = in.getInt();
+            long timestamp = in.getLong();
+            int nonce = in.getInt();
+            Hash256 previousHash = readHash(in);
+            Hash256 merkleRoot = readHash(in);
+            Hash256 hash = readHash(in);
+            String data = readString(in);
+
+            int count = in.getInt();
+            if (count < 0) throw new IllegalArgumentException("Negative transaction count: " + count);
+            List<Transaction> transactions = new ArrayList<>(Math.min(count, in.remaining()));
+            for (int i = 0; i < count; i++) {
+                transactions.add(readTransaction(in));
+            }
+
+            if (in.hasRemaining()) {
+                throw new IllegalArgumentException(in.remaining() + " unexpected trailing bytes");
+            }
+            return new Block(index, timestamp, data, previousHash, transactions, merkleRoot, hash, nonce);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated block encoding", e);
+        }
+    }
+
+    /**
+     * Encodes a single transaction (same layout as inside a block).
+     *
+     * @param transaction The transaction to encode
+     * @return The encoded transaction
+     */
+    static byte[] encodeTransaction(Transaction transaction) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeTransaction(out, transaction);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes a single transaction produced by encodeTransaction().
+     *
+     * @param encoded The encoded transaction
+     * @return The restored transaction
+     * @throws IllegalArgumentException if the bytes are not a valid encoding
+     */
+    static Transaction decodeTransaction(byte[] encoded) {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(encoded);
+            Transaction transaction = readTransaction(in);
+            if (in.hasRemaining()) {
+                throw new IllegalArgumentException(in.remaining() + " unexpected trailing bytes");
+            }
+            return transaction;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated transaction encoding", e);
+        }
+    }
+
+    private static void writeTransaction(DataOutputStream out, Transaction tx) throws IOException {
+        out.write(tx.getTransactionIdValue().toBytes());
+        writeString(out, tx.getSender());
+        writeString(out, tx.getRecipient());
+        out.writeLong(tx.getAmountUnits());
+        out.writeLong(tx.getFeeUnits());
+        out.writeLong(tx.getTimestamp());
+        writeBytes(out, tx.getSignature());
+        writeBytes(out, tx.getSenderPublicKey() == null ? null : tx.getSenderPublicKey().getEncoded());
+    }
+
+    private static Transaction readTransaction(ByteBuffer in) {
+        Hash256 id = readHash(in);
+        String sender = readString(in);
+        String recipient = readString(in);
+        long amount = in.getLong();
+        long fee = in.getLong();
+        long timestamp = in.getLong();
+        byte[] signature = readBytes(in);
+        byte[] publicKey = readBytes(in);
+
+        return new Transaction(id, sender, recipient, amount, fee, timestamp, signature, decodePublicKey(publicKey));
+    }
+
+    private static PublicKey decodePublicKey(byte[] encoded) {
+        if (encoded == null) return null;
+        // Repeated senders reuse the key decoded the first time
+        return PublicKeyRegistry.getShared().decode(encoded);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = readBytes(in);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == -1) return null;
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Invalid field length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return bytes;
+    }
+
+    private static Hash256 readHash(ByteBuffer in) {
+        byte[] bytes = new byte[Hash256.SIZE];
+        in.get(bytes);
+        return Hash256.fromBytes(bytes);
+    }
+}
@@ -0,0 +1,80 @@
+package com.blocksmith.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-layout binary encoding of a block header.
+ *
+ * THEORY: The block hash is SHA-256 over the block HEADER - the small,
+ * fixed set of fields that commit to everything else in the block.
+ * Transactions are not hashed directly; the Merkle root stands in for them.
+ *
+ * LAYOUT (80 bytes, big-endian):
+ *
+ *   offset  size  field
+ *   ------  ----  ------------
+ *        0     4  index
+ *        4     8  timestamp
+ *       12    32  merkleRoot
+ *       44    32  previousHash
+ *       76     4  nonce
+ *
+ * WHY BINARY?
+ * - The old String form ("1" + "1706886000000" + "ab12..." + ...) had to be
+ *   rebuilt, UTF-8 encoded and hex-converted on every mining attempt
+ * - With a fixed layout, mining encodes the header ONCE and then only
+ *   overwrites the last 4 bytes (the nonce) for each attempt
+ * - The nonce is last on purpose: everything before it is constant
+ *   while mining a block
+ *
+ * BITCOIN: Also uses an 80-byte header (version, prevHash, merkleRoot,
+ * time, bits, nonce) with the nonce in the final 4 bytes.
+ */
+public final class BlockHeader {
+
+    /** Total size of an encoded header in bytes. */
+    public static final int HEADER_SIZE = 80;
+
+    /** Offset of the 4-byte nonce - always the last field. */
+    public static final int NONCE_OFFSET = 76;
+
+    private static final int MERKLE_ROOT_OFFSET = 12;
+    private static final int PREVIOUS_HASH_OFFSET = 44;
+
+    private BlockHeader() {
+        throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+    }
+
+    /**
+     * Encodes the header fields of a block into a new 80-byte array.
+     *
+     * @param block The block to encode
+     * @param nonce The nonce to place in the header
+     * @return 80-byte header
+     */
+    public static byte[] encode(Block block, int nonce) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE);
+        buffer.putInt(block.getIndex());
+        buffer.putLong(block.getTimestamp());
+        block.getMerkleRootValue().writeTo(buffer.array(), MERKLE_ROOT_OFFSET);
+        block.getPreviousHashValue().writeTo(buffer.array(), PREVIOUS_HASH_OFFSET);
+        buffer.position(NONCE_OFFSET);
+        buffer.putInt(nonce);
+        return buffer.array();
+    }
+
+    /**
+     * Overwrites the nonce field of an encoded header in place.
+     *
+     * This is the only write a miner performs per attempt.
+     *
+     * @param header An encoded header
+     * @param nonce The nonce to store
+     */
+    public static void writeNonce(byte[] header, int nonce) {
+        header[NONCE_OFFSET]     = (byte) (nonce >>> 24);
+        header[NONCE_OFFSET + 1] = (byte) (nonce >>> 16);
+        header[NONCE_OFFSET + 2] = (byte) (nonce >>> 8);
+        header[NONCE_OFFSET + 3] = (byte) nonce;
+    }
+}
@@ -1,10 +1,30 @@
 package com.blocksmith.core;
 
+import com.blocksmith.storage.BlockStore;
+import com.blocksmith.storage.FileBlockStore;
+import com.blocksmith.storage.MemoryBlockStore;
+import com.blocksmith.storage.StateSnapshot;
+import com.blocksmith.storage.WriteAheadLog;
+import com.blocksmith.util.AmountUtil;
 import com.blocksmith.util.BlockchainConfig;
-
+import com.blocksmith.util.Hash256;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages the blockchain - a linked list of blocks.
@@ -30,11 +50,64 @@ import java.util.List;
  * When a miner successfully mines a block, they receive a reward.
  * This is implemented as a special "coinbase" transaction from
  * the system to the miner's address. 
+ * 
+ * BALANCE INDEX:
+ * Confirmed balances are kept in a map (address -> balance) that is
+ * updated once per transaction when a block is appended. Balance
+ * lookups are a single map read instead of a scan of the whole chain.
+ * Balances are exact long units (see AmountUtil), so they never drift.
+ * 
+ * LOOKUP INDEXES:
+ * Two more maps are kept up to date on append, so lookups never scan:
+ * - block hash -> height (find a block by hash, e.g. a new block's parent)
+ * - transaction ID -> (height, position) (find a confirmed transaction)
+ * 
+ * STORAGE:
+ * Blocks live in a BlockStore (an append-only log, on disk with
+ * FileBlockStore). Only the indexes above, the latest block and a small
+ * cache of recently used blocks stay on the heap; any other block is
+ * read back from the store when asked for. Opening an existing store
+ * rebuilds the indexes from the stored blocks.
+ * 
+ * SNAPSHOTS:
+ * A persisted chain saves its balance index every SNAPSHOT_INTERVAL
+ * blocks and on close (see StateSnapshot). On startup the snapshot is
+ * loaded and only the blocks after it are replayed. The block hash index
+ * comes straight from the store's index; the transaction index for the
+ * blocks covered by the snapshot is built on the first transaction lookup.
+ * 
+ * MEMPOOL LOG:
+ * A persisted chain also logs every mempool change (admitted, evicted,
+ * mined) to a write-ahead log, so pending transactions survive a crash.
+ * On startup the log is replayed into the mempool and then compacted
+ * down to one record per transaction still pending.
  */
-public class Blockchain {
+public class Blockchain implements Closeable {
+
+    private static final String SNAPSHOT_FILE = "state.snapshot";
+    static final String MEMPOOL_LOG_FILE = "mempool.log";
+
+    // Mempool log record types (first byte of each record)
+    private static final byte LOG_ADD = 1;      // + encoded transaction
+    private static final byte LOG_REMOVE = 2;   // + 32-byte transaction ID
 
-    private final List<Block> chain;
-    private final List<Transaction> pendingTransactions;
+    private final BlockStore store;
+    private final Map<Integer, Block> blockCache;
+    private final Map<Integer, byte[][]> merkleLevelsCache; // height -> tree levels, for proofs
+    private Block latestBlock;
+    private final Mempool mempool;
+    private final Map<String, Balance> balances;
+    private final Map<Hash256, Integer> heightByHash;
+    private final Map<Hash256, TransactionLocation> transactionIndex;
+
+    private final Path snapshotFile;      // null = in-memory chain, no snapshots
+    private int snapshotHeight;           // height of the last snapshot written or loaded
+    private int unindexedTransactionHeight; // blocks below this are not in transactionIndex yet
+    private final WriteAheadLog mempoolLog; // null = in-memory chain, pending transactions not logged
+
+    private final ChainValidator validator;
+    private SignatureVerifier signatureVerifier; // created on first use
+    private int validatedHeight;            // blocks below this have passed validation
 
     /**
      * Creates a new blockchain with the Genesis block.
@@ -43,7 +116,7 @@ public class Blockchain {
      * 
      * SPECIAL PROPERTIES:
      * - index = 0 (first block)
-     * - previousHash = "0" (no previous block exists)
+     * - previousHash = all zeros (no previous block exists)
      * - Usually hardcoded or has special data
      * 
      * BITCOIN'S GENESIS: Contains the message:
@@ -51,13 +124,250 @@ public class Blockchain {
      * This proves the block couldn't have been created before that date.
      */
     public Blockchain() {
-        this.chain = new ArrayList<>();
-        this.pendingTransactions = new ArrayList<>();
+        this(new MemoryBlockStore());
+    }
+
+    /**
+     * Opens a blockchain persisted in a directory, creating it (with a
+     * new Genesis block) if the directory holds no blocks yet.
+     * 
+     * @param directory Directory for the block files
+     * @throws IOException if the block files cannot be opened
+     */
+    public Blockchain(Path directory) throws IOException {
+        this(new FileBlockStore(directory), directory.resolve(SNAPSHOT_FILE),
+            new WriteAheadLog(directory.resolve(MEMPOOL_LOG_FILE)));
+    }
+
+    /**
+     * Creates a blockchain backed by the given block store.
+     * 
+     * An empty store gets a freshly mined Genesis block. A store that
+     * already holds blocks is loaded: every block is read once to
+     * rebuild the balance and lookup indexes.
+     * 
+     * @param store Where the blocks are kept (owned by this blockchain from now on)
+     */
+    public Blockchain(BlockStore store) {
+        this(store, null, null);
+    }
+
+    private Blockchain(BlockStore store, Path snapshotFile, WriteAheadLog mempoolLog) {
+        this.store = store;
+        this.snapshotFile = snapshotFile;
+        this.mempoolLog = mempoolLog;
+        this.validator = new ChainValidator();
+        this.snapshotHeight = -1;
+        this.blockCache = new LruCache<>(BlockchainConfig.BLOCK_CACHE_SIZE);
+        this.merkleLevelsCache = new LruCache<>(BlockchainConfig.MERKLE_LEVELS_CACHE_SIZE);
+        this.mempool = new Mempool();
+        this.balances = new HashMap<>();
+        this.heightByHash = new HashMap<>();
+        this.transactionIndex = new HashMap<>();
+
+        if (store.size() == 0) {
+            // Create and mine the Genesis block
+            Block genesis = Block.createGenesisBlock();
+            genesis.mineBlock(BlockchainConfig.MINING_DIFFICULTY, BlockchainConfig.MINING_THREADS);
+            appendBlock(genesis, List.of());
+        } else {
+            loadFromStore();
+        }
+
+        if (mempoolLog != null) {
+            replayMempoolLog();
+        }
+    }
+
+    /**
+     * Rebuilds the in-memory state from the store, starting from the
+     * snapshot if a matching one exists.
+     * 
+     * With a snapshot at height S of an N-block chain:
+     * - block hash index: read from the store index, no blocks decoded
+     * - balances: taken from the snapshot
+     * - blocks S+1 .. N-1: decoded and replayed as usual
+     */
+    private void loadFromStore() {
+        StateSnapshot snapshot = loadSnapshot();
+        int replayFrom = 0;
+
+        if (snapshot != null) {
+            for (int height = 0; height <= snapshot.getHeight(); height++) {
+                heightByHash.put(store.getBlockHash(height), height);
+            }
+            for (Map.Entry<String, Long> entry : snapshot.getBalances().entrySet()) {
+                balanceOf(entry.getKey()).units = entry.getValue();
+            }
+            snapshotHeight = snapshot.getHeight();
+            unindexedTransactionHeight = snapshot.getHeight() + 1;
+            replayFrom = snapshot.getHeight() + 1;
+        }
+
+        for (int height = replayFrom; height < store.size(); height++) {
+            indexBlock(BlockCodec.decode(store.read(height)), height);
+        }
+        latestBlock = getBlock(store.size() - 1);
+    }
+
+    /**
+     * Reads the snapshot file, if it belongs to the stored chain.
+     * 
+     * @return The snapshot, or null if there is none, it is damaged, or
+     *         it does not match the block stored at its height
+     */
+    private StateSnapshot loadSnapshot() {
+        if (snapshotFile == null) return null;
+        try {
+            StateSnapshot snapshot = StateSnapshot.read(snapshotFile);
+            if (snapshot == null) return null;
+
+            int height = snapshot.getHeight();
+            if (height < 0 || height >= store.size() || !store.getBlockHash(height).equals(snapshot.getTipHash())) {
+                System.err.println("Ignoring snapshot that does not match the stored chain: " + snapshot);
+                return null;
+            }
+            return snapshot;
+        } catch (IOException e) {
+            System.err.println("Could not read snapshot, replaying the full chain: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Rebuilds the mempool from the log, then compacts the log.
+     * 
+     * ADD records are re-checked like new submissions (valid, not
+     * already confirmed, affordable), so a transaction that was mined
+     * just before a crash - before its REMOVE record was written - is
+     * not admitted twice. The compacted log holds one ADD record per
+     * transaction left in the pool, in arrival order. Replaying it keeps
+     * that order, so whole-pool block templates (built in arrival order)
+     * come out the same after a restart.
+     */
+    private void replayMempoolLog() {
+        Map<Hash256, Transaction> pending = new LinkedHashMap<>();
+        for (byte[] record : mempoolLog.getRecoveredRecords()) {
+            if (record.length == 0) continue;
+            byte[] payload = Arrays.copyOfRange(record, 1, record.length);
+            try {
+                if (record[0] == LOG_ADD) {
+                    Transaction tx = BlockCodec.decodeTransaction(payload);
+                    pending.put(tx.getTransactionIdValue(), tx);
+                } else if (record[0] == LOG_REMOVE) {
+                    pending.remove(Hash256.fromBytes(payload));
+                }
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping unreadable mempool log record: " + e.getMessage());
+            }
+        }
+
+        Set<Hash256> snapshotTipIds = pending.isEmpty() ? Set.of() : snapshotTipTransactionIds();
+        for (Transaction tx : pending.values()) {
+            if (!tx.isValid() || tx.getSender().equals(BlockchainConfig.COINBASE_ADDRESS)) continue;
+            if (isConfirmedForReplay(tx.getTransactionIdValue(), snapshotTipIds)) continue;
+            long available = getBalanceUnits(tx.getSender()) - getPendingOutgoing(tx.getSender());
+            if (available < tx.getTotalCostUnits()) continue;
+            mempool.add(tx);
+        }
+
+        List<byte[]> compacted = new ArrayList<>(mempool.size());
+        for (Transaction tx : mempool.getTransactionsInArrivalOrder()) {
+            compacted.add(addRecord(tx));
+        }
+        try {
+            mempoolLog.rewrite(compacted);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compact the mempool log", e);
+        }
+    }
+
+    /**
+     * Checks whether a logged transaction is already in the chain, without
+     * building the lazy index of the blocks under the snapshot (that would
+     * decode the whole chain on every restart with pending transactions).
+     * 
+     * Blocks after the snapshot are in transactionIndex. Blocks under it
+     * had their REMOVE records made durable before the snapshot was
+     * written (see writeSnapshot()), so their transactions never reach
+     * this check - except for the snapshot's own block in a log written
+     * before that ordering, which is why its IDs are checked as well.
+     */
+    private boolean isConfirmedForReplay(Hash256 transactionId, Set<Hash256> snapshotTipIds) {
+        return transactionIndex.containsKey(transactionId) || snapshotTipIds.contains(transactionId);
+    }
 
-        // Create and mine the Genesis block
-        Block genesis = Block.createGenesisBlock();
-        genesis.mineBlock(BlockchainConfig.MINING_DIFFICULTY);
-        chain.add(genesis);
+    /**
+     * Returns the transaction IDs of the block at the snapshot height, or
+     * an empty set if there is no unindexed snapshot block (one decode).
+     */
+    private Set<Hash256> snapshotTipTransactionIds() {
+        if (unindexedTransactionHeight == 0) return Set.of();
+        Set<Hash256> ids = new HashSet<>();
+        BlockCodec.decode(store.read(unindexedTransactionHeight - 1))
+            .forEachTransaction(tx -> ids.add(tx.getTransactionIdValue()));
+        return ids;
+    }
+
+    /**
+     * Logs a mempool change. The record is queued for the log's next
+     * group commit; admission does not wait for the disk.
+     */
+    private void logMempoolChange(byte[] record) {
+        if (mempoolLog == null) return;
+        try {
+            mempoolLog.append(record);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write the mempool log", e);
+        }
+    }
+
+    /**
+     * Builds the log record for a transaction entering the mempool.
+     */
+    static byte[] addRecord(Transaction tx) {
+        byte[] encoded = BlockCodec.encodeTransaction(tx);
+        return ByteBuffer.allocate(1 + encoded.length).put(LOG_ADD).put(encoded).array();
+    }
+
+    private static byte[] removeRecord(Transaction tx) {
+        byte[] record = new byte[1 + Hash256.SIZE];
+        record[0] = LOG_REMOVE;
+        tx.getTransactionIdValue().writeTo(record, 1);
+        return record;
+    }
+
+    /**
+     * Saves the current state as a snapshot at the latest block.
+     * 
+     * The mempool log is synced first: once a snapshot covers a block, the
+     * REMOVE records of that block's transactions must already be on
+     * disk, or a crash could bring a mined transaction back into the pool.
+     * 
+     * A failed snapshot does not affect the chain - the blocks are already
+     * stored, the next startup just replays more of them.
+     */
+    private void writeSnapshot() {
+        if (mempoolLog != null) {
+            try {
+                mempoolLog.sync();
+            } catch (IOException e) {
+                System.err.println("Skipping snapshot, mempool log is not durable: " + e.getMessage());
+                return;
+            }
+        }
+        int height = store.size() - 1;
+        Map<String, Long> units = new HashMap<>(balances.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Balance> entry : balances.entrySet()) {
+            units.put(entry.getKey(), entry.getValue().units);
+        }
+
+        try {
+            new StateSnapshot(height, latestBlock.getHashValue(), units).write(snapshotFile);
+            snapshotHeight = height;
+        } catch (IOException e) {
+            System.err.println("Could not write snapshot at height " + height + ": " + e.getMessage());
+        }
     }
         
     /**
@@ -66,7 +376,7 @@ public class Blockchain {
      * @return The latest block added to the chain
      */
     public Block getLatestBlock() {
-        return chain.get(chain.size() - 1);
+        return latestBlock;
     }
 
     /**
@@ -79,10 +389,10 @@ public class Blockchain {
         Block latestBlock = getLatestBlock();
         int newIndex = latestBlock.getIndex() + 1;
 
-        Block newBlock = new Block(newIndex, data, latestBlock.getHash());
-        newBlock.mineBlock(BlockchainConfig.MINING_DIFFICULTY);
+        Block newBlock = new Block(newIndex, data, latestBlock.getHashValue());
+        newBlock.mineBlock(BlockchainConfig.MINING_DIFFICULTY, BlockchainConfig.MINING_THREADS);
 
-        chain.add(newBlock);
+        appendBlock(newBlock, List.of());
         
         return newBlock;
     }
@@ -94,12 +404,13 @@ public class Blockchain {
      * 
      * In real blockchains, pending transactions wait in a "mempool"
      * until a miner includes them in a block. Miners typically
-     * prioritize transactions wiht higher fees.
+     * prioritize transactions wiht higher fees (see Mempool).
      * 
      * VALIDATION: 
-     * 1. Transaction must be valid (amount > 0, non-empty addresses)
+     * 1. Transaction must be valid (amount > 0, fee >= 0, non-empty addresses)
      * 2. COINBASE transactions are rejected (only created by mining)
-     * 3. Sender must have sufficient balance
+     * 3. Sender must have sufficient balance for amount + fee
+     * 4. The mempool must have room (or the fee rate must beat the cheapest)
      * 
      * BALANCE CHECK:
      * We check both confirmed balance (in blockchain) and pending
@@ -121,24 +432,69 @@ public class Blockchain {
             return false;
         }
 
-        // Check sender has sufficient balance
-        double senderBalance = getBalance(transaction.getSender());
-        double pendingOutgoing = getPendingOutgoing(transaction.getSender());
-        double availableBalance = senderBalance - pendingOutgoing;
+        // Check sender has sufficient balance (exact, in units)
+        long senderBalance = getBalanceUnits(transaction.getSender());
+        long pendingOutgoing = getPendingOutgoing(transaction.getSender());
+        long availableBalance = senderBalance - pendingOutgoing;
 
-        if (availableBalance < transaction.getAmount()) {
+        if (availableBalance < transaction.getTotalCostUnits()) {
             System.out.println("Transacion rejected: Insufficient funds. " + 
-                "Available: " + availableBalance + " " + BlockchainConfig.CURRENCY_SYMBOL + 
-                ", Required: " + transaction.getAmount() + " " + BlockchainConfig.CURRENCY_SYMBOL);
+                "Available: " + AmountUtil.format(availableBalance) + " " + BlockchainConfig.CURRENCY_SYMBOL + 
+                ", Required: " + AmountUtil.format(transaction.getTotalCostUnits()) + " " + BlockchainConfig.CURRENCY_SYMBOL);
                 return false;
         }
 
-        // Add to pending pool
-        pendingTransactions.add(transaction);
+        // Add to pending pool (and log the admission, plus any eviction it caused)
+        if (!mempool.add(transaction, evicted -> logMempoolChange(removeRecord(evicted)))) {
+            System.out.println("Transaction rejected: Duplicate, or mempool full and fee rate too low");
+            return false;
+        }
+        logMempoolChange(addRecord(transaction));
         System.out.println("Transaction added to pending pool: " + transaction);
         return true;
     }
 
+    /**
+     * Adds a batch of signed transactions (e.g. received from the network).
+     * 
+     * PIPELINE:
+     * All signatures are handed to the SignatureVerifier pool at once.
+     * This thread then admits the transactions in order, each as soon as
+     * its own signature check is done - while the workers are still
+     * verifying the ones behind it:
+     * 
+     *   workers:  verify 0-63   verify 64-127   verify 128-191 ...
+     *   caller:         admit 0..63     admit 64..127     ...
+     * 
+     * Unlike addTransaction(), every transaction (except COINBASE, which
+     * is rejected anyway) must carry a valid signature. Admission itself
+     * stays on the calling thread, like every other change to the chain.
+     * 
+     * @param transactions The transactions to add, in arrival order
+     * @return One result per transaction: true if it was added
+     */
+    public List<Boolean> submitTransactions(List<Transaction> transactions) {
+        List<CompletableFuture<Boolean>> signatureChecks = signatureVerifier().verifyAll(transactions);
+
+        List<Boolean> results = new ArrayList<>(transactions.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            if (!signatureChecks.get(i).join()) {
+                System.out.println("Transaction rejected: Invalid or missing signature");
+                results.add(false);
+            } else {
+                results.add(addTransaction(transactions.get(i)));
+            }
+        }
+        return results;
+    }
+
+    private SignatureVerifier signatureVerifier() {
+        if (signatureVerifier == null) {
+            signatureVerifier = new SignatureVerifier();
+        }
+        return signatureVerifier;
+    }
+
     /**
      * Calculates total outgoing amount in pending transactions for an address
      * 
@@ -149,109 +505,188 @@ public class Blockchain {
      * Otherwise, they could submit multiple transactions thath together
      * exceed their balance.
      * 
+     * INDEX: The mempool keeps a running total per sender, updated as
+     * transactions enter and leave the pool. Scanning the pool instead
+     * would make filling a pool of N transactions cost O(N^2).
+     * 
      * @param address Ther address to check
-     * @return Total amount being sent in pending transactions
+     * @return Total amount (plus fees) being sent in pending transactions, in units
      */
-    private double getPendingOutgoing(String address) {
-        double pending = 0;
-         for (Transaction tx : pendingTransactions) {
-            if (tx.getSender().equals(address)) pending += tx.getAmount();
-         }
-         return pending;
+    private long getPendingOutgoing(String address) {
+        return mempool.getPendingOutgoing(address);
     }
 
     /**
-     * Mines all pending transactions into a new block.
+     * Mines the best pending transactions into a new block.
      * 
      * THEORY: MINING PROCESS
      * 
-     * 1. Collect pending transactions
-     * 2. Add a COINBASE transaction (mining reward)
-     * 3. Create a new block with all transactions
+     * 1. Select pending transactions, highest fee rate first, up to
+     *    the block size limit (MAX_BLOCK_TRANSACTIONS). If the whole pool
+     *    fits, every transaction is taken, in arrival order.
+     * 2. Add a COINBASE transaction (mining reward + collected fees)
+     * 3. Create a new block with those transactions (for a whole pool the
+     *    Merkle root comes from the mempool's accumulator, not a rebuild)
      * 4. Mine the block (find valid nonce)
      * 5. Add block to chain
-     * 6. Clear pending transactions
+     * 6. Remove the mined transactions from the mempool
+     * 
+     * Transactions that did not fit stay in the mempool for the next block.
      * 
      * COINBASE TRANSACTION:
      * A special transaction with no sender (from "COINBASE")
      * that rewards the miner. This is how new coins are created.
      * 
      * @param minerAddress Address to receive mining reward
-     * @return The newly mined block, or null if no transactions
+     * @return The newly mined block
      */
     public Block minePendingTransactions(String minerAddress) {
+        // If the whole pool fits (leaving one slot for the coinbase), take
+        // it in arrival order - the mempool keeps that Merkle tree ready.
+        // Otherwise pick the best transactions by fee rate.
+        boolean wholePool = mempool.size() < BlockchainConfig.MAX_BLOCK_TRANSACTIONS;
+        List<Transaction> selected = wholePool
+            ? mempool.getTransactionsInArrivalOrder()
+            : mempool.selectForBlock(BlockchainConfig.MAX_BLOCK_TRANSACTIONS - 1);
+
+        long fees = 0;
+        for (Transaction tx : selected) {
+            fees += tx.getFeeUnits();
+        }
+
         // Create coinbase (reward) transaction
-        Transaction rewardTx = new Transaction(
+        Transaction rewardTx = Transaction.ofUnits(
             BlockchainConfig.COINBASE_ADDRESS,
             minerAddress,
-            BlockchainConfig.MINING_REWARD
+            BlockchainConfig.MINING_REWARD + fees,
+            0
         );
 
-        // Create transaction list with reward + pending transactions
+        // Create transaction list with reward + selected transactions
         List<Transaction> blockTransactions = new ArrayList<>();
         blockTransactions.add(rewardTx);
-        blockTransactions.addAll(pendingTransactions);
+        blockTransactions.addAll(selected);
 
         // Create and mine the new block
         Block latestBlock = getLatestBlock();
         int newIndex = latestBlock.getIndex() + 1;
 
-        Block newBlock = new Block (newIndex, blockTransactions, latestBlock.getHash());
+        Block newBlock = wholePool
+            ? new Block(newIndex, blockTransactions, latestBlock.getHashValue(), mempool.templateMerkleRoot(rewardTx))
+            : new Block(newIndex, blockTransactions, latestBlock.getHashValue());
 
         System.out.println("\n⛏️  Mining block #" + newIndex + " with " + blockTransactions.size() + " transactions...");
-        newBlock.mineBlock(BlockchainConfig.MINING_DIFFICULTY);
+        newBlock.mineBlock(BlockchainConfig.MINING_DIFFICULTY, BlockchainConfig.MINING_THREADS);
 
-        // Add block to chain
-        chain.add(newBlock);
+        // Add block to chain (this also logs the mined transactions' removal)
+        appendBlock(newBlock, selected);
 
-        // Clear pending transactions (they're now in a block)
-        pendingTransactions.clear();
+        // Remove mined transactions from the pool (they're now in a block)
+        mempool.removeAll(selected);
 
         System.out.println("✅ Block mined and added to chain!");
         System.out.println("   Miner " + minerAddress + " received " + 
-            BlockchainConfig.MINING_REWARD + " " + BlockchainConfig.CURRENCY_SYMBOL);
+            AmountUtil.format(rewardTx.getAmountUnits()) + " " + BlockchainConfig.CURRENCY_SYMBOL);
         
         return newBlock;        
     }
 
+    /**
+     * Appends a mined block to the chain and updates every index
+     * (balances, block hash, transaction location).
+     * 
+     * Every block enters the chain through here, so the indexes always
+     * reflect exactly the blocks in the chain.
+     * 
+     * The REMOVE records of the mined pool transactions are logged after
+     * the block is stored and before any snapshot that covers it.
+     * 
+     * @param block The mined block to append
+     * @param minedFromPool Pending transactions included in the block
+     */
+    private void appendBlock(Block block, List<Transaction> minedFromPool) {
+        int height = store.append(block.getHashValue(), BlockCodec.encode(block));
+        blockCache.put(height, block);
+        latestBlock = block;
+        indexBlock(block, height);
+
+        for (Transaction tx : minedFromPool) {
+            logMempoolChange(removeRecord(tx));
+        }
+
+        if (snapshotFile != null && height % BlockchainConfig.SNAPSHOT_INTERVAL == 0 && height > 0) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Adds one block to the in-memory indexes.
+     * 
+     * @param block The block
+     * @param height The block's height in the store
+     */
+    private void indexBlock(Block block, int height) {
+        heightByHash.put(block.getHashValue(), height);
+
+        List<Transaction> transactions = block.getTransactionsView();
+        for (int position = 0; position < transactions.size(); position++) {
+            // Keep the first occurrence if an ID ever repeats (like Bitcoin's BIP30 rule)
+            transactionIndex.putIfAbsent(transactions.get(position).getTransactionIdValue(),
+                new TransactionLocation(height, position));
+        }
+
+        for (Transaction tx : transactions) {
+            // Same order as a full scan: debit sender (amount + fee), then credit recipient.
+            // The fee reaches the miner through the coinbase amount.
+            balanceOf(tx.getSender()).units -= tx.getTotalCostUnits();
+            balanceOf(tx.getRecipient()).units += tx.getAmountUnits();
+        }
+    }
+
+    private Balance balanceOf(String address) {
+        return balances.computeIfAbsent(address, a -> new Balance());
+    }
+
     /**
      * Calculates the balance of an address.
      * 
      * THEORY: ACCOUNT BALANCE
      * 
      * In our simple model, balance = incoming - outgoing.
-     * We scan ALL transactions in ALL blocks to calculate this.
+     * Instead of scanning ALL transactions in ALL blocks on every call,
+     * we keep a running balance per address that is updated as blocks
+     * are appended (see appendBlock). A lookup is O(1) no matter how
+     * long the chain grows.
      * 
-     * BITCOIN uses UTXO (Unspent Transaction Outputs) instead,
-     * which is more efficient for large chains but more complex.
+     * BITCOIN uses UTXO (Unspent Transaction Outputs) instead, and keeps
+     * the current UTXO set in a database for the same reason - nobody
+     * rescans the chain to answer "how much can I spend?".
      * 
      * @param address The addres to check
-     * @return The current balance
+     * @return The current balance in coins
      */
     public double getBalance(String address) {
-        double balance = 0;
-
-        // Scan all blocks
-        for (Block block : chain) {
-            // scan all transactions in block
-            for (Transaction tx : block.getTransactions()) {
-                // if address is sender, substract amount
-                if (tx.getSender().equals(address)) balance -= tx.getAmount();
+        return AmountUtil.toCoins(getBalanceUnits(address));
+    }
 
-                // if address is recipient, add amount
-                if (tx.getRecipient().equals(address)) balance += tx.getAmount();                       
-            }
-        }
-        return balance;
+    /**
+     * Returns the exact balance of an address in units (10^-8 coin).
+     * 
+     * @param address The address to check
+     * @return The current balance in units
+     */
+    public long getBalanceUnits(String address) {
+        Balance balance = balances.get(address);
+        return balance == null ? 0 : balance.units;
     }
 
     /**
      * Return the pending transaction pool.
      * 
-     * @return Unmodifiable list of pending transactions
+     * @return Unmodifiable list of pending transactions, highest fee rate first
      */
     public List<Transaction> getPendingTransactions() {
-        return Collections.unmodifiableList(pendingTransactions);
+        return Collections.unmodifiableList(mempool.getTransactions());
     }
 
     /**
@@ -260,14 +695,14 @@ public class Blockchain {
      * @return Number of transactions waiting to be mined
      */
     public int getPendingCount() {
-        return pendingTransactions.size();
+        return mempool.size();
     }
 
     /**
-     * Validates the entire blockchain integrity.
+     * Validates the blockchain integrity.
      * 
      * THEORY: Chain validation checks:
-     * 1. Genesis block is valid (index=0, previousHash="0")
+     * 1. Genesis block is valid (index=0, previousHash=all zeros)
      * 2. Each block's hash matches its calculated hash
      * 3. Each block's previousHash matches previous block's hash
      * 4. Each block was properly mined (hash meets difficulty)
@@ -277,49 +712,79 @@ public class Blockchain {
      * - Detects broken links between blocks
      * - Ensures Proof-of-Work was performed correctly
      * 
+     * INCREMENTAL: Blocks never change once appended, so the chain
+     * remembers how far it has been validated (the watermark) and only
+     * checks the blocks after it, plus the link into them. After the
+     * first call, toString() and printChain() cost O(new blocks), not
+     * O(chain). Use validateFullChain() to check everything again.
+     * 
      * @return true if chain is valid, false if tampered
      */
     public boolean isChainValid() {
-        // Check Genesis block
-        Block genesis = chain.get(0);
-        if (genesis.getIndex() != 0) return false;
-        if (!genesis.getPreviousHash().equals(BlockchainConfig.GENESIS_PREV_HASH)) return false;
-
-        // Build target string for difficulty check
-        String target = "0".repeat(BlockchainConfig.MINING_DIFFICULTY);
-
-        // Check Genesis block hash validity
-        if (!genesis.getHash().equals(genesis.calculateHash())) return false;
-        if (!genesis.getHash().startsWith(target)) return false;
-
-        // Check rest of chain (from block 1 onwards)
-        for (int i = 1; i < chain.size(); i++) {
-            Block currentBlock = chain.get(i);
-            Block previousBlock = chain.get(i - 1);
-
-            // Verify current block's hash is correctly calculated
-            if (!currentBlock.getHash().equals(currentBlock.calculateHash())) return false;
+        return validateFrom(validatedHeight);
+    }
 
-            // Verify link to previous block
-            if (!currentBlock.getPreviousHash().equals(previousBlock.getHash())) return false;
+    /**
+     * Re-validates every block, ignoring the watermark.
+     * 
+     * Useful as a periodic integrity check against corruption of blocks
+     * that were already validated. The blocks are split between
+     * VALIDATION_THREADS workers (see ChainValidator).
+     * 
+     * @return true if chain is valid, false if tampered
+     */
+    public boolean validateFullChain() {
+        validatedHeight = 0;
+        return validateFrom(0);
+    }
 
-            // Verify block was mined (hash meets difficulty)
-            if (!currentBlock.getHash().startsWith(target)) return false;
+    private boolean validateFrom(int from) {
+        int to = store.size();
+        if (!validator.validate(this::getBlockForValidation, from, to, BlockchainConfig.MINING_DIFFICULTY)) {
+            return false;
         }
-
+        validatedHeight = to;
         return true;
     }
 
     /**
-     * Returns an unmodifiable copy of the chain.
+     * Block lookup for the validator's worker threads.
+     * 
+     * Cached blocks are used as they are (they are the chain's blocks).
+     * Other blocks are decoded from the store but NOT added to the
+     * cache, so a full validation does not push out the recent blocks.
+     */
+    private Block getBlockForValidation(int height) {
+        Block block;
+        synchronized (blockCache) {
+            block = blockCache.get(height);
+        }
+        return block != null ? block : BlockCodec.decode(store.read(height));
+    }
+
+    /**
+     * Returns an unmodifiable view of the chain.
      * 
      * THEORY: We return an unmodifiable list to preserve immutability.
      * External code should not be able to directly modify the chain.
      * 
+     * The view reads blocks through getBlock(), so iterating a long chain
+     * loads blocks from the store one at a time instead of holding them all.
+     * 
      * @return Unmodifiable view of the blockchain
      */
     public List<Block> getChain() {
-        return Collections.unmodifiableList(chain);
+        return new AbstractList<Block>() {
+            @Override
+            public Block get(int index) {
+                return getBlock(index);
+            }
+
+            @Override
+            public int size() {
+                return store.size();
+            }
+        };
     }
 
     /**
@@ -328,18 +793,134 @@ public class Blockchain {
      * @return Chain length (including Genesis block)
      */
     public int getChainSize() {
-        return chain.size();
+        return store.size();
     }
 
     /**
      * Gets a block by its index.
      * 
+     * Recently used blocks come from the cache; others are read from
+     * the store and decoded.
+     * 
      * @param index Block index (0 = Genesis)
      * @return The block at the specified index
      * @throws IndexOutOfBoundsException if index is invalid
      */
     public Block getBlock(int index) {
-        return chain.get(index);
+        Block block = blockCache.get(index);
+        if (block == null) {
+            block = BlockCodec.decode(store.read(index));
+            blockCache.put(index, block);
+        }
+        return block;
+    }
+
+    /**
+     * Finds a block by its hash.
+     * 
+     * @param hash The block hash
+     * @return The block, or null if no block in the chain has this hash
+     */
+    public Block getBlockByHash(Hash256 hash) {
+        Integer height = heightByHash.get(hash);
+        return height == null ? null : getBlock(height);
+    }
+
+    /**
+     * Returns the height (index) of the block with the given hash.
+     * 
+     * @param hash The block hash
+     * @return The block's height, or -1 if it is not in the chain
+     */
+    public int getBlockHeight(Hash256 hash) {
+        return heightByHash.getOrDefault(hash, -1);
+    }
+
+    /**
+     * Checks whether a block with the given hash is in the chain.
+     * 
+     * @param hash The block hash
+     * @return true if the chain contains the block
+     */
+    public boolean containsBlock(Hash256 hash) {
+        return heightByHash.containsKey(hash);
+    }
+
+    /**
+     * Finds where a confirmed transaction is stored.
+     * 
+     * @param transactionId The transaction ID
+     * @return Block height and position, or null if not confirmed
+     */
+    public TransactionLocation findTransaction(Hash256 transactionId) {
+        indexSnapshotTransactions();
+        return transactionIndex.get(transactionId);
+    }
+
+    /**
+     * Finds a confirmed transaction by its ID.
+     * 
+     * @param transactionId The transaction ID
+     * @return The transaction, or null if not confirmed
+     */
+    public Transaction getTransaction(Hash256 transactionId) {
+        TransactionLocation location = findTransaction(transactionId);
+        if (location == null) return null;
+        return getBlock(location.getBlockHeight()).getTransaction(location.getPosition());
+    }
+
+    /**
+     * Builds a Merkle inclusion proof for a confirmed transaction.
+     * 
+     * THEORY: A light (SPV) client keeps only block headers. With this
+     * proof it can check that a transaction is in a block against the
+     * header's Merkle root, without downloading the block.
+     * 
+     * The tree levels of recently proven blocks are cached, so further
+     * proofs from the same block just read one sibling per level: O(log n).
+     * 
+     * @param transactionId The transaction ID
+     * @return The proof, or null if the transaction is not confirmed
+     */
+    public MerkleProof getMerkleProof(Hash256 transactionId) {
+        TransactionLocation location = findTransaction(transactionId);
+        if (location == null) return null;
+
+        int height = location.getBlockHeight();
+        byte[][] levels = merkleLevelsCache.get(height);
+        if (levels == null) {
+            levels = MerkleTree.buildLevels(getBlock(height).getTransactionsView());
+            merkleLevelsCache.put(height, levels);
+        }
+        int count = levels[0].length / Hash256.SIZE;
+        return MerkleProof.fromLevels(levels, count, location.getPosition());
+    }
+
+    /**
+     * Returns true while the transactions of the blocks under the startup
+     * snapshot have not been indexed yet (for tests).
+     */
+    boolean hasUnindexedSnapshotBlocks() {
+        return unindexedTransactionHeight > 0;
+    }
+
+    /**
+     * Adds the transactions of the blocks covered by the startup snapshot
+     * to the transaction index. Runs once, on the first lookup, so that
+     * startup does not have to decode those blocks.
+     * 
+     * Blocks are walked backwards with put(), so if an ID ever repeats
+     * the earliest occurrence wins - same as putIfAbsent() going forward.
+     */
+    private void indexSnapshotTransactions() {
+        for (int height = unindexedTransactionHeight - 1; height >= 0; height--) {
+            List<Transaction> transactions = BlockCodec.decode(store.read(height)).getTransactionsView();
+            for (int position = transactions.size() - 1; position >= 0; position--) {
+                transactionIndex.put(transactions.get(position).getTransactionIdValue(),
+                    new TransactionLocation(height, position));
+            }
+        }
+        unindexedTransactionHeight = 0;
     }
 
     /**
@@ -349,24 +930,22 @@ public class Blockchain {
         System.out.println("\n═══════════════════════════════════════════════════════════");
         System.out.println("                     BLOCKCHAIN STATE                        ");
         System.out.println("═══════════════════════════════════════════════════════════");
-        System.out.println("Chain length: " + chain.size() + " blocks");
-        System.out.println("Pending transactions: " + pendingTransactions.size());
+        System.out.println("Chain length: " + store.size() + " blocks");
+        System.out.println("Pending transactions: " + mempool.size());
         System.out.println("Chain valid: " + (isChainValid() ? "✓ YES" : "✗ NO"));
         System.out.println("───────────────────────────────────────────────────────────");
 
-        for (Block block : chain) {
+        for (Block block : getChain()) {
             System.out.println("Block #" + block.getIndex());
-            if (block.getTransactions().size() > 0) {
+            if (block.getTransactionCount() > 0) {
                 System.out.println("  Transactions: " + block.getTransactionCount());
-                for (Transaction tx : block.getTransactions()) {
-                    System.out.println("    " + tx);
-                }
+                block.forEachTransaction(tx -> System.out.println("    " + tx));
             } else {
                 System.out.println("  Data: " + block.getData());
             }            
             System.out.println("  Nonce: " + block.getNonce());
             System.out.println("  Hash: " + block.getHash().substring(0, 16) + "...");
-            System.out.println("  Prev: " + block.getPreviousHash().substring(0, Math.min(16, block.getPreviousHash().length())) + "...");
+            System.out.println("  Prev: " + block.getPreviousHash().substring(0, 16) + "...");
             System.out.println();
         }
     }
@@ -374,10 +953,61 @@ public class Blockchain {
     @Override
     public String toString() {
         return "Blockchain{" +
-            "chainSize= " + chain.size() +
-            ", pendingTx= " + pendingTransactions.size() +
+            "chainSize= " + store.size() +
+            ", pendingTx= " + mempool.size() +
             ", isValid= " + isChainValid() +
             ", latestBlockHash= " + getLatestBlock().getHash().substring(0, 16) + "..." +
             "}";
     }
-}
\ No newline at end of file
+
+    /**
+     * Closes the underlying block store. A persisted chain first writes a
+     * snapshot at its latest block, so the next startup replays nothing,
+     * and flushes its mempool log.
+     * 
+     * @throws IOException if the store cannot be closed cleanly
+     */
+    @Override
+    public void close() throws IOException {
+        if (snapshotFile != null && snapshotHeight != store.size() - 1) {
+            writeSnapshot();
+        }
+        if (signatureVerifier != null) {
+            signatureVerifier.close();
+        }
+        try {
+            if (mempoolLog != null) mempoolLog.close();
+        } finally {
+            store.close();
+        }
+    }
+
+    /**
+     * Mutable balance holder, so index updates are a plain long
+     * addition instead of boxing a new value for every transaction.
+     */
+    private static final class Balance {
+        long units;
+    }
+
+    /**
+     * Least-recently-used cache by block height (decoded blocks, Merkle
+     * tree levels): a LinkedHashMap in access order drops its eldest
+     * entry once it grows past capacity.
+     */
+    private static final class LruCache<V> extends LinkedHashMap<Integer, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        LruCache(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, V> eldest) {
+            return size() > capacity;
+        }
+    }
+}
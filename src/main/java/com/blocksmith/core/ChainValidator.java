@@ -0,0 +1,148 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.BlockchainConfig;
+import com.blocksmith.util.Hash256;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+/**
+ * Multi-threaded block validation engine.
+ *
+ * THEORY: Checking a block's hash and Proof-of-Work only needs that one
+ * block; checking its link only needs the previous block's hash. So
+ * blocks can be validated in any order, and a range of blocks splits
+ * cleanly into independent slices:
+ *
+ *   blocks:   [0 ........ 49999][50000 .... 99999][100000 ... 149999]
+ *   worker:          0                  1                  2
+ *
+ * Each worker re-hashes its blocks and checks the link to the block
+ * before each one (for the first block of a slice, that is the last
+ * block of the previous slice - read, never modified, so no locking).
+ *
+ * EARLY EXIT: The first worker to find an invalid block flips a shared
+ * flag and every other worker stops, like ParallelMiner's "found" flag.
+ *
+ * SMALL RANGES: Starting threads costs more than hashing a few blocks,
+ * so ranges shorter than MIN_BLOCKS_PER_THREAD per worker use fewer
+ * workers, down to checking on the calling thread.
+ *
+ * BITCOIN: Bitcoin Core verifies scripts of a block on a pool of worker
+ * threads (-par), for the same reason - each check is independent.
+ */
+public class ChainValidator {
+
+    /** Smallest slice worth a thread of its own. */
+    static final int MIN_BLOCKS_PER_THREAD = 256;
+
+    private static final Hash256 GENESIS_PREV_HASH = Hash256.fromHex(BlockchainConfig.GENESIS_PREV_HASH);
+
+    private final int threadCount;
+
+    /**
+     * Creates a validator with one worker per available CPU core.
+     */
+    public ChainValidator() {
+        this(BlockchainConfig.VALIDATION_THREADS);
+    }
+
+    /**
+     * Creates a validator with a fixed maximum number of workers.
+     *
+     * @param threadCount Number of worker threads (must be at least 1)
+     */
+    public ChainValidator(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1, got " + threadCount);
+        }
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Validates the blocks in [from, to).
+     *
+     * CHECKS (per block):
+     * 1. Genesis (height 0): index 0 and the all-zero previous hash
+     * 2. The stored hash matches the recalculated hash
+     * 3. The hash meets the difficulty
+     * 4. Other blocks: previousHash equals the hash of the block before
+     *
+     * @param blocks Returns the block at a height; called from several
+     *               threads at once, so it must be thread-safe for reads
+     * @param from First height to check (inclusive)
+     * @param to Last height to check (exclusive)
+     * @param difficulty Required number of leading hex zeros
+     * @return true if every block in the range is valid
+     */
+    public boolean validate(IntFunction<Block> blocks, int from, int to, int difficulty) {
+        int count = to - from;
+        if (count <= 0) return true;
+
+        int workerCount = Math.min(threadCount, Math.max(1, count / MIN_BLOCKS_PER_THREAD));
+        AtomicBoolean invalid = new AtomicBoolean(false);
+
+        if (workerCount == 1) {
+            validateSlice(blocks, from, to, difficulty, invalid);
+            return !invalid.get();
+        }
+
+        Thread[] workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            int sliceFrom = from + (int) ((long) count * i / workerCount);
+            int sliceTo = from + (int) ((long) count * (i + 1) / workerCount);
+            workers[i] = new Thread(() -> validateSlice(blocks, sliceFrom, sliceTo, difficulty, invalid),
+                "Validator-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+
+        awaitWorkers(workers, invalid);
+        return !invalid.get();
+    }
+
+    private static void validateSlice(IntFunction<Block> blocks, int from, int to, int difficulty,
+                                      AtomicBoolean invalid) {
+        Hash256 previousHash = from == 0 ? null : blocks.apply(from - 1).getHashValue();
+
+        for (int height = from; height < to && !invalid.get(); height++) {
+            Block block = blocks.apply(height);
+            if (!isValid(block, height, previousHash, difficulty)) {
+                invalid.set(true);
+                return;
+            }
+            previousHash = block.getHashValue();
+        }
+    }
+
+    private static boolean isValid(Block block, int height, Hash256 previousHash, int difficulty) {
+        if (height == 0) {
+            if (block.getIndex() != 0) return false;
+            if (!block.getPreviousHashValue().equals(GENESIS_PREV_HASH)) return false;
+        } else if (!block.getPreviousHashValue().equals(previousHash)) {
+            return false;
+        }
+
+        if (!block.getHashValue().equals(block.calculateHashValue())) return false;
+        return block.getHashValue().meetsDifficulty(difficulty);
+    }
+
+    /**
+     * Waits for every worker to finish. If we are interrupted, the
+     * workers are stopped via the flag and the range counts as invalid.
+     */
+    private static void awaitWorkers(Thread[] workers, AtomicBoolean invalid) {
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            invalid.set(true);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+}
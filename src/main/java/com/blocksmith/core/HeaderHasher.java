@@ -0,0 +1,51 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.Sha256Midstate;
+
+/**
+ * Hashes one block header over and over with different nonces.
+ *
+ * THEORY: During mining only the nonce changes. A HeaderHasher encodes
+ * the header once, then for every attempt it patches the nonce bytes
+ * and hashes into a reusable 32-byte buffer. No Strings, no UTF-8
+ * encoding and no hex conversion happen inside the mining loop.
+ *
+ * MIDSTATE: The first 64 bytes of the header (index, timestamp,
+ * merkleRoot and most of previousHash) are one full SHA-256 block that
+ * never changes while mining. It is compressed once up front, so each
+ * attempt only compresses the final block holding the nonce.
+ *
+ * THREAD SAFETY: Not thread-safe. Each mining worker owns its own
+ * HeaderHasher (its own header copy, midstate and output buffer).
+ */
+final class HeaderHasher {
+
+    private static final int CONSTANT_PREFIX = 64;
+
+    private final byte[] header;
+    private final byte[] hash;
+    private final Sha256Midstate sha256;
+
+    /**
+     * Creates a hasher for the given block's current header fields.
+     *
+     * @param block The block being mined
+     */
+    HeaderHasher(Block block) {
+        this.header = BlockHeader.encode(block, block.getNonce());
+        this.hash = new byte[32];
+        this.sha256 = new Sha256Midstate(header, CONSTANT_PREFIX);
+    }
+
+    /**
+     * Hashes the header with the given nonce.
+     *
+     * @param nonce The nonce to try
+     * @return The 32-byte hash (an internal buffer, overwritten by the next call)
+     */
+    byte[] hash(int nonce) {
+        BlockHeader.writeNonce(header, nonce);
+        sha256.hash(header, hash);
+        return hash;
+    }
+}
@@ -1,5 +1,65 @@
 package com.blocksmith.core;
 
-public class KeyPair {
+import java.security.PrivateKey;
+import java.security.PublicKey;
 
+/**
+ * An ECDSA key pair (secp256r1) that a Wallet is built from.
+ *
+ * THEORY: Generating a key pair is the expensive part of creating a
+ * wallet - it needs fresh randomness and an elliptic curve point
+ * multiplication. Keeping the pair as its own value lets WalletFactory
+ * produce pairs ahead of time (on a background thread) and hand them to
+ * new wallets later.
+ *
+ * Not to be confused with java.security.KeyPair, which this wraps: this
+ * class is immutable and always holds an EC key pair.
+ *
+ * SECURITY: The private key is package-private on purpose - only the
+ * Wallet that owns the pair may use it.
+ */
+public final class KeyPair {
+
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+
+    /**
+     * Wraps a key pair produced by a JCA KeyPairGenerator.
+     *
+     * @param keyPair An EC key pair
+     * @throws IllegalArgumentException if the keys are not EC keys
+     */
+    public KeyPair(java.security.KeyPair keyPair) {
+        this(keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    /**
+     * Creates a key pair from its two halves.
+     *
+     * @param privateKey The EC private key
+     * @param publicKey The matching EC public key
+     * @throws IllegalArgumentException if the keys are not EC keys
+     */
+    public KeyPair(PrivateKey privateKey, PublicKey publicKey) {
+        if (privateKey == null || publicKey == null) {
+            throw new IllegalArgumentException("Key pair needs both a private and a public key");
+        }
+        if (!"EC".equals(privateKey.getAlgorithm()) || !"EC".equals(publicKey.getAlgorithm())) {
+            throw new IllegalArgumentException("Key pair must use EC keys, got "
+                + privateKey.getAlgorithm() + "/" + publicKey.getAlgorithm());
+        }
+        this.privateKey = privateKey;
+        this.publicKey = publicKey;
+    }
+
+    /**
+     * Returns the public key. Safe to share with others.
+     */
+    public PublicKey getPublicKey() {
+        return publicKey;
+    }
+
+    PrivateKey getPrivateKey() {
+        return privateKey;
+    }
 }
@@ -0,0 +1,298 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.BlockchainConfig;
+import com.blocksmith.util.Hash256;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Bounded pool of pending transactions, ordered by fee rate.
+ *
+ * THEORY: MEMPOOL (Memory Pool)
+ *
+ * Transactions wait in the mempool until a miner puts them in a block.
+ * Blocks have limited space, so miners choose the transactions that pay
+ * the most per byte - the FEE RATE:
+ *
+ *   feeRate = fee / size
+ *
+ * The pool also has a hard cap. Without one, anybody could flood a node
+ * with cheap transactions until it runs out of memory. When the pool is
+ * full, a new transaction only gets in if it pays a higher fee rate than
+ * the cheapest one already waiting - which is then EVICTED.
+ *
+ * DATA STRUCTURES:
+ *
+ *   byId        LinkedHashMap<Hash256,    duplicate check, removal by ID,
+ *               Entry>                    arrival order
+ *   byPriority  TreeSet<Entry>            sorted: highest fee rate first,
+ *                                         then oldest first
+ *   bySender    HashMap<String, ...>      pending outgoing per sender
+ *
+ * COSTS (n = pool size, k = transactions selected):
+ * - add / evict / remove: O(log n)
+ * - select a block template: O(log n + k) - walk the sorted set from the top
+ * - pending outgoing for a sender: O(1)
+ *
+ * TEMPLATE MERKLE ROOT: When the whole pool fits in one block, the miner
+ * takes it in arrival order. A MerkleAccumulator follows that order as
+ * transactions are admitted (about one hash each), so the template's root
+ * for any coinbase costs O(log n) hashes. Removals break the append-only
+ * order; the accumulator is then rebuilt once, on the next request.
+ *
+ * BITCOIN: Bitcoin Core's mempool uses the same idea (a multi-index
+ * container sorted by fee rate) with a size limit of 300 MB by default.
+ *
+ * THREAD SAFETY: Not thread-safe, like the Blockchain that owns it.
+ */
+public class Mempool {
+
+    // Highest fee rate first; equal fee rates in arrival order
+    private static final Comparator<Entry> PRIORITY = Comparator
+        .comparingDouble((Entry e) -> e.feeRate).reversed()
+        .thenComparingLong(e -> e.sequence);
+
+    private final int maxTransactions;
+    private final Map<Hash256, Entry> byId;
+    private final TreeSet<Entry> byPriority;
+    private final Map<String, SenderTotal> bySender;
+    private final MerkleAccumulator merkleAccumulator;
+    private boolean accumulatorStale;
+    private long nextSequence;
+
+    /**
+     * Creates a mempool with the default capacity.
+     */
+    public Mempool() {
+        this(BlockchainConfig.MEMPOOL_MAX_TRANSACTIONS);
+    }
+
+    /**
+     * Creates a mempool holding at most maxTransactions transactions.
+     *
+     * @param maxTransactions Capacity (must be at least 1)
+     */
+    public Mempool(int maxTransactions) {
+        if (maxTransactions < 1) {
+            throw new IllegalArgumentException("Mempool capacity must be at least 1, got " + maxTransactions);
+        }
+        this.maxTransactions = maxTransactions;
+        this.byId = new LinkedHashMap<>();
+        this.byPriority = new TreeSet<>(PRIORITY);
+        this.bySender = new HashMap<>();
+        this.merkleAccumulator = new MerkleAccumulator();
+    }
+
+    /**
+     * Adds a transaction to the pool.
+     *
+     * If the pool is full, the lowest-priority transaction is evicted to
+     * make room - but only if the new transaction ranks above it.
+     *
+     * @param transaction The transaction to add (validated by the caller)
+     * @return true if added, false if it is a duplicate or the pool is
+     *         full of transactions paying at least as much
+     */
+    public boolean add(Transaction transaction) {
+        return add(transaction, evicted -> { });
+    }
+
+    /**
+     * Adds a transaction to the pool, reporting any transaction evicted
+     * to make room (e.g. so it can be logged).
+     *
+     * @param transaction The transaction to add (validated by the caller)
+     * @param onEvict Called with the evicted transaction, if any
+     * @return true if added, false if it is a duplicate or the pool is
+     *         full of transactions paying at least as much
+     */
+    public boolean add(Transaction transaction, Consumer<Transaction> onEvict) {
+        Hash256 id = transaction.getTransactionIdValue();
+        if (byId.containsKey(id)) return false;
+
+        Entry entry = new Entry(transaction, feeRate(transaction), nextSequence++);
+
+        if (byId.size() >= maxTransactions) {
+            Entry lowest = byPriority.last();
+            if (PRIORITY.compare(entry, lowest) >= 0) return false;
+            remove(lowest);
+            onEvict.accept(lowest.transaction);
+        }
+
+        byId.put(id, entry);
+        byPriority.add(entry);
+        bySender.computeIfAbsent(transaction.getSender(), s -> new SenderTotal()).add(transaction);
+        if (!accumulatorStale) merkleAccumulator.append(id);
+        return true;
+    }
+
+    /**
+     * Picks the best transactions for a new block.
+     *
+     * Walks the priority order from the top, so only the selected
+     * transactions are visited. The pool is not modified - call
+     * removeAll() once the block has been mined.
+     *
+     * @param maxCount Maximum number of transactions to select
+     * @return Up to maxCount transactions, highest fee rate first
+     */
+    public List<Transaction> selectForBlock(int maxCount) {
+        List<Transaction> selected = new ArrayList<>(Math.min(maxCount, byPriority.size()));
+        Iterator<Entry> it = byPriority.iterator();
+        while (selected.size() < maxCount && it.hasNext()) {
+            selected.add(it.next().transaction);
+        }
+        return selected;
+    }
+
+    /**
+     * Removes transactions that are no longer pending (e.g. just mined).
+     *
+     * @param transactions Transactions to remove (unknown ones are ignored)
+     */
+    public void removeAll(Collection<Transaction> transactions) {
+        for (Transaction tx : transactions) {
+            Entry entry = byId.get(tx.getTransactionIdValue());
+            if (entry != null) remove(entry);
+        }
+    }
+
+    /**
+     * Returns the total (amount + fee) an address is spending in
+     * pending transactions.
+     *
+     * @param sender The sender address
+     * @return Pending outgoing total in units, 0 if none
+     */
+    public long getPendingOutgoing(String sender) {
+        SenderTotal total = bySender.get(sender);
+        return total == null ? 0 : total.outgoing;
+    }
+
+    /**
+     * Returns all pending transactions in the order they arrived - the
+     * order the template Merkle root is kept in.
+     */
+    public List<Transaction> getTransactionsInArrivalOrder() {
+        List<Transaction> transactions = new ArrayList<>(byId.size());
+        for (Entry entry : byId.values()) {
+            transactions.add(entry.transaction);
+        }
+        return transactions;
+    }
+
+    /**
+     * Returns the Merkle root of a block made of the coinbase followed by
+     * every pending transaction in arrival order.
+     *
+     * Uses the incrementally maintained accumulator: O(log n) hashes,
+     * or one rebuild after transactions were removed.
+     *
+     * @param coinbase The block's coinbase transaction
+     * @return Merkle root of [coinbase, getTransactionsInArrivalOrder()...]
+     */
+    public Hash256 templateMerkleRoot(Transaction coinbase) {
+        if (accumulatorStale) {
+            merkleAccumulator.reset();
+            for (Hash256 id : byId.keySet()) {
+                merkleAccumulator.append(id);
+            }
+            accumulatorStale = false;
+        }
+        return merkleAccumulator.rootWithCoinbase(coinbase.getTransactionIdValue());
+    }
+
+    public boolean contains(Hash256 transactionId) {
+        return byId.containsKey(transactionId);
+    }
+
+    /**
+     * Returns all pending transactions, highest fee rate first.
+     */
+    public List<Transaction> getTransactions() {
+        return selectForBlock(byPriority.size());
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public int getMaxTransactions() {
+        return maxTransactions;
+    }
+
+    private void remove(Entry entry) {
+        byId.remove(entry.transaction.getTransactionIdValue());
+        byPriority.remove(entry);
+
+        String sender = entry.transaction.getSender();
+        SenderTotal total = bySender.get(sender);
+        if (total.remove(entry.transaction)) {
+            bySender.remove(sender);
+        }
+
+        // Removing from the middle breaks the append-only tree; an empty
+        // pool (e.g. everything was just mined) simply starts over
+        if (byId.isEmpty()) {
+            merkleAccumulator.reset();
+            accumulatorStale = false;
+        } else {
+            accumulatorStale = true;
+        }
+    }
+
+    /**
+     * Fee per byte of (approximate) transaction size.
+     *
+     * Size counts the signed payload, the signature and the public key -
+     * the parts that would take space in a block.
+     */
+    private static double feeRate(Transaction tx) {
+        int size = tx.getSigningPayload().length;
+        if (tx.getSignature() != null) size += tx.getSignature().length;
+        if (tx.getSenderPublicKey() != null) size += tx.getSenderPublicKey().getEncoded().length;
+        return (double) tx.getFeeUnits() / size;
+    }
+
+    private static final class Entry {
+        final Transaction transaction;
+        final double feeRate;
+        final long sequence;
+
+        Entry(Transaction transaction, double feeRate, long sequence) {
+            this.transaction = transaction;
+            this.feeRate = feeRate;
+            this.sequence = sequence;
+        }
+    }
+
+    /**
+     * Running total for one sender, in units. Mutable so that updates
+     * are a plain long addition with no boxing; the count lets us drop
+     * the entry once the sender has nothing pending.
+     */
+    private static final class SenderTotal {
+        long outgoing;
+        int count;
+
+        void add(Transaction tx) {
+            outgoing += tx.getTotalCostUnits();
+            count++;
+        }
+
+        /** @return true if the sender has no pending transactions left */
+        boolean remove(Transaction tx) {
+            outgoing -= tx.getTotalCostUnits();
+            return --count == 0;
+        }
+    }
+}
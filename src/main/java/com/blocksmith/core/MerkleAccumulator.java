@@ -0,0 +1,146 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.Hash256;
+
+import java.util.Arrays;
+
+/**
+ * Append-only Merkle tree that keeps only O(log n) nodes, with leaf 0
+ * reserved for the coinbase.
+ *
+ * THEORY: A block template is [coinbase, tx1, tx2, ...]. The pending
+ * transactions arrive one by one, but the coinbase (reward + fees) is
+ * only known when mining starts, and changes with every template. We
+ * want the root ready at that moment without rebuilding the tree.
+ *
+ * FRONTIER: Appending leaves works like incrementing a binary counter.
+ * For every set bit h of the leaf count there is one complete subtree of
+ * 2^h leaves whose parent is not known yet; only its root is kept:
+ *
+ *   6 leaves = 110b     frontier[2] = root(leaves 0..3)
+ *                       frontier[1] = root(leaves 4..5)
+ *
+ * Appending a leaf "carries" it up: it merges with frontier[0], the
+ * result with frontier[1], ... until a free level is found. That is one
+ * hash per append on average.
+ *
+ * LEFT EDGE: The coinbase is leaf 0, so it only affects the nodes on the
+ * left edge of the tree. Their right siblings - root(leaves 1), root(2..3),
+ * root(4..7), ... - never contain leaf 0 and never change once complete.
+ * They are recorded when they are merged into the leftmost subtree:
+ *
+ *                    root
+ *                   /    \
+ *              L2 *       ...
+ *               /   \
+ *           L1 *    [4..7]     <- leftEdge[2]
+ *             / \
+ *         cb *  [2..3]         <- leftEdge[1]
+ *           / \
+ *         cb  [1]              <- leftEdge[0]
+ *
+ * ROOT FOR A COINBASE: Fold the coinbase up the left edge (one hash per
+ * level), then fold in the frontier to its right, pairing an odd last
+ * node with itself exactly like MerkleTree. Both walks are O(log n), so
+ * the root for a new coinbase costs about 2 * log2(n) hashes instead of n.
+ *
+ * NOT THREAD-SAFE: Owned by the Mempool.
+ */
+public class MerkleAccumulator {
+
+    private static final int NODE_SIZE = Hash256.SIZE;
+    private static final int MAX_LEVELS = 32;
+
+    private final byte[] frontier = new byte[MAX_LEVELS * NODE_SIZE];
+    private final byte[] leftEdge = new byte[MAX_LEVELS * NODE_SIZE];
+    private final byte[] carry = new byte[NODE_SIZE];
+    private int leafCount;
+
+    /**
+     * Creates an accumulator holding only the coinbase slot.
+     */
+    public MerkleAccumulator() {
+        reset();
+    }
+
+    /**
+     * Appends a leaf after the ones already added.
+     *
+     * @param leaf The leaf digest (a transaction ID)
+     */
+    public void append(Hash256 leaf) {
+        if (leafCount == Integer.MAX_VALUE) {
+            throw new IllegalStateException("Merkle accumulator is full");
+        }
+        leaf.writeTo(carry, 0);
+
+        int level = 0;
+        while ((leafCount >>> level & 1) == 1) {
+            if (leafCount + 1 == 1 << (level + 1)) {
+                // Merging into the subtree that holds the coinbase: its hash
+                // depends on the coinbase, so only remember the right sibling
+                System.arraycopy(carry, 0, leftEdge, level * NODE_SIZE, NODE_SIZE);
+            } else {
+                MerkleTree.hashPair(frontier, level * NODE_SIZE, carry, 0, carry, 0);
+            }
+            level++;
+        }
+        System.arraycopy(carry, 0, frontier, level * NODE_SIZE, NODE_SIZE);
+        leafCount++;
+    }
+
+    /**
+     * Computes the root of [coinbase, appended leaves...].
+     *
+     * @param coinbaseId ID of the coinbase transaction (leaf 0)
+     * @return The Merkle root - the same as MerkleTree.computeRoot() of
+     *         the full leaf list
+     */
+    public Hash256 rootWithCoinbase(Hash256 coinbaseId) {
+        int top = 31 - Integer.numberOfLeadingZeros(leafCount);
+
+        // Left edge: the complete subtree of 2^top leaves holding the coinbase
+        byte[] left = coinbaseId.toBytes();
+        for (int level = 0; level < top; level++) {
+            MerkleTree.hashPair(left, 0, leftEdge, level * NODE_SIZE, left, 0);
+        }
+
+        // Right part: the smaller frontier subtrees, lowest level first
+        byte[] right = new byte[NODE_SIZE];
+        boolean hasRight = false;
+        for (int level = 0; level < top; level++) {
+            boolean complete = (leafCount >>> level & 1) == 1;
+            if (complete && hasRight) {
+                MerkleTree.hashPair(frontier, level * NODE_SIZE, right, 0, right, 0);
+            } else if (complete) {
+                // Odd last node on this level: paired with itself
+                System.arraycopy(frontier, level * NODE_SIZE, right, 0, NODE_SIZE);
+                MerkleTree.hashPair(right, 0, right, 0, right, 0);
+                hasRight = true;
+            } else if (hasRight) {
+                MerkleTree.hashPair(right, 0, right, 0, right, 0);
+            }
+        }
+
+        if (hasRight) {
+            MerkleTree.hashPair(left, 0, right, 0, left, 0);
+        }
+        return Hash256.fromBytes(left);
+    }
+
+    /**
+     * Returns the number of appended leaves (not counting the coinbase).
+     */
+    public int size() {
+        return leafCount - 1;
+    }
+
+    /**
+     * Drops every appended leaf, keeping only the coinbase slot.
+     */
+    public void reset() {
+        Arrays.fill(frontier, (byte) 0);
+        Arrays.fill(leftEdge, (byte) 0);
+        leafCount = 1;
+    }
+}
@@ -0,0 +1,142 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.Hash256;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Proof that a transaction is included in a block: the sibling hashes on
+ * the path from the transaction's leaf up to the Merkle root.
+ *
+ * THEORY: MERKLE INCLUSION PROOF
+ *
+ * To prove Tx C is in a block, send only the siblings along its path:
+ *
+ *             MERKLE ROOT              verify:
+ *            /           \               h1 = H(C, D)       D  = sibling 0
+ *       Hash(AB)      Hash(CD)           h2 = H(AB, h1)     AB = sibling 1
+ *       /     \       /     \            h2 == root ?
+ *    Hash(A) Hash(B) Hash(C) Hash(D)
+ *
+ * The position of the transaction says, level by level, whether our node
+ * is the left (even) or the right (odd) child. A block of n transactions
+ * needs only log2(n) siblings - 11 hashes for 2,000 transactions instead
+ * of the whole block.
+ *
+ * ODD LEVELS: The last node of an odd level is paired with itself, so
+ * its sibling in the proof is the node's own hash.
+ *
+ * BITCOIN: SPV (Simple Payment Verification) wallets keep only block
+ * headers and ask full nodes for these proofs (merkleblock messages,
+ * BIP 37), then check them against the header's Merkle root.
+ */
+public final class MerkleProof {
+
+    private final Hash256 transactionId;
+    private final int position;
+    private final List<Hash256> siblings;
+
+    /**
+     * Creates a proof.
+     *
+     * @param transactionId ID of the proven transaction (the leaf)
+     * @param position Index of the transaction in its block
+     * @param siblings Sibling hashes from the leaf level upwards
+     */
+    public MerkleProof(Hash256 transactionId, int position, List<Hash256> siblings) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Position must not be negative, got " + position);
+        }
+        this.transactionId = transactionId;
+        this.position = position;
+        this.siblings = Collections.unmodifiableList(new ArrayList<>(siblings));
+    }
+
+    /**
+     * Builds the proof for a transaction in a block (rebuilds the tree;
+     * Blockchain.getMerkleProof() reuses cached levels instead).
+     *
+     * @param block The block holding the transaction
+     * @param position Index of the transaction in the block
+     * @return The inclusion proof
+     * @throws IndexOutOfBoundsException if there is no such transaction
+     */
+    public static MerkleProof generate(Block block, int position) {
+        List<Transaction> transactions = block.getTransactionsView();
+        if (position < 0 || position >= transactions.size()) {
+            throw new IndexOutOfBoundsException("No transaction at position " + position);
+        }
+        return fromLevels(MerkleTree.buildLevels(transactions), transactions.size(), position);
+    }
+
+    /**
+     * Reads a proof out of a block's tree levels: one sibling per level,
+     * O(log n).
+     *
+     * @param levels Levels from MerkleTree.buildLevels()
+     * @param count Number of leaves
+     * @param position Index of the leaf
+     * @return The inclusion proof
+     */
+    static MerkleProof fromLevels(byte[][] levels, int count, int position) {
+        Hash256 leaf = Hash256.fromBytes(levels[0], position * Hash256.SIZE);
+        List<Hash256> siblings = new ArrayList<>(levels.length - 1);
+
+        int index = position;
+        for (int level = 0; level < levels.length - 1; level++) {
+            // Left child pairs with the next node; an odd last node with itself
+            int sibling = (index & 1) == 0 ? Math.min(index + 1, count - 1) : index - 1;
+            siblings.add(Hash256.fromBytes(levels[level], sibling * Hash256.SIZE));
+            index >>>= 1;
+            count = (count + 1) / 2;
+        }
+        return new MerkleProof(leaf, position, siblings);
+    }
+
+    /**
+     * Checks the proof against a block's Merkle root.
+     *
+     * @param merkleRoot The root from the block header
+     * @return true if hashing up the path reproduces the root
+     */
+    public boolean verify(Hash256 merkleRoot) {
+        byte[] node = transactionId.toBytes();
+        byte[] sibling = new byte[Hash256.SIZE];
+        int index = position;
+
+        for (Hash256 hash : siblings) {
+            hash.writeTo(sibling, 0);
+            if ((index & 1) == 0) {
+                MerkleTree.hashPair(node, 0, sibling, 0, node, 0);
+            } else {
+                MerkleTree.hashPair(sibling, 0, node, 0, node, 0);
+            }
+            index >>>= 1;
+        }
+        // Leftover bits mean the position does not fit a tree this high
+        return index == 0 && Hash256.fromBytes(node).equals(merkleRoot);
+    }
+
+    public Hash256 getTransactionId() {
+        return transactionId;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the sibling hashes, from the leaf level upwards.
+     */
+    public List<Hash256> getSiblings() {
+        return siblings;
+    }
+
+    @Override
+    public String toString() {
+        return "MerkleProof{tx=" + transactionId.toHex().substring(0, 8) + "..., position=" + position
+            + ", siblings=" + siblings.size() + "}";
+    }
+}
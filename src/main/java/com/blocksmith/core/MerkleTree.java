@@ -0,0 +1,214 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.Hash256;
+import com.blocksmith.util.HashUtil;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Merkle root computation over raw 32-byte digests.
+ *
+ * THEORY: The tree is built bottom-up, one level at a time. Every level
+ * is a flat byte array of 32-byte nodes, so a level of n nodes is ONE
+ * allocation instead of n Strings in an ArrayList:
+ *
+ *   level 0:  [ A ][ B ][ C ][ D ][ E ]          (transaction IDs)
+ *   level 1:  [ AB ][ CD ][ EE ]                 (odd count: last is doubled)
+ *   level 2:  [ ABCD ][ EEEE ]
+ *   level 3:  [ ABCDEEEE ]                       (root)
+ *
+ * NODE HASH: A parent is SHA-256 of the two children written as hex text
+ * (128 ASCII characters), exactly what the original String-based code
+ * hashed - so the roots of existing blocks do not change. The hex text
+ * goes into a reusable per-thread buffer, not into Strings.
+ *
+ * PARALLELISM: The pairs of one level are independent. Above
+ * PARALLEL_THRESHOLD pairs, a level is split into ranges hashed on the
+ * common ForkJoinPool:
+ *
+ *   level (n pairs)   [0 ........ n/2)[n/2 ........ n)
+ *                      fork: split until <= SEQUENTIAL_PAIRS, then hash
+ *
+ * Levels still run one after another (each needs the one below), but
+ * the big levels at the bottom - where nearly all the work is - use every
+ * core. Two buffers take turns holding the levels, so a whole tree costs
+ * two allocations.
+ *
+ * BITCOIN: Same shape (duplicate the last node on odd levels), but Bitcoin
+ * hashes the raw 64 bytes with double SHA-256.
+ */
+public final class MerkleTree {
+
+    /** Levels with at least this many pairs are hashed in parallel. */
+    static final int PARALLEL_THRESHOLD = 2_048;
+
+    /** Pairs hashed by one fork-join task without splitting further. */
+    static final int SEQUENTIAL_PAIRS = 512;
+
+    private static final int NODE_SIZE = Hash256.SIZE;
+
+    // Hex text of two children: 2 * 64 ASCII characters
+    private static final ThreadLocal<byte[]> PAIR_TEXT = ThreadLocal.withInitial(() -> new byte[4 * NODE_SIZE]);
+
+    private MerkleTree() {
+        throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+    }
+
+    /**
+     * Computes the Merkle root of a list of transactions.
+     *
+     * @param transactions The transactions, in block order (at least one)
+     * @return The Merkle root (the transaction ID itself for one transaction)
+     */
+    public static Hash256 computeRoot(List<Transaction> transactions) {
+        return computeRoot(leaves(transactions), transactions.size());
+    }
+
+    /**
+     * Computes the Merkle root of count 32-byte leaves stored back to back.
+     *
+     * @param leaves Flat array of leaf digests (not modified)
+     * @param count Number of leaves (at least one)
+     * @return The Merkle root
+     */
+    public static Hash256 computeRoot(byte[] leaves, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Merkle tree needs at least one leaf");
+        }
+        if (count == 1) return Hash256.fromBytes(leaves, 0);
+
+        // Two buffers used in turn; the caller's leaf array is never written
+        byte[] first = new byte[((count + 1) / 2) * NODE_SIZE];
+        byte[] second = null;
+        byte[] current = leaves;
+
+        while (count > 1) {
+            int parents = (count + 1) / 2;
+            byte[] target;
+            if (current == first) {
+                if (second == null) second = new byte[parents * NODE_SIZE];
+                target = second;
+            } else {
+                target = first;
+            }
+            hashLevel(current, count, target);
+            current = target;
+            count = parents;
+        }
+        return Hash256.fromBytes(current, 0);
+    }
+
+    /**
+     * Builds and keeps every level of the tree, for inclusion proofs.
+     *
+     * @param transactions The transactions, in block order (at least one)
+     * @return levels[0] = leaves, ..., levels[last] = the root alone;
+     *         level h holds ceil(n / 2^h) nodes of 32 bytes
+     */
+    static byte[][] buildLevels(List<Transaction> transactions) {
+        int count = transactions.size();
+        if (count < 1) {
+            throw new IllegalArgumentException("Merkle tree needs at least one leaf");
+        }
+        int height = 32 - Integer.numberOfLeadingZeros(count - 1);
+        byte[][] levels = new byte[height + 1][];
+        levels[0] = leaves(transactions);
+
+        for (int level = 0; level < height; level++) {
+            int parents = (count + 1) / 2;
+            levels[level + 1] = new byte[parents * NODE_SIZE];
+            hashLevel(levels[level], count, levels[level + 1]);
+            count = parents;
+        }
+        return levels;
+    }
+
+    /**
+     * Copies the transaction IDs into a flat leaf array.
+     */
+    static byte[] leaves(List<Transaction> transactions) {
+        byte[] leaves = new byte[transactions.size() * NODE_SIZE];
+        for (int i = 0; i < transactions.size(); i++) {
+            transactions.get(i).getTransactionIdValue().writeTo(leaves, i * NODE_SIZE);
+        }
+        return leaves;
+    }
+
+    /**
+     * Hashes one level into the next. Uses the fork-join pool for wide
+     * levels.
+     *
+     * @param level Nodes of this level
+     * @param count Number of nodes in this level
+     * @param parents Receives (count + 1) / 2 parent nodes
+     */
+    static void hashLevel(byte[] level, int count, byte[] parents) {
+        int pairs = (count + 1) / 2;
+        if (pairs < PARALLEL_THRESHOLD) {
+            hashPairs(level, count, parents, 0, pairs);
+        } else {
+            ForkJoinPool.commonPool().invoke(new LevelTask(level, count, parents, 0, pairs));
+        }
+    }
+
+    /**
+     * Hashes two child nodes into a parent: SHA-256(hex(left) + hex(right)).
+     *
+     * @param left Array holding the left child
+     * @param leftOff Offset of the left child
+     * @param right Array holding the right child
+     * @param rightOff Offset of the right child
+     * @param out Receives the 32-byte parent
+     * @param outOff Offset of the parent in out
+     */
+    static void hashPair(byte[] left, int leftOff, byte[] right, int rightOff, byte[] out, int outOff) {
+        byte[] text = PAIR_TEXT.get();
+        HashUtil.writeHex(left, leftOff, NODE_SIZE, text, 0);
+        HashUtil.writeHex(right, rightOff, NODE_SIZE, text, 2 * NODE_SIZE);
+        HashUtil.sha256(text, 0, text.length, out, outOff);
+    }
+
+    private static void hashPairs(byte[] level, int count, byte[] parents, int from, int to) {
+        for (int pair = from; pair < to; pair++) {
+            int left = 2 * pair;
+            // If odd number, duplicate the last node
+            int right = left + 1 < count ? left + 1 : left;
+            hashPair(level, left * NODE_SIZE, level, right * NODE_SIZE, parents, pair * NODE_SIZE);
+        }
+    }
+
+    /**
+     * Hashes the pairs [from, to) of one level, splitting in half until
+     * the range is small enough to do directly.
+     */
+    private static final class LevelTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] level;
+        private final int count;
+        private final byte[] parents;
+        private final int from;
+        private final int to;
+
+        LevelTask(byte[] level, int count, byte[] parents, int from, int to) {
+            this.level = level;
+            this.count = count;
+            this.parents = parents;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_PAIRS) {
+                hashPairs(level, count, parents, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new LevelTask(level, count, parents, from, middle),
+                      new LevelTask(level, count, parents, middle, to));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.BlockchainConfig;
+import com.blocksmith.util.Hash256;
+import com.blocksmith.util.HashUtil;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Multi-threaded Proof-of-Work engine.
+ *
+ * THEORY: Mining is "embarrassingly parallel". Hashing nonce 7 tells us
+ * nothing about nonce 8, so any number of workers can search at the same
+ * time as long as they never try the same nonce twice.
+ *
+ * STRIDED SEARCH (4 workers):
+ *
+ *   Worker 0: nonce 0, 4, 8, 12, ...
+ *   Worker 1: nonce 1, 5, 9, 13, ...
+ *   Worker 2: nonce 2, 6, 10, 14, ...
+ *   Worker 3: nonce 3, 7, 11, 15, ...
+ *
+ * Together the workers cover the whole 32-bit nonce space exactly once,
+ * without any coordination beyond a shared "found" flag. Each worker
+ * has its own HeaderHasher, so the hot loop shares no mutable state.
+ *
+ * CANCELLATION: The first worker to find a valid hash flips the flag.
+ * Every other worker checks it on each attempt and stops immediately,
+ * so no CPU time is wasted after a block has been solved.
+ *
+ * BITCOIN: Real miners go much further - GPUs and ASICs run thousands
+ * of these searches in parallel, each on its own nonce range.
+ */
+public class ParallelMiner {
+
+    private static final long NONCE_SPACE = 1L << 32;
+
+    private final int threadCount;
+
+    /**
+     * Creates a miner with one worker per available CPU core.
+     */
+    public ParallelMiner() {
+        this(BlockchainConfig.MINING_THREADS);
+    }
+
+    /**
+     * Creates a miner with a fixed number of workers.
+     *
+     * @param threadCount Number of worker threads (must be at least 1)
+     */
+    public ParallelMiner(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1, got " + threadCount);
+        }
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * Mines the given block by searching the nonce space in parallel.
+     *
+     * PROCESS:
+     * 1. Start N workers, worker i begins at (current nonce + i)
+     * 2. Each worker advances by N, so ranges never overlap
+     * 3. The first valid hash wins and cancels the other workers
+     * 4. The winning nonce and hash are written back to the block
+     *
+     * @param block The block to mine
+     * @param difficulty Number of leading zeros required in hash
+     * @return Mining time in milliseconds
+     * @throws IllegalStateException if the whole nonce space is exhausted
+     */
+    public long mine(Block block, int difficulty) {
+        long startNonce = Integer.toUnsignedLong(block.getNonce());
+
+        AtomicBoolean found = new AtomicBoolean(false);
+        int[] winningNonce = new int[1];
+        Hash256[] winningHash = new Hash256[1];
+
+        long startTime = System.currentTimeMillis();
+
+        Thread[] workers = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            final int offset = i;
+            workers[i] = new Thread(() -> {
+                HeaderHasher hasher = new HeaderHasher(block);
+                for (long step = offset; step < NONCE_SPACE && !found.get(); step += threadCount) {
+                    int candidate = (int) (startNonce + step);
+                    byte[] candidateHash = hasher.hash(candidate);
+
+                    if (HashUtil.meetsDifficulty(candidateHash, difficulty) && found.compareAndSet(false, true)) {
+                        winningNonce[0] = candidate;
+                        winningHash[0] = Hash256.fromBytes(candidateHash);
+                    }
+                }
+            }, "Miner-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+
+        awaitWorkers(workers, found);
+
+        if (!found.get()) {
+            throw new IllegalStateException("Nonce space exhausted without finding a valid hash");
+        }
+
+        block.applyProofOfWork(winningNonce[0], winningHash[0]);
+
+        long miningTime = System.currentTimeMillis() - startTime;
+
+        System.out.println("Block mined! Nonce: " + winningNonce[0] + " | Time: " + miningTime + "ms"
+            + " | Threads: " + threadCount);
+        System.out.println("Hash: " + winningHash[0]);
+
+        return miningTime;
+    }
+
+    /**
+     * Waits for every worker to finish.
+     *
+     * NOTE: Thread.join() gives us a happens-before edge, so the winning
+     * nonce/hash written by a worker are visible here without locking.
+     * If we are interrupted, the workers are cancelled via the flag.
+     */
+    private void awaitWorkers(Thread[] workers, AtomicBoolean found) {
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            found.set(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Mining interrupted", e);
+        }
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+}
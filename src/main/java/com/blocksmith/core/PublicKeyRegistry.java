@@ -0,0 +1,190 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.BlockchainConfig;
+import com.blocksmith.util.HashUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, concurrent cache of public keys: encoded bytes -> decoded key
+ * and derived address.
+ *
+ * THEORY: Most transactions come from senders we have seen before (an
+ * exchange hot wallet, a payout job). For each of them a node repeats
+ * two pieces of work that only depend on the key:
+ *
+ *   1. DECODE   X.509 bytes -> PublicKey (KeyFactory lookup, ASN.1
+ *               parsing, curve point validation)
+ *   2. DERIVE   PublicKey -> address, to check that the key really
+ *               belongs to the transaction's sender
+ *
+ * Both answers never change for a given key, so they are computed once
+ * and looked up by the key's encoded bytes afterwards:
+ *
+ *   encoded key bytes --> Entry { PublicKey, "0x..." address }
+ *
+ * ADDRESS: 0x + last 20 bytes of SHA-256(hex(encoded key)) - the same
+ * address Wallet has always produced. The hex text is written straight
+ * into a byte array and hashed, without building Strings in between.
+ *
+ * EVICTION: When the cache is full, an arbitrary entry is dropped to make
+ * room. Keys are tiny and cheap to re-derive, so a simple policy is
+ * enough; lookups take no lock.
+ *
+ * BITCOIN: Bitcoin Core checks that a public key hashes to the address
+ * being spent (OP_HASH160 ... OP_EQUALVERIFY in a P2PKH script).
+ *
+ * THREAD SAFETY: Thread-safe.
+ */
+public class PublicKeyRegistry {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    /** Bytes of the SHA-256 hash kept in an address (40 hex characters). */
+    private static final int ADDRESS_BYTES = 20;
+
+    private static final PublicKeyRegistry SHARED =
+        new PublicKeyRegistry(BlockchainConfig.PUBLIC_KEY_CACHE_SIZE);
+
+    private final int capacity;
+    private final ConcurrentHashMap<ByteBuffer, Entry> entries;
+
+    /**
+     * Creates a registry holding at most capacity keys.
+     *
+     * @param capacity Maximum number of keys (must be at least 1)
+     */
+    public PublicKeyRegistry(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Registry capacity must be at least 1, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new ConcurrentHashMap<>(capacity * 4 / 3 + 1);
+    }
+
+    /**
+     * Returns the process-wide registry used by wallets, transactions and
+     * the block codec.
+     */
+    public static PublicKeyRegistry getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Decodes an X.509-encoded EC public key, reusing the PublicKey
+     * decoded the last time these bytes were seen.
+     *
+     * @param encoded The encoded key
+     * @return The public key
+     * @throws IllegalArgumentException if the bytes are not a valid EC key
+     */
+    public PublicKey decode(byte[] encoded) {
+        Entry entry = entries.get(ByteBuffer.wrap(encoded));
+        if (entry != null) return entry.publicKey;
+
+        PublicKey publicKey;
+        try {
+            publicKey = KeyFactory.getInstance("EC").generatePublic(new X509EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid public key encoding", e);
+        }
+        return register(encoded.clone(), publicKey).publicKey;
+    }
+
+    /**
+     * Returns the address that belongs to a public key.
+     *
+     * @param publicKey The public key
+     * @return 0x + 40 hex characters
+     */
+    public String addressOf(PublicKey publicKey) {
+        byte[] encoded = publicKey.getEncoded();
+        Entry entry = entries.get(ByteBuffer.wrap(encoded));
+        if (entry != null) return entry.address;
+        return register(encoded, publicKey).address;
+    }
+
+    /**
+     * Checks that a public key belongs to an address (the key hashes to it).
+     *
+     * @param publicKey The public key
+     * @param address The claimed address
+     * @return true if the key's address equals the claimed address
+     */
+    public boolean matches(PublicKey publicKey, String address) {
+        return addressOf(publicKey).equals(address);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes every key.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Derives the address of an encoded public key (no caching).
+     *
+     * PROCESS:
+     * 1. Write the encoded key as lowercase hex ASCII
+     * 2. Hash it with SHA-256 (32 bytes)
+     * 3. Take the last 20 bytes (40 hex characters)
+     * 4. Prepend "0x"
+     *
+     * @param encoded The X.509-encoded public key
+     * @return 0x + 40 hex characters
+     */
+    static String deriveAddress(byte[] encoded) {
+        byte[] hexText = new byte[encoded.length * 2];
+        HashUtil.writeHex(encoded, 0, encoded.length, hexText, 0);
+        byte[] hash = HashUtil.sha256(hexText);
+
+        char[] address = new char[2 + ADDRESS_BYTES * 2];
+        address[0] = '0';
+        address[1] = 'x';
+        for (int i = 0; i < ADDRESS_BYTES; i++) {
+            int v = hash[HashUtil.HASH_LENGTH - ADDRESS_BYTES + i] & 0xFF;
+            address[2 + i * 2] = (char) HEX[v >>> 4];
+            address[3 + i * 2] = (char) HEX[v & 0x0F];
+        }
+        return new String(address);
+    }
+
+    private Entry register(byte[] encoded, PublicKey publicKey) {
+        Entry entry = new Entry(publicKey, deriveAddress(encoded));
+        if (entries.size() >= capacity) {
+            Iterator<ByteBuffer> it = entries.keySet().iterator();
+            if (it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        Entry existing = entries.putIfAbsent(ByteBuffer.wrap(encoded), entry);
+        return existing != null ? existing : entry;
+    }
+
+    private static final class Entry {
+        final PublicKey publicKey;
+        final String address;
+
+        Entry(PublicKey publicKey, String address) {
+            this.publicKey = publicKey;
+            this.address = address;
+        }
+    }
+}
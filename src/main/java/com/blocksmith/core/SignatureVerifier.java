@@ -0,0 +1,200 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.BlockchainConfig;
+
+import java.io.Closeable;
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker pool that verifies transaction signatures in parallel.
+ *
+ * THEORY: ECDSA verification is the most expensive thing a node does per
+ * transaction - far more than hashing or a balance lookup. Each check is
+ * independent, so a batch of transactions can be verified on every core
+ * at once while the caller keeps working:
+ *
+ *   caller:   submit batch ----------------> admit tx 0, admit tx 1, ...
+ *   workers:        verify 0..63 | verify 64..127 | ...
+ *                   (futures complete as each slice finishes)
+ *
+ * Results come back as CompletableFutures, one per transaction, in the
+ * order the transactions were given. The caller can wait on the first
+ * future and admit that transaction while the rest are still being
+ * verified - admission and verification overlap (a pipeline).
+ *
+ * SIGNATURE INSTANCES: Signature.getInstance() looks up a provider and
+ * allocates a new engine every time. A Signature object is not
+ * thread-safe, but it can be reused after initVerify(), so every thread
+ * (pool workers and callers of Transaction.verifySignature()) keeps one
+ * in a ThreadLocal.
+ *
+ * BATCHING: Transactions are handed to workers in slices of BATCH_SIZE,
+ * so a block of thousands of transactions is a few dozen tasks rather
+ * than thousands.
+ *
+ * CACHE: Signatures that verified once are remembered in a shared
+ * VerifiedSignatureCache. verifyBlock() answers cached transactions on
+ * the calling thread and only sends the rest to the workers, so a block
+ * made of transactions we already saw in the mempool costs no ECDSA work.
+ *
+ * BITCOIN: Bitcoin Core's CCheckQueue verifies the scripts of a block on
+ * -par worker threads in batches, and the caller thread joins in.
+ */
+public class SignatureVerifier implements Closeable {
+
+    /** Transactions handed to a worker in one task. */
+    static final int BATCH_SIZE = 64;
+
+    private static final String ALGORITHM = "SHA256withECDSA";
+
+    private static final ThreadLocal<Signature> ECDSA = ThreadLocal.withInitial(() -> {
+        try {
+            return Signature.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    });
+
+    private static final VerifiedSignatureCache SHARED_CACHE =
+        new VerifiedSignatureCache(BlockchainConfig.SIGNATURE_CACHE_SIZE);
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Creates a verifier with one worker per available CPU core.
+     */
+    public SignatureVerifier() {
+        this(BlockchainConfig.VERIFICATION_THREADS);
+    }
+
+    /**
+     * Creates a verifier with a fixed number of workers.
+     *
+     * Idle workers exit after a while and are restarted on demand, so an
+     * unused verifier holds no threads.
+     *
+     * @param threadCount Number of worker threads (must be at least 1)
+     */
+    public SignatureVerifier(int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1, got " + threadCount);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threadCount, threadCount, 30, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "SigVerifier-" + counter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Verifies one transaction's signature on a worker thread.
+     *
+     * @param transaction The transaction to verify
+     * @return Future completing with the result of verifySignature()
+     */
+    public CompletableFuture<Boolean> verifyAsync(Transaction transaction) {
+        return CompletableFuture.supplyAsync(() -> check(transaction), executor);
+    }
+
+    /**
+     * Verifies a batch of transactions in parallel.
+     *
+     * @param transactions The transactions to verify
+     * @return One future per transaction, in the same order; each completes
+     *         as soon as the slice containing it has been verified (false
+     *         for a transaction too malformed to check)
+     */
+    public List<CompletableFuture<Boolean>> verifyAll(List<Transaction> transactions) {
+        List<CompletableFuture<Boolean>> results = new ArrayList<>(transactions.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            results.add(new CompletableFuture<>());
+        }
+
+        for (int from = 0; from < transactions.size(); from += BATCH_SIZE) {
+            int sliceFrom = from;
+            int sliceTo = Math.min(from + BATCH_SIZE, transactions.size());
+            executor.execute(() -> {
+                for (int i = sliceFrom; i < sliceTo; i++) {
+                    // One malformed transaction must not leave the rest of the slice pending
+                    try {
+                        results.get(i).complete(check(transactions.get(i)));
+                    } catch (RuntimeException e) {
+                        results.get(i).complete(false);
+                    }
+                }
+            });
+        }
+        return results;
+    }
+
+    /**
+     * Verifies every transaction signature in a block (e.g. one received
+     * from a peer).
+     *
+     * Transactions already in the signature cache are accepted without
+     * touching the workers; only the others are verified in parallel.
+     *
+     * @param block The block to check
+     * @return Future completing with true if every signature is valid
+     */
+    public CompletableFuture<Boolean> verifyBlock(Block block) {
+        List<Transaction> uncached = new ArrayList<>();
+        for (Transaction tx : block.getTransactionsView()) {
+            if (BlockchainConfig.COINBASE_ADDRESS.equals(tx.getSender())) continue;
+            if (tx.getSignature() != null && tx.getSenderPublicKey() != null && SHARED_CACHE.contains(tx)) continue;
+            uncached.add(tx);
+        }
+        if (uncached.isEmpty()) {
+            return CompletableFuture.completedFuture(true);
+        }
+
+        List<CompletableFuture<Boolean>> checks = verifyAll(uncached);
+        return CompletableFuture.allOf(checks.toArray(new CompletableFuture<?>[0]))
+            .thenApply(done -> checks.stream().allMatch(CompletableFuture::join));
+    }
+
+    /**
+     * Returns the process-wide cache of verified signatures, used by
+     * Transaction.verifySignature().
+     */
+    public static VerifiedSignatureCache getSharedCache() {
+        return SHARED_CACHE;
+    }
+
+    /**
+     * Returns this thread's reusable ECDSA engine.
+     *
+     * The caller must initVerify()/initSign() it before use; that resets
+     * any state left from a previous use.
+     */
+    static Signature ecdsa() {
+        return ECDSA.get();
+    }
+
+    private static boolean check(Transaction transaction) {
+        return transaction != null && transaction.verifySignature();
+    }
+
+    public int getThreadCount() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Stops the workers. Verifications already queued still complete.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -1,7 +1,10 @@
 package com.blocksmith.core;
 
-import com.blocksmith.util.HashUtil;
+import com.blocksmith.util.AmountUtil;
+import com.blocksmith.util.BlockchainConfig;
+import com.blocksmith.util.Hash256;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.PublicKey;
 import java.security.Signature;
@@ -13,10 +16,12 @@ import java.security.Signature;
  * - sender: The address sending the funds
  * - recipient: The address receiving the funds
  * - amount: How much is being transferred
+ * - fee: Paid by the sender to the miner who includes the transaction
  * - transactionId: Unique hash identifying this transaction
  * 
  * VALIDATION (basic):
  * - amount must be positive
+ * - fee must not be negative
  * - sender and recipient must be non-empty
  * 
  * BITCOIN vs OUR MODEL:
@@ -25,37 +30,103 @@ import java.security.Signature;
  * We use a simpler account-based model (like Ethereum) where each address
  * has a balance that gets debited/credited.
  * 
+ * AMOUNTS:
+ * amount and fee are stored as long units (10^-8 coin, see AmountUtil),
+ * so balances add up exactly. The double getters are for display.
+ * 
  * TRANSACTION ID:
  * The transactionId is a SHA-256 hash of all transaction data, making it:
  * - Unique: Different transactions have different IDs
  * - Deterministic: Same data always produces same ID
  * - Tamper-evident: Any change produces completely different ID
+ * 
+ * SIGNING PAYLOAD:
+ * The ID, the signature and its verification all cover the same bytes -
+ * a canonical binary encoding of the transaction data (see
+ * getSigningPayload()). It is built once per transaction and reused.
  */
 public class Transaction {
+
+    private static final byte SIGNING_PAYLOAD_VERSION = 1;
     
-    private final String transactionId;
+    private final Hash256 transactionId;
     private final String sender;
     private final String recipient;
-    private final double amount;
+    private final long amount;  // units
+    private final long fee;     // units
     private final long timestamp;
     private byte[] signature;
     private PublicKey senderPublicKey;
+    private transient volatile byte[] signingPayload; // built on first use, not serialized
 
     /**
-     * Creates a new transaction.
+     * Creates a new transaction without a fee.
      * 
      * @param sender The address sending funds
      * @param recipient The address receiving funds
-     * @param amount The amount to transfer (must be positive)     * 
+     * @param amount The amount to transfer (must be positive)
      */
     public Transaction(String sender, String recipient, double amount) {
+        this(sender, recipient, amount, 0.0);
+    }
+
+    /**
+     * Creates a new transaction that pays a fee to the miner.
+     * 
+     * THEORY: TRANSACTION FEES
+     * 
+     * Block space is limited, so miners pick the transactions that pay
+     * them the most. The fee is taken from the sender on top of the
+     * amount and added to the miner's reward in the block that
+     * includes the transaction.
+     * 
+     * @param sender The address sending funds
+     * @param recipient The address receiving funds
+     * @param amount The amount to transfer in coins (must be positive)
+     * @param fee The fee offered to the miner in coins (must not be negative)
+     * @throws IllegalArgumentException if an amount is NaN, infinite or out of range
+     */
+    public Transaction(String sender, String recipient, double amount, double fee) {
+        this(sender, recipient, AmountUtil.toUnits(amount), AmountUtil.toUnits(fee));
+    }
+
+    private Transaction(String sender, String recipient, long amount, long fee) {
         this.sender = sender;
         this.recipient = recipient;
         this.amount = amount;
+        this.fee = fee;
         this.timestamp = System.currentTimeMillis();
         this.transactionId = calculateHash();
     }
 
+    /**
+     * Restores a transaction exactly as it was stored (see BlockCodec).
+     */
+    Transaction(Hash256 transactionId, String sender, String recipient, long amount, long fee,
+                long timestamp, byte[] signature, PublicKey senderPublicKey) {
+        this.transactionId = transactionId;
+        this.sender = sender;
+        this.recipient = recipient;
+        this.amount = amount;
+        this.fee = fee;
+        this.timestamp = timestamp;
+        this.signature = signature;
+        this.senderPublicKey = senderPublicKey;
+    }
+
+    /**
+     * Creates a transaction from exact unit amounts (10^-8 coin).
+     * 
+     * @param sender The address sending funds
+     * @param recipient The address receiving funds
+     * @param amountUnits The amount to transfer in units
+     * @param feeUnits The fee offered to the miner in units
+     * @return The new transaction
+     */
+    public static Transaction ofUnits(String sender, String recipient, long amountUnits, long feeUnits) {
+        return new Transaction(sender, recipient, amountUnits, feeUnits);
+    }
+
     /**
      * Calculates the unique hash (ID) for this transaction.
      * 
@@ -65,18 +136,78 @@ public class Transaction {
      * 
      * @return SHA-256 hash of transaction data
      */
-    private String calculateHash() {
-        String data = sender + recipient + amount + timestamp;
-        return HashUtil.applySha256(data);
-    }    
+    private Hash256 calculateHash() {
+        return Hash256.sha256(getSigningPayload());
+    }
+
+    /**
+     * Returns the bytes covered by the transaction ID and the signature.
+     * 
+     * CANONICAL ENCODING (big-endian):
+     * 
+     *   byte    version (1)
+     *   int     sender length (-1 = null), then UTF-8 sender
+     *   int     recipient length (-1 = null), then UTF-8 recipient
+     *   long    amount (units)
+     *   long    fee (units)
+     *   long    timestamp
+     * 
+     * WHY LENGTH PREFIXES? Plain concatenation is ambiguous:
+     * "ab" + "c" and "a" + "bc" give the same string, so two different
+     * transactions could share an ID and a signature. With lengths in
+     * front, every transaction has exactly one encoding.
+     * 
+     * The fee is included so that nobody can change what the sender
+     * pays after the transaction has been signed. Amounts are fixed-size
+     * longs, so no number formatting is involved.
+     * 
+     * The payload is built on first use and cached: hashing, signing
+     * and verifying the same transaction never rebuild it. Callers must
+     * not modify the returned array.
+     * 
+     * @return The canonical payload
+     */
+    byte[] getSigningPayload() {
+        byte[] payload = signingPayload;
+        if (payload == null) {
+            payload = encodeSigningPayload();
+            signingPayload = payload;
+        }
+        return payload;
+    }
+
+    private byte[] encodeSigningPayload() {
+        byte[] senderBytes = sender == null ? null : sender.getBytes(StandardCharsets.UTF_8);
+        byte[] recipientBytes = recipient == null ? null : recipient.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 4 + length(senderBytes) + 4 + length(recipientBytes) + 3 * 8);
+        buffer.put(SIGNING_PAYLOAD_VERSION);
+        putString(buffer, senderBytes);
+        putString(buffer, recipientBytes);
+        buffer.putLong(amount).putLong(fee).putLong(timestamp);
+        return buffer.array();
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
 
     /**
      * THEORY: Verifies the digital signature of this transaction.
      * 
      * VERIFICATION PROCESS:
-     * 1. Reconstruct the data that was signed
-     * 2. Use sender's public key to verify the signature
-     * 3. If signature matches, the transaction is authentic
+     * 1. Check that the public key belongs to the sender address
+     * 2. Reconstruct the data that was signed
+     * 3. Use sender's public key to verify the signature
+     * 4. If signature matches, the transaction is authentic
      * 
      * WHAT THIS PROVES: 
      * - The transaction was signed by the owner of the sender's private key
@@ -86,23 +217,36 @@ public class Transaction {
      * Mining reward transactions (from "COINBASE") don't need signatures
      * because they're created by the system, not by a user.
      * 
+     * CACHE: A successful result is remembered in the shared
+     * VerifiedSignatureCache, so verifying the same transaction again
+     * (e.g. when it arrives inside a block) skips the ECDSA work.
+     * 
      * @return true if signature is valid, false otherwise
      */
     public boolean verifySignature() {
         // COINBASE transactions don't need signatures
-        if (sender.equals("COINBASE")) return true;
+        if (BlockchainConfig.COINBASE_ADDRESS.equals(sender)) return true;
 
         // Must have signature and public key
         if (signature == null || senderPublicKey == null) return false;
 
+        VerifiedSignatureCache cache = SignatureVerifier.getSharedCache();
+        if (cache.contains(this)) return true;
+
+        // The key must belong to the sender - otherwise anyone could sign
+        // a payment from someone else's address with their own key
+        if (!PublicKeyRegistry.getShared().matches(senderPublicKey, sender)) return false;
+
         try {
-            Signature ecdsaVerify = Signature.getInstance("SHA256withECDSA");
+            // Reused per thread - getInstance() on every call is costly (see SignatureVerifier)
+            Signature ecdsaVerify = SignatureVerifier.ecdsa();
             ecdsaVerify.initVerify(senderPublicKey);
 
-            String dataToVerify = sender + recipient + amount + timestamp;
-            ecdsaVerify.update(dataToVerify.getBytes(StandardCharsets.UTF_8));
+            ecdsaVerify.update(getSigningPayload());
 
-            return ecdsaVerify.verify(signature);
+            boolean valid = ecdsaVerify.verify(signature);
+            if (valid) cache.add(this);
+            return valid;
         } catch (Exception e) {
             return false;
         }
@@ -113,8 +257,9 @@ public class Transaction {
      * 
      * VALIDATION RULES:
      * 1. Amount must be positive (> 0)
-     * 2. Sender address must not be null or empty
-     * 3. Recipient address must not be null or empty
+     * 2. Fee must not be negative
+     * 3. Sender address must not be null or empty
+     * 4. Recipient address must not be null or empty
      * 
      * NOTE: This does NOT check:
      * - If sender has sufficient balance (done in Blockchain)
@@ -127,6 +272,12 @@ public class Transaction {
         // Amount must be positive
         if (amount <= 0) return false;
 
+        // Fee may be zero, but never negative
+        if (fee < 0) return false;
+
+        // amount + fee must not overflow
+        if (amount > Long.MAX_VALUE - fee) return false;
+
         // Sender must be non-empty
         if (sender == null || sender.trim().isEmpty()) return false;
 
@@ -139,6 +290,10 @@ public class Transaction {
     // ===== GETTERS =====
 
     public String getTransactionId() {
+        return transactionId.toHex();
+    }
+
+    public Hash256 getTransactionIdValue() {
         return transactionId;
     }
 
@@ -150,10 +305,42 @@ public class Transaction {
         return recipient;
     }
 
+    /**
+     * Returns the amount in coins (for display; use getAmountUnits() for arithmetic).
+     */
     public double getAmount() {
+        return AmountUtil.toCoins(amount);
+    }
+
+    public long getAmountUnits() {
         return amount;
     }
 
+    /**
+     * Returns the fee in coins (for display; use getFeeUnits() for arithmetic).
+     */
+    public double getFee() {
+        return AmountUtil.toCoins(fee);
+    }
+
+    public long getFeeUnits() {
+        return fee;
+    }
+
+    /**
+     * Returns the total the sender pays in coins: amount plus fee.
+     */
+    public double getTotalCost() {
+        return AmountUtil.toCoins(getTotalCostUnits());
+    }
+
+    /**
+     * Returns the total the sender pays in units: amount plus fee.
+     */
+    public long getTotalCostUnits() {
+        return amount + fee;
+    }
+
     public long getTimestamp() {
         return timestamp;
     }
@@ -191,10 +378,10 @@ public class Transaction {
     @Override
     public String toString() {
         return String.format(java.util.Locale.US, "Transaction{id=%s..., %s -> %s: %.2f}",
-            transactionId.substring(0, 8),
+            getTransactionId().substring(0, 8),
             sender,
             recipient,
-            amount
+            getAmount()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.blocksmith.core;
+
+/**
+ * Where a confirmed transaction lives: which block, and where in it.
+ *
+ * THEORY: Bitcoin Core's optional "txindex" stores exactly this
+ * (block position + offset) for every transaction, so a transaction
+ * can be fetched by ID without scanning the chain.
+ */
+public final class TransactionLocation {
+
+    private final int blockHeight;
+    private final int position;
+
+    TransactionLocation(int blockHeight, int position) {
+        this.blockHeight = blockHeight;
+        this.position = position;
+    }
+
+    /**
+     * Returns the index of the block containing the transaction.
+     */
+    public int getBlockHeight() {
+        return blockHeight;
+    }
+
+    /**
+     * Returns the transaction's index within its block (0 = coinbase).
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionLocation{block=" + blockHeight + ", position=" + position + "}";
+    }
+}
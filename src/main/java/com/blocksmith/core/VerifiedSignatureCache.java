@@ -0,0 +1,144 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.Hash256;
+
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded, concurrent cache of transactions whose signature has already
+ * been verified.
+ *
+ * THEORY: A transaction is usually verified twice - when it enters the
+ * mempool, and again when it shows up inside a block. The second check
+ * repeats exactly the same ECDSA work. Remembering "transaction X with
+ * signature S and key K is valid" turns the second check into a map
+ * lookup.
+ *
+ * KEY: Entries are found by transaction ID, but a hit also requires the
+ * same signed payload, signature bytes and public key. The ID does not
+ * cover the signature, and a transaction restored from bytes carries
+ * whatever ID it was given - so comparing the payload (a short byte
+ * compare, no hashing) stops a copy with different data or a forged
+ * signature from riding on the cached result of the real one.
+ *
+ * EVICTION - CLOCK (second chance):
+ * The entries sit in a ring of slots, each with a "referenced" bit that
+ * a hit sets. To make room, the hand sweeps the ring: a referenced slot
+ * gets its bit cleared (a second chance), the first unreferenced slot is
+ * evicted.
+ *
+ *          hand
+ *           v
+ *   [A r=1][B r=0][C r=1][D r=0]   -> clear A, evict B
+ *
+ * CLOCK approximates LRU, but a hit only writes one flag - unlike true
+ * LRU it never has to reorder a list, so lookups need no lock. Only
+ * inserts (after a real verification) take the lock.
+ *
+ * BITCOIN: Bitcoin Core has the same thing (CSignatureCache, keyed by
+ * signature hash, public key and signature), sized by -maxsigcachesize.
+ */
+public class VerifiedSignatureCache {
+
+    private final int capacity;
+    private final ConcurrentHashMap<Hash256, Entry> entries;
+    private final Entry[] ring;  // guarded by this
+    private int hand;            // guarded by this
+
+    /**
+     * Creates a cache holding at most capacity transactions.
+     *
+     * @param capacity Maximum number of entries (must be at least 1)
+     */
+    public VerifiedSignatureCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be at least 1, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.entries = new ConcurrentHashMap<>(capacity * 4 / 3 + 1);
+        this.ring = new Entry[capacity];
+    }
+
+    /**
+     * Checks whether this exact signature was already verified.
+     *
+     * @param transaction The transaction (must have a signature and key)
+     * @return true if the transaction, signature and key were verified before
+     */
+    public boolean contains(Transaction transaction) {
+        Entry entry = entries.get(transaction.getTransactionIdValue());
+        if (entry == null || !entry.matches(transaction)) return false;
+        entry.referenced = true;
+        return true;
+    }
+
+    /**
+     * Records a successfully verified transaction, evicting an old entry
+     * if the cache is full.
+     *
+     * @param transaction A transaction whose signature just verified
+     */
+    public synchronized void add(Transaction transaction) {
+        Entry existing = entries.get(transaction.getTransactionIdValue());
+        if (existing != null && existing.matches(transaction)) {
+            existing.referenced = true;
+            return;
+        }
+
+        // Sweep until we find a free slot or one without a second chance
+        while (ring[hand] != null && ring[hand].referenced) {
+            ring[hand].referenced = false;
+            hand = (hand + 1) % capacity;
+        }
+        Entry victim = ring[hand];
+        if (victim != null) {
+            // Only remove the mapping if it still points at this slot's entry
+            entries.remove(victim.id, victim);
+        }
+
+        Entry entry = new Entry(transaction);
+        ring[hand] = entry;
+        entries.put(entry.id, entry);
+        hand = (hand + 1) % capacity;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        Arrays.fill(ring, null);
+        hand = 0;
+    }
+
+    private static final class Entry {
+        final Hash256 id;
+        final byte[] payload;
+        final byte[] signature;
+        final PublicKey publicKey;
+        volatile boolean referenced;
+
+        Entry(Transaction transaction) {
+            this.id = transaction.getTransactionIdValue();
+            this.payload = transaction.getSigningPayload();
+            this.signature = transaction.getSignature().clone();
+            this.publicKey = transaction.getSenderPublicKey();
+        }
+
+        boolean matches(Transaction transaction) {
+            return Arrays.equals(payload, transaction.getSigningPayload())
+                && Arrays.equals(signature, transaction.getSignature())
+                && publicKey.equals(transaction.getSenderPublicKey());
+        }
+    }
+}
@@ -1,15 +1,14 @@
 package com.blocksmith.core;
 
-import java.security.KeyPairGenerator;
-import java.security.KeyPair;
+import java.security.GeneralSecurityException;
 import java.security.PrivateKey;
 import java.security.PublicKey;
-import java.security.SecureRandom;
-import java.security.spec.ECGenParameterSpec;
 import java.security.Signature;
-import java.nio.charset.StandardCharsets;
+import java.security.SignatureException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
-import com.blocksmith.util.HashUtil;
+import com.blocksmith.util.BlockchainConfig;
 
 /**
  * THEORY: A wallet manages cryptographic keys for signing transactions.
@@ -28,40 +27,43 @@ import com.blocksmith.util.HashUtil;
  * - Used by Bitcoin (secp256k1) and TLS (secp256r1)
  */
 public class Wallet {
-    
-    private PrivateKey privateKey;
-    private PublicKey publicKey;
-    private String address;
 
+    /** Fewer transactions than this per thread are not worth a thread. */
+    static final int MIN_TRANSACTIONS_PER_THREAD = 32;
+
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final String address;
+
+    // One signer per thread, initialized with our private key once.
+    // After sign() a Signature is back in its initSign() state, ready
+    // for the next transaction.
+    private final ThreadLocal<Signature> signer = ThreadLocal.withInitial(this::newSigner);
+
+    /**
+     * Creates a wallet with a freshly generated key pair.
+     *
+     * To create many wallets quickly, use WalletFactory.newWallet(),
+     * which takes key pairs from a pre-generated pool.
+     */
     public Wallet() {
-        generateKeyPair();
-        this.address = generateAddress();
+        this(WalletFactory.generateKeyPair());
     }
 
     /**
-     * THEORY: Generates an ECDSA key pair using the secp256r1 curve.
-     * 
-     * PROCESS:
-     * 1. Get a KeyPairGenerator for Ellipctic Curve (EC)
-     * 2. Initialize with secp256r1 curve parameters
-     * 3. Use SecureRandom for cryptographic randomness
-     * 4. Generate the key pair
-     * 
-     * SECURITY: Uses SecureRandom.getInstatnceStrong() for
-     * cryptographically strong random number generation.
+     * Creates a wallet that owns an existing key pair.
+     *
+     * THEORY: The key pair is generated from a DRBG seeded once by the
+     * operating system (see WalletFactory). We used to seed every wallet
+     * from SecureRandom.getInstanceStrong(), which on Linux reads
+     * /dev/random and can block for seconds when entropy runs low.
+     *
+     * @param keyPair The wallet's secp256r1 key pair
      */
-    private void generateKeyPair() {
-        try {
-            KeyPairGenerator keyGen = KeyPairGenerator.getInstance("EC");
-            ECGenParameterSpec ecSpec = new ECGenParameterSpec("secp256r1");
-            keyGen.initialize(ecSpec, SecureRandom.getInstanceStrong());
-
-            KeyPair keyPair = keyGen.generateKeyPair();
-            this.privateKey = keyPair.getPrivate();
-            this.publicKey = keyPair.getPublic();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to generate key pair", e);
-        }
+    public Wallet(KeyPair keyPair) {
+        this.privateKey = keyPair.getPrivateKey();
+        this.publicKey = keyPair.getPublicKey();
+        this.address = generateAddress();
     }
 
     /**
@@ -80,42 +82,24 @@ public class Wallet {
      * 
      * ETHEREUM: Uses Keccak-256, takes last 20 bytes.
      * BITCOIN: Uses RIPEMD-160(SHA-256(pubkey)), different format.
-     * We use simplified SHA-256 approach for educational purposes.      * 
+     * We use simplified SHA-256 approach for educational purposes.
+     * 
+     * The derivation lives in PublicKeyRegistry, which also remembers the
+     * result so verifiers can check our transactions without redoing it.
      */
     private String generateAddress() {
-        byte[] publicKeyBytes = publicKey.getEncoded();
-        String hash = HashUtil.applySha256(bytesToHex(publicKeyBytes));
-
-        // Take last 40 characters (20 bytes in hex)
-        String shortHash = hash.substring(hash.length() - 40);
-
-        return "0x" + shortHash;
-    }
-
-    /**
-     * Helper method to convert byte array to hexadecimal string.
-     */
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder hexString = new StringBuilder();
-        for (byte b : bytes) {
-            String hex = Integer.toHexString(0xff & b);
-            if (hex.length() == 1) {
-                hexString.append('0');
-            }
-            hexString.append(hex);
-        }
-        return hexString.toString();
+        return PublicKeyRegistry.getShared().addressOf(publicKey);
     }
 
     /**
      * THEORY: Signs a transaction using ECDSA with SHA-256
      * 
      * PROCESS:
-     * 1. Get the transaction data to sign (sender + recipient + amount + timestamp)
-     * 2. Create a Signature object with SHA256withECDSA algorithm
-     * 2. Initialize it with our private key
-     * 4. Feed it the transaction data
-     * 5. Generate the signature bytes
+     * 1. Get the canonical signing payload (sender, recipient, amount, fee, timestamp)
+     * 2. Take this thread's SHA256withECDSA signer (initialized with our
+     *    private key the first time the thread signs)
+     * 3. Feed it the transaction data
+     * 4. Generate the signature bytes
      * 
      * WHAT THIS PROVES:
      * - Only the owner of this wallet's private key could create this signature
@@ -126,29 +110,123 @@ public class Wallet {
      */
     public void signTransaction(Transaction transaction) {
         // Only sign if we are the sender
+        checkSender(transaction);
+        sign(transaction);
+    }
+
+    /**
+     * Signs a batch of transactions from this wallet, in parallel.
+     *
+     * THEORY: Each signature is independent, so a payout of thousands of
+     * transactions splits into contiguous slices, one per thread:
+     *
+     *   transactions: [0 ......... n/3)[n/3 ....... 2n/3)[2n/3 ....... n)
+     *                   Signer-0          Signer-1          Signer-2
+     *
+     * Every thread reuses its own initialized signer, so the per-call
+     * cost of Signature.getInstance() and initSign() is paid once per
+     * thread instead of once per transaction. Small batches are signed
+     * on the calling thread.
+     *
+     * All senders are checked before anything is signed, so a batch with
+     * a foreign transaction is rejected as a whole.
+     *
+     * @param transactions Transactions whose sender is this wallet
+     * @throws IllegalStateException if any sender does not match
+     */
+    public void signTransactions(List<Transaction> transactions) {
+        signTransactions(transactions, BlockchainConfig.SIGNING_THREADS);
+    }
+
+    /**
+     * Signs a batch of transactions using up to threadCount threads.
+     *
+     * @param transactions Transactions whose sender is this wallet
+     * @param threadCount Maximum number of threads (at least 1)
+     * @throws IllegalStateException if any sender does not match
+     */
+    public void signTransactions(List<Transaction> transactions, int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1, got " + threadCount);
+        }
+        for (Transaction tx : transactions) {
+            checkSender(tx);
+        }
+
+        int count = transactions.size();
+        int workerCount = Math.min(threadCount, Math.max(1, count / MIN_TRANSACTIONS_PER_THREAD));
+        if (workerCount == 1) {
+            signSlice(transactions, 0, count);
+            return;
+        }
+
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Thread[] workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            int sliceFrom = (int) ((long) count * i / workerCount);
+            int sliceTo = (int) ((long) count * (i + 1) / workerCount);
+            workers[i] = new Thread(() -> {
+                try {
+                    signSlice(transactions, sliceFrom, sliceTo);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                }
+            }, "Signer-" + i);
+            workers[i].setDaemon(true);
+            workers[i].start();
+        }
+
+        try {
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while signing transactions", e);
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private void checkSender(Transaction transaction) {
         if (!transaction.getSender().equals(this.address)) {
             throw new IllegalStateException("Cannot sign transaction: wallet address does not match sender.");
         }
+    }
 
-        try {
-            Signature ecdsaSign = Signature.getInstance("SHA256withECDSA");
-            ecdsaSign.initSign(this.privateKey);
+    private void signSlice(List<Transaction> transactions, int from, int to) {
+        for (int i = from; i < to; i++) {
+            sign(transactions.get(i));
+        }
+    }
 
-            String dataToSign = transaction.getSender()
-                              + transaction.getRecipient()
-                              + transaction.getAmount()
-                              + transaction.getTimestamp();
-            ecdsaSign.update(dataToSign.getBytes(StandardCharsets.UTF_8));
+    private void sign(Transaction transaction) {
+        try {
+            Signature ecdsaSign = signer.get();
+            ecdsaSign.update(transaction.getSigningPayload());
 
             byte[] signatureBytes = ecdsaSign.sign();
 
             transaction.setSignature(signatureBytes);
             transaction.setSenderPublicKey(this.publicKey);
-        } catch (Exception e) {
+        } catch (SignatureException e) {
+            // The signer may be left mid-operation; start fresh next time
+            signer.remove();
             throw new RuntimeException("Failed to sign transaction", e);
         }
     }
 
+    private Signature newSigner() {
+        try {
+            Signature ecdsaSign = Signature.getInstance("SHA256withECDSA");
+            ecdsaSign.initSign(this.privateKey);
+            return ecdsaSign;
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Failed to initialize signer", e);
+        }
+    }
+
     /**
      * Returns the public key. Safe to share with others.
      */
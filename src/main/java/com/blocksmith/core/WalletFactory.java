@@ -0,0 +1,181 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.BlockchainConfig;
+
+import java.io.Closeable;
+import java.security.GeneralSecurityException;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.security.spec.ECGenParameterSpec;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates wallets quickly, from a pool of key pairs generated ahead of time.
+ *
+ * THEORY: WHERE DOES WALLET CREATION SPEND ITS TIME?
+ *
+ * 1. Randomness. SecureRandom.getInstanceStrong() is NativePRNGBlocking on
+ *    Linux, which reads /dev/random and can stall for seconds when the
+ *    kernel's entropy estimate is low.
+ * 2. Key generation. An EC key pair needs a random scalar and one point
+ *    multiplication on the curve.
+ *
+ * Fix for 1: a DRBG (Deterministic Random Bit Generator, NIST SP 800-90A).
+ * It is seeded once from the operating system and then produces output
+ * with a cryptographic algorithm (HMAC / Hash / CTR), so it never blocks.
+ * It is the same construction the JDK uses for new SecureRandom().
+ *
+ * Fix for 2: a background thread keeps a bounded queue of ready-made
+ * key pairs topped up. Taking one is a queue poll:
+ *
+ *   generator thread:  [gen] -> [gen] -> [gen] -> ...  (blocks when full)
+ *                                 |
+ *                                 v
+ *   pool (bounded):   [ kp ][ kp ][ kp ][ kp ]
+ *                        |
+ *                        v
+ *   newWallet():      poll() - microseconds
+ *
+ * If the pool is empty (a burst drained it), newWallet() generates a key
+ * pair on the caller's thread instead of waiting, so it never blocks.
+ *
+ * BITCOIN: Bitcoin Core pre-generates a "keypool" of keys (1000 by
+ * default) so new addresses are instant and already covered by backups.
+ *
+ * THREAD SAFETY: Thread-safe.
+ */
+public class WalletFactory implements Closeable {
+
+    private static final String CURVE = "secp256r1";
+
+    private static final SecureRandom RANDOM = createRandom();
+
+    // KeyPairGenerator is not thread-safe; one per thread, like the
+    // verifiers' Signature objects
+    private static final ThreadLocal<KeyPairGenerator> GENERATOR = ThreadLocal.withInitial(() -> {
+        try {
+            KeyPairGenerator keyGen = KeyPairGenerator.getInstance("EC");
+            keyGen.initialize(new ECGenParameterSpec(CURVE), RANDOM);
+            return keyGen;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("EC key generation is not available", e);
+        }
+    });
+
+    private final BlockingQueue<KeyPair> pool;
+    private final AtomicBoolean running;
+    private final AtomicLong misses;
+    private final Thread generator;
+
+    /**
+     * Creates a factory with the default pool size.
+     */
+    public WalletFactory() {
+        this(BlockchainConfig.WALLET_POOL_SIZE);
+    }
+
+    /**
+     * Creates a factory and starts filling its pool in the background.
+     *
+     * @param poolSize Maximum number of key pairs kept ready (at least 1)
+     */
+    public WalletFactory(int poolSize) {
+        if (poolSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1, got " + poolSize);
+        }
+        this.pool = new ArrayBlockingQueue<>(poolSize);
+        this.running = new AtomicBoolean(true);
+        this.misses = new AtomicLong();
+
+        this.generator = new Thread(this::fillPool, "WalletPregen");
+        this.generator.setDaemon(true);
+        this.generator.start();
+    }
+
+    /**
+     * Generates a new secp256r1 key pair from the non-blocking DRBG.
+     *
+     * @return A fresh key pair
+     */
+    public static KeyPair generateKeyPair() {
+        return new KeyPair(GENERATOR.get().generateKeyPair());
+    }
+
+    /**
+     * Creates a wallet from a pre-generated key pair, or generates one
+     * on this thread if the pool is empty. Never waits.
+     *
+     * @return A new wallet
+     */
+    public Wallet newWallet() {
+        KeyPair keyPair = pool.poll();
+        if (keyPair == null) {
+            misses.incrementAndGet();
+            keyPair = generateKeyPair();
+        }
+        return new Wallet(keyPair);
+    }
+
+    /**
+     * Returns how many key pairs are ready in the pool right now.
+     */
+    public int getPooledCount() {
+        return pool.size();
+    }
+
+    /**
+     * Returns the pool capacity.
+     */
+    public int getPoolSize() {
+        return pool.size() + pool.remainingCapacity();
+    }
+
+    /**
+     * Returns how many wallets were created with an empty pool (and so
+     * generated their key pair on the caller's thread).
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Stops the background generator. Pooled key pairs are discarded.
+     */
+    @Override
+    public void close() {
+        if (!running.compareAndSet(true, false)) return;
+        generator.interrupt();
+        try {
+            generator.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pool.clear();
+    }
+
+    private void fillPool() {
+        try {
+            while (running.get()) {
+                pool.put(generateKeyPair());
+            }
+        } catch (InterruptedException e) {
+            // close() - stop generating
+        }
+    }
+
+    /**
+     * Picks the DRBG, falling back to the platform default SecureRandom
+     * (also non-blocking) if the DRBG provider is missing.
+     */
+    private static SecureRandom createRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.blocksmith.network;
+
+import java.io.IOException;
+
+import com.blocksmith.util.Hash256;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * THEORY: Hash Encoding on the Wire
+ * 
+ * Hash256 stores a hash as four longs. Left to reflection, Gson would
+ * send {"w0":..., "w1":..., ...} - unreadable and tied to our internal
+ * layout. This adapter sends every hash as its 64-character hex string
+ * instead, which is what humans (and other implementations) expect:
+ * 
+ *   "previousHash": "0000a3f1...c9"
+ * 
+ * Invalid hex from a peer becomes a JsonSyntaxException, which the
+ * parser already treats as a malformed message.
+ */
+class Hash256Adapter extends TypeAdapter<Hash256> {
+
+    @Override
+    public void write(JsonWriter out, Hash256 value) throws IOException {
+        if (value == null) {
+            out.nullValue();
+            return;
+        }
+        out.value(value.toHex());
+    }
+
+    @Override
+    public Hash256 read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        String hex = in.nextString();
+        try {
+            return Hash256.fromHex(hex);
+        } catch (IllegalArgumentException e) {
+            throw new JsonSyntaxException("Invalid hash: " + hex, e);
+        }
+    }
+}
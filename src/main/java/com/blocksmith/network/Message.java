@@ -1,5 +1,6 @@
 package com.blocksmith.network;
 
+import com.blocksmith.util.Hash256;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
@@ -23,7 +24,10 @@ import com.google.gson.GsonBuilder;
 public abstract class Message {
 
     // Note: No PrettyPrinting - messages must be single-line for readLine() to work
-    private static final Gson GSON = new GsonBuilder().create();
+    // Hashes travel as 64-char hex strings (see Hash256Adapter)
+    private static final Gson GSON = new GsonBuilder()
+            .registerTypeAdapter(Hash256.class, new Hash256Adapter())
+            .create();
             
     protected MessageType type;
     protected long timestamp;
@@ -1,6 +1,7 @@
 package com.blocksmith.network;
 
 import java.io.PrintWriter;
+import java.util.function.Consumer;
 
 /**
  * THEORY: Message Context - Connection Wrapper
@@ -19,10 +20,12 @@ import java.io.PrintWriter;
  * - Handlers don't need to know about PrintWriter, JSON serialization
  * - Easy to mock in tests
  * - Could be extended later (e.g., add connection metadata)
+ * - Works the same over both transports: a blocking socket's PrintWriter
+ *   or an NIO connection's write queue (see TransportType)
  */
 public class MessageContext {
 
-    private final PrintWriter writer;
+    private final Consumer<String> lineWriter;
     private final String remoteNodeId;
 
     /**
@@ -32,7 +35,18 @@ public class MessageContext {
      * @param remoteNodeId The remote peer's node ID
      */
     public MessageContext(PrintWriter writer, String remoteNodeId) {
-        this.writer = writer;
+        this(writer::println, remoteNodeId);
+    }
+
+    /**
+     * Creates a new MessageContext that sends through any line writer
+     * (e.g. an NIO connection's write queue).
+     * 
+     * @param lineWriter Sends one JSON line to the remote peer
+     * @param remoteNodeId The remote peer's node ID
+     */
+    public MessageContext(Consumer<String> lineWriter, String remoteNodeId) {
+        this.lineWriter = lineWriter;
         this.remoteNodeId = remoteNodeId;
     }
 
@@ -43,7 +57,7 @@ public class MessageContext {
      * @param message The message to send
      */
     public void sendMessage(Message message) {
-        writer.println(message.toJson());
+        lineWriter.accept(message.toJson());
     }
 
     /**
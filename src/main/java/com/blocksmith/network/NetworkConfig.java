@@ -82,6 +82,28 @@ public class NetworkConfig {
      */
     public static final int PEER_TIMEOUT_MS = 30000;
 
+    /**
+     * Number of event-loop threads used by the NIO transport.
+     * Each loop serves any number of connections, so a handful is enough
+     * even for thousands of peers.
+     */
+    public static final int NIO_EVENT_LOOPS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    /**
+     * Longest message line (in bytes) the NIO transport accepts.
+     * A peer sending more without a newline is disconnected, so it
+     * cannot make us buffer without limit.
+     */
+    public static final int MAX_MESSAGE_BYTES = 4 * 1024 * 1024;
+
+    /**
+     * Most bytes the NIO transport queues for one peer that are not yet
+     * written to its socket. A peer that stops reading is disconnected
+     * once its queue passes this, so it cannot make us buffer without
+     * limit (the write-side twin of MAX_MESSAGE_BYTES).
+     */
+    public static final int MAX_WRITE_QUEUE_BYTES = 4 * MAX_MESSAGE_BYTES;
+
     
     // Private constructor - utility class, no instances needed
     private NetworkConfig() {}
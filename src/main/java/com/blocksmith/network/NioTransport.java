@@ -0,0 +1,640 @@
+package com.blocksmith.network;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.blocksmith.network.messages.HelloMessage;
+
+/**
+ * Non-blocking transport for a Node: a few event-loop threads serve every
+ * peer connection.
+ *
+ * THEORY: THREAD PER CONNECTION vs EVENT LOOP
+ *
+ * The blocking transport parks one thread in readLine() per peer. Most of
+ * the time those threads just wait, but each still costs a stack and a
+ * slot in the OS scheduler - 5,000 peers means 5,000 threads.
+ *
+ * An event loop turns this around. Every socket is non-blocking and
+ * registered with a Selector, which reports which sockets are READY:
+ *
+ *   event loop thread:
+ *     while (running) {
+ *         selector.select();              // sleep until some socket is ready
+ *         for (key : selectedKeys) {
+ *             accept / connect / read / write   // never blocks
+ *         }
+ *     }
+ *
+ * One loop can watch thousands of sockets. Connections are spread over
+ * NetworkConfig.NIO_EVENT_LOOPS loops (round robin), and a connection
+ * stays on its loop for life, so its state needs no locking:
+ *
+ *   loop 0: [server socket] [peer A] [peer D] ...
+ *   loop 1: [peer B] [peer E] ...
+ *   loop 2: [peer C] [peer F] ...
+ *
+ * FRAMING: The protocol is one JSON message per line. Reads return
+ * whatever bytes arrived (half a message, or three), so each connection
+ * collects bytes until a '\n' and then dispatches the complete line. A
+ * line longer than MAX_MESSAGE_BYTES closes the connection.
+ *
+ * WRITES: A write may only send part of the data when the socket buffer is
+ * full. Unsent bytes stay queued and the loop asks for OP_WRITE, so it is
+ * woken up to continue once the peer has read some. Other threads never
+ * touch the socket: they queue the bytes and let the loop flush them. A
+ * peer whose queue grows past MAX_WRITE_QUEUE_BYTES (it stopped reading)
+ * is disconnected.
+ *
+ * IDLE PEERS: The blocking transport drops a peer whose read times out
+ * (READ_TIMEOUT_MS). Here no thread waits on a read, so each connection
+ * records when it last received data, and every loop sweeps its
+ * connections a few times per timeout period:
+ *
+ *   selector.select(sweepInterval)     // wakes up even when all is quiet
+ *   now - lastActivity > idleTimeout   -> close
+ *
+ * This covers a socket that never sends HELLO as well as a peer that goes
+ * silent later; live peers answer the node's heartbeat PINGs well within
+ * the timeout.
+ *
+ * HANDLERS: Messages go to the same MessageHandlers as the blocking
+ * transport, with a MessageContext whose sendMessage() queues the reply.
+ * Handlers run ON the event loop - a slow handler delays every peer on
+ * that loop, so long work belongs on another thread.
+ *
+ * BITCOIN: Bitcoin Core's CConnman serves all peers from one socket thread
+ * (ThreadSocketHandler) and hands complete messages to a separate message
+ * handler thread.
+ *
+ * THREAD SAFETY: Thread-safe. connect(), broadcast() and close() can be
+ * called from any thread.
+ */
+public class NioTransport implements Closeable {
+
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+    private final String nodeId;
+    private final int port;
+    private final Map<MessageType, MessageHandler> handlers;
+    private final PeerManager peerManager;
+    private final EventLoop[] loops;
+    private final long idleTimeoutMs;
+    private final long sweepIntervalMs;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextLoop = new AtomicInteger();
+    private ServerSocketChannel serverChannel;
+    private volatile boolean running;
+
+    /**
+     * Creates a transport (not started yet).
+     *
+     * @param nodeId Our node ID, sent in HELLO
+     * @param port The port to listen on, sent in HELLO
+     * @param handlers Handlers for incoming messages (read, not copied)
+     * @param peerManager Registry that connected peers are added to
+     * @param eventLoops Number of event-loop threads (at least 1)
+     */
+    public NioTransport(String nodeId, int port, Map<MessageType, MessageHandler> handlers,
+                        PeerManager peerManager, int eventLoops) {
+        this(nodeId, port, handlers, peerManager, eventLoops, NetworkConfig.READ_TIMEOUT_MS);
+    }
+
+    /**
+     * Creates a transport (not started yet) with a custom idle timeout.
+     *
+     * @param nodeId Our node ID, sent in HELLO
+     * @param port The port to listen on, sent in HELLO
+     * @param handlers Handlers for incoming messages (read, not copied)
+     * @param peerManager Registry that connected peers are added to
+     * @param eventLoops Number of event-loop threads (at least 1)
+     * @param idleTimeoutMs A connection that receives nothing for this long
+     *                      is closed (at least 1)
+     */
+    public NioTransport(String nodeId, int port, Map<MessageType, MessageHandler> handlers,
+                        PeerManager peerManager, int eventLoops, long idleTimeoutMs) {
+        if (eventLoops < 1) {
+            throw new IllegalArgumentException("Need at least one event loop, got " + eventLoops);
+        }
+        if (idleTimeoutMs < 1) {
+            throw new IllegalArgumentException("Idle timeout must be at least 1 ms, got " + idleTimeoutMs);
+        }
+        this.idleTimeoutMs = idleTimeoutMs;
+        // A few sweeps per timeout period, so peers are closed at most ~25% late
+        this.sweepIntervalMs = Math.max(1, Math.min(1000, idleTimeoutMs / 4));
+        this.nodeId = nodeId;
+        this.port = port;
+        this.handlers = handlers;
+        this.peerManager = peerManager;
+        this.loops = new EventLoop[eventLoops];
+    }
+
+    /**
+     * Binds the server socket and starts the event loops.
+     *
+     * @throws IOException if unable to bind to the port
+     */
+    public void start() throws IOException {
+        if (running) {
+            throw new IllegalStateException("Transport is already running");
+        }
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(new InetSocketAddress(port));
+        serverChannel.configureBlocking(false);
+
+        running = true;
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop(Selector.open(), "Nio-EventLoop-" + port + "-" + i);
+            loops[i].start();
+        }
+        loops[0].execute(() -> loops[0].register(serverChannel, SelectionKey.OP_ACCEPT, null));
+    }
+
+    /**
+     * Opens an outbound connection and performs the HELLO handshake.
+     * Returns at once; the future completes when the remote HELLO arrives.
+     * Cancelling the future (e.g. after a timeout) closes the connection.
+     *
+     * @param host Remote node's hostname or IP
+     * @param remotePort Remote node's listening port
+     * @return Future of the connected peer (fails if the connection does)
+     * @throws IOException if the socket cannot be opened
+     */
+    public CompletableFuture<PeerInfo> connect(String host, int remotePort) throws IOException {
+        if (!running) {
+            throw new IllegalStateException("Transport is not running");
+        }
+        SocketChannel channel = SocketChannel.open();
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+        Connection connection = new Connection(channel, nextLoop(), host, remotePort);
+        connections.add(connection);
+        connection.handshake.whenComplete((info, error) -> {
+            // Given up by the caller: drop the half-open connection
+            if (connection.handshake.isCancelled()) connection.loop.execute(connection::close);
+        });
+        try {
+            channel.connect(new InetSocketAddress(host, remotePort));
+        } catch (IOException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+        connection.loop.execute(() -> {
+            connection.key = connection.loop.register(channel, SelectionKey.OP_CONNECT, connection);
+            if (connection.key == null) {
+                connection.close();
+            } else if (channel.isConnected()) {
+                // Connected at once (common on localhost): no OP_CONNECT will fire
+                try {
+                    connection.finishConnect();
+                } catch (IOException e) {
+                    connection.close();
+                }
+            }
+        });
+        return connection.handshake;
+    }
+
+    /**
+     * Sends a JSON line to every peer that finished its handshake.
+     *
+     * @param json The message, as produced by Message.toJson()
+     */
+    public void broadcast(String json) {
+        for (Connection connection : connections) {
+            if (connection.peerInfo != null) connection.send(json);
+        }
+    }
+
+    /**
+     * Returns the number of open connections (inbound and outbound).
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Returns the number of event-loop threads.
+     */
+    public int getEventLoopCount() {
+        return loops.length;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops the event loops and closes every connection and the server
+     * socket.
+     */
+    @Override
+    public void close() {
+        if (!running) return;
+        running = false;
+
+        for (EventLoop loop : loops) {
+            if (loop != null) loop.selector.wakeup();
+        }
+        for (EventLoop loop : loops) {
+            if (loop == null) continue;
+            try {
+                loop.thread.join(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (Connection connection : connections) {
+            connection.close();
+        }
+        for (EventLoop loop : loops) {
+            if (loop == null) continue;
+            try {
+                loop.selector.close();
+            } catch (IOException e) {
+                System.err.println("Error closing selector: " + e.getMessage());
+            }
+        }
+        try {
+            serverChannel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing server channel: " + e.getMessage());
+        }
+    }
+
+    private EventLoop nextLoop() {
+        return loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)];
+    }
+
+    /**
+     * Accepts every pending inbound connection and hands each one to an
+     * event loop.
+     */
+    private void acceptAll() throws IOException {
+        SocketChannel accepted;
+        while ((accepted = serverChannel.accept()) != null) {
+            SocketChannel channel = accepted;
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            InetSocketAddress remote = (InetSocketAddress) channel.getRemoteAddress();
+            Connection connection = new Connection(channel, nextLoop(),
+                    remote.getAddress().getHostAddress(), remote.getPort());
+            connection.inbound = true;
+            connections.add(connection);
+
+            connection.loop.execute(() -> {
+                connection.key = connection.loop.register(channel, SelectionKey.OP_READ, connection);
+                if (connection.key == null) connection.close();
+            });
+        }
+    }
+
+    /**
+     * One selector and the thread that drives it. Tasks from other threads
+     * (registrations, writes) are queued and run by the loop itself.
+     */
+    private final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private long nextSweep;
+
+        EventLoop(Selector selector, String name) {
+            this.selector = selector;
+            this.thread = new Thread(this, name);
+            this.thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        boolean inLoop() {
+            return Thread.currentThread() == thread;
+        }
+
+        /**
+         * Runs a task on this loop's thread.
+         */
+        void execute(Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        SelectionKey register(SelectableChannel channel, int ops, Connection connection) {
+            try {
+                return channel.register(selector, ops, connection);
+            } catch (IOException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public void run() {
+            nextSweep = System.currentTimeMillis() + sweepIntervalMs;
+            while (running) {
+                try {
+                    selector.select(sweepIntervalMs);
+                } catch (IOException | ClosedSelectorException e) {
+                    break;
+                }
+                runTasks();
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    process(key);
+                }
+
+                long now = System.currentTimeMillis();
+                if (now >= nextSweep) {
+                    closeIdle(now);
+                    nextSweep = now + sweepIntervalMs;
+                }
+            }
+        }
+
+        /**
+         * Closes this loop's connections that received nothing for longer
+         * than the idle timeout.
+         */
+        private void closeIdle(long now) {
+            List<Connection> idle = new ArrayList<>();
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof Connection connection
+                        && now - connection.lastActivity > idleTimeoutMs) {
+                    idle.add(connection);
+                }
+            }
+            for (Connection connection : idle) {
+                System.out.println("  ✗ No data from " + connection.host + ":" + connection.remotePort
+                        + " for " + idleTimeoutMs + " ms, disconnecting");
+                connection.close();
+            }
+        }
+
+        private void runTasks() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+
+        private void process(SelectionKey key) {
+            Connection connection = (Connection) key.attachment();
+            try {
+                if (connection == null) {
+                    if (key.isAcceptable()) acceptAll();
+                    return;
+                }
+                if (key.isConnectable()) connection.finishConnect();
+                if (key.isValid() && key.isReadable()) connection.read();
+                if (key.isValid() && key.isWritable()) connection.flush();
+            } catch (IOException | CancelledKeyException e) {
+                if (connection != null) connection.close();
+                else if (running) System.err.println("Error accepting connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * State of one peer connection. Everything except send() and close()
+     * runs on the connection's event loop.
+     */
+    private final class Connection {
+        private final SocketChannel channel;
+        private final EventLoop loop;
+        private final String host;
+        private final int remotePort;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private final Queue<ByteBuffer> writeQueue = new ConcurrentLinkedQueue<>();
+        private final AtomicLong queuedBytes = new AtomicLong();
+        private final CompletableFuture<PeerInfo> handshake = new CompletableFuture<>();
+        private byte[] line = new byte[256];
+        private int lineLength;
+        private boolean inbound;
+        private long lastActivity = System.currentTimeMillis();
+        private SelectionKey key;
+        private MessageContext context;
+        private volatile PeerInfo peerInfo;
+        private volatile boolean closed;
+
+        Connection(SocketChannel channel, EventLoop loop, String host, int remotePort) {
+            this.channel = channel;
+            this.loop = loop;
+            this.host = host;
+            this.remotePort = remotePort;
+        }
+
+        /**
+         * Outbound only: the TCP connection is up, start the handshake.
+         */
+        void finishConnect() throws IOException {
+            if (!channel.finishConnect()) return;
+            key.interestOps(SelectionKey.OP_READ);
+            send(new HelloMessage(nodeId, NetworkConfig.PROTOCOL_VERSION, port, 0).toJson());
+            System.out.println("  → Sent HELLO to " + host + ":" + remotePort);
+        }
+
+        /**
+         * Reads what has arrived and dispatches every complete line.
+         */
+        void read() throws IOException {
+            int read;
+            while ((read = channel.read(readBuffer)) > 0) {
+                lastActivity = System.currentTimeMillis();
+                byte[] data = readBuffer.array();
+                for (int i = 0; i < read; i++) {
+                    byte b = data[i];
+                    if (b == '\n') {
+                        // Match readLine(): a trailing '\r' is not part of the line
+                        int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+                        String json = new String(line, 0, length, StandardCharsets.UTF_8);
+                        lineLength = 0;
+                        onLine(json);
+                        if (closed) return;
+                    } else {
+                        append(b);
+                    }
+                }
+                readBuffer.clear();
+            }
+            if (read < 0) close(); // Connection closed by peer
+        }
+
+        private void append(byte b) throws IOException {
+            if (lineLength == line.length) {
+                if (lineLength >= NetworkConfig.MAX_MESSAGE_BYTES) {
+                    throw new IOException("Message from " + host + ":" + remotePort + " exceeds "
+                            + NetworkConfig.MAX_MESSAGE_BYTES + " bytes");
+                }
+                line = Arrays.copyOf(line, Math.min(lineLength * 2, NetworkConfig.MAX_MESSAGE_BYTES));
+            }
+            line[lineLength++] = b;
+        }
+
+        /**
+         * Handles one complete line: the HELLO first, then protocol messages.
+         */
+        private void onLine(String json) {
+            if (peerInfo == null) {
+                onHello(json);
+                return;
+            }
+            peerInfo.updateLastSeen();
+
+            Message message = MessageParser.parse(json);
+            if (message == null) {
+                System.err.println("  ✗ Failed to parse message from " + host + ":" + remotePort);
+                return; // Skip bad messages, don't crash
+            }
+
+            MessageHandler handler = handlers.get(message.getType());
+            if (handler == null) {
+                System.out.println(" ? No handler for " + message.getType() + " from " + host + ":" + remotePort);
+                return;
+            }
+            try {
+                handler.handle(message, context);
+            } catch (RuntimeException e) {
+                // A failing handler must not take the whole event loop down
+                System.err.println("Error handling message from " + host + ":" + remotePort + ": " + e.getMessage());
+            }
+        }
+
+        private void onHello(String json) {
+            HelloMessage hello;
+            try {
+                hello = Message.fromJson(json, HelloMessage.class);
+            } catch (RuntimeException e) {
+                hello = null;
+            }
+            if (hello == null || hello.getNodeId() == null) {
+                System.err.println("  ✗ Invalid HELLO from " + host + ":" + remotePort);
+                close();
+                return;
+            }
+            System.out.println("  ← Received HELLO from " + hello.getNodeId());
+
+            PeerInfo info;
+            if (inbound) {
+                send(new HelloMessage(nodeId, NetworkConfig.PROTOCOL_VERSION, port, 0).toJson());
+                System.out.println("  → Sent HELLO response to " + hello.getNodeId());
+                info = new PeerInfo(host, hello.getPort());
+            } else {
+                info = new PeerInfo(host, remotePort);
+            }
+            info.markConnected(hello.getNodeId());
+            peerManager.addPeer(info);
+
+            context = new MessageContext(this::send, hello.getNodeId());
+            peerInfo = info;
+            handshake.complete(info);
+        }
+
+        /**
+         * Queues a line for sending. Safe to call from any thread.
+         * Disconnects the peer if too much is already waiting for it.
+         */
+        void send(String json) {
+            if (closed) return;
+            ByteBuffer data = ByteBuffer.wrap((json + "\n").getBytes(StandardCharsets.UTF_8));
+
+            long queued = queuedBytes.addAndGet(data.remaining());
+            if (queued > NetworkConfig.MAX_WRITE_QUEUE_BYTES) {
+                // Report and close once, when the limit is first crossed
+                if (queued - data.remaining() <= NetworkConfig.MAX_WRITE_QUEUE_BYTES) {
+                    System.err.println("  ✗ Peer " + host + ":" + remotePort + " is not reading ("
+                            + NetworkConfig.MAX_WRITE_QUEUE_BYTES + " bytes queued), disconnecting");
+                    if (loop.inLoop()) close();
+                    else loop.execute(this::close);
+                }
+                return;
+            }
+            writeQueue.add(data);
+            if (loop.inLoop()) {
+                try {
+                    flush();
+                } catch (IOException | CancelledKeyException e) {
+                    close();
+                }
+            } else {
+                loop.execute(() -> {
+                    try {
+                        flush();
+                    } catch (IOException | CancelledKeyException e) {
+                        close();
+                    }
+                });
+            }
+        }
+
+        /**
+         * Writes queued data until done or the socket buffer is full; in
+         * that case OP_WRITE wakes the loop up to continue later.
+         */
+        void flush() throws IOException {
+            if (closed || key == null || !channel.isConnected()) return;
+
+            ByteBuffer head;
+            while ((head = writeQueue.peek()) != null) {
+                channel.write(head);
+                if (head.hasRemaining()) {
+                    key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+                    return;
+                }
+                writeQueue.poll();
+                queuedBytes.addAndGet(-head.limit());
+            }
+            if ((key.interestOps() & SelectionKey.OP_WRITE) != 0) {
+                key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            }
+        }
+
+        void close() {
+            if (closed) return;
+            closed = true;
+            connections.remove(this);
+            if (key != null) key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing channel: " + e.getMessage());
+            }
+            writeQueue.clear();
+
+            if (peerInfo != null) {
+                peerInfo.markDisconnected();
+                System.out.println("  ✗ Connection closed: " + host + ":" + remotePort);
+            }
+            handshake.completeExceptionally(new IOException("Connection to " + host + ":" + remotePort + " closed"));
+        }
+    }
+}
@@ -17,8 +17,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeoutException;
 
 import com.blocksmith.network.messages.PongMessage;
 import com.blocksmith.network.messages.HelloMessage;
@@ -38,6 +41,12 @@ import com.blocksmith.network.messages.PingMessage;
  * - When a peer connects, accept() returns a Socket for communication
  * - Each connection is typically handled in a separate thread
  * 
+ * TRANSPORTS (see TransportType):
+ * - BLOCKING (default): one thread per connection
+ * - NIO: a few event-loop threads serve every connection (NioTransport),
+ *   for nodes with thousands of peers
+ * Both use the same handlers, registered with registerHandler().
+ * 
  * LIFECYCLE:
  * 1. Create Node (assigns ID, creates ServerSocket)
  * 2. start() - begins accepting connections
@@ -50,7 +59,9 @@ public class Node {
 
     private final String nodeId;
     private final int port;
+    private final TransportType transportType;
     private ServerSocket serverSocket;
+    private NioTransport nioTransport;
     private volatile boolean running;
     private ExecutorService connectionPool;
     private Thread acceptThread;
@@ -73,8 +84,19 @@ public class Node {
      * @param port The port to listen on
      */
     public Node(int port) {
+        this(port, TransportType.BLOCKING);
+    }
+
+    /**
+     * Creates a new Node on specified port, using the given transport.
+     * 
+     * @param port The port to listen on
+     * @param transportType How connections are served (BLOCKING or NIO)
+     */
+    public Node(int port, TransportType transportType) {
         this.nodeId = generateNodeId();
         this.port = port;
+        this.transportType = transportType;
         this.running = false;
         this.handlers = new HashMap<>();
         this.peerManager = new PeerManager();
@@ -124,6 +146,9 @@ public class Node {
      * - CachedThreadPool: Creates threads as needed, reuses idle ones
      * - Handles thread lifecycle automatically
      * 
+     * NIO TRANSPORT: No accept thread and no pool - NioTransport's event
+     * loops accept, read and write for every connection.
+     * 
      * @throws IOException if unable to bind to port
      */
     public void start() throws IOException {
@@ -131,13 +156,19 @@ public class Node {
             throw new IllegalStateException("Node is already running");
         }
         
-        serverSocket = new ServerSocket(port);
-        running = true;
-        connectionPool = Executors.newCachedThreadPool();
-        
-        // Start accept loop in separate thread
-        acceptThread = new Thread(this::acceptLoop, "Node-Accept-" + port);
-        acceptThread.start();
+        if (transportType == TransportType.NIO) {
+            nioTransport = new NioTransport(nodeId, port, handlers, peerManager, NetworkConfig.NIO_EVENT_LOOPS);
+            nioTransport.start();
+            running = true;
+        } else {
+            serverSocket = new ServerSocket(port);
+            running = true;
+            connectionPool = Executors.newCachedThreadPool();
+            
+            // Start accept loop in separate thread
+            acceptThread = new Thread(this::acceptLoop, "Node-Accept-" + port);
+            acceptThread.start();
+        }
 
         heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
             r -> new Thread(r, "Node-Heartbeat-" + port));
@@ -161,6 +192,10 @@ public class Node {
         PingMessage ping = new PingMessage(nodeId);
         String pingJson = ping.toJson();
 
+        if (nioTransport != null) {
+            nioTransport.broadcast(pingJson);
+            return;
+        }
         for (PeerInfo peer : peerManager.getConnectedPeers()) {
             PrintWriter writer = peerWriters.get(peer.getAddress());
             if (writer != null) writer.println(pingJson);
@@ -364,6 +399,9 @@ public class Node {
      * @throws IOException if connection or handshake fails
      */
     public Peer connectToPeer(String host, int port) throws IOException {
+        if (transportType == TransportType.NIO)
+            throw new IllegalStateException("connectToPeer() needs the BLOCKING transport - use connect()");
+
         String address = host + ":" + port;
 
         // Don't connect if already known
@@ -416,6 +454,50 @@ public class Node {
         return peer;
     }
 
+    /**
+     * Connects to a remote node with whichever transport this node uses
+     * and waits for the handshake.
+     * 
+     * BLOCKING: same as connectToPeer().
+     * NIO: the connection is served by an event loop - no listener thread
+     * per peer.
+     * 
+     * @param host remote node's hostname or IP
+     * @param port remote node's listening port
+     * @return the connected peer's info
+     * @throws IOException if connection or handshake fails (or times out)
+     */
+    public PeerInfo connect(String host, int port) throws IOException {
+        if (transportType == TransportType.BLOCKING) {
+            connectToPeer(host, port);
+            return peerManager.getPeer(host + ":" + port);
+        }
+        if (!running)
+            throw new IllegalStateException("Node is not running");
+
+        String address = host + ":" + port;
+        if (peerManager.isKnown(address))
+            throw new IllegalStateException("Already connected to " + address);
+        if (!peerManager.canAcceptMore())
+            throw new IllegalStateException("MAX_PEERS limit reached");
+
+        CompletableFuture<PeerInfo> handshake = nioTransport.connect(host, port);
+        try {
+            PeerInfo peerInfo = handshake.get(NetworkConfig.CONNECTION_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            System.out.println("  ✓ Outbound connection established to " + address);
+            return peerInfo;
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to connect to " + address, e.getCause());
+        } catch (TimeoutException e) {
+            handshake.cancel(true); // Closes the pending connection
+            throw new IOException("Handshake with " + address + " timed out", e);
+        } catch (InterruptedException e) {
+            handshake.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while connecting to " + address, e);
+        }
+    }
+
     /**
      * THEORY: Graceful shutdown of the node.
      * 
@@ -435,6 +517,12 @@ public class Node {
         
         running = false;
         
+        // NIO: stops the event loops and closes every connection
+        if (nioTransport != null) {
+            nioTransport.close();
+            nioTransport = null;
+        }
+        
         // Close server socket (this will interrupt accept())
         if (serverSocket != null && !serverSocket.isClosed()) {
             try {
@@ -495,4 +583,16 @@ public class Node {
     public boolean isRunning() {
         return running;
     }
+
+    public TransportType getTransportType() {
+        return transportType;
+    }
+
+    /**
+     * Returns the NIO transport while the node runs with TransportType.NIO,
+     * otherwise null.
+     */
+    public NioTransport getNioTransport() {
+        return nioTransport;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.blocksmith.network;
+
+/**
+ * THEORY: How a Node moves bytes between peers
+ *
+ * BLOCKING (thread per connection):
+ * - Every inbound socket gets a pooled thread that blocks in readLine()
+ * - Every outbound Peer starts its own listener thread
+ * - Simple to follow, but 1,000 peers = 1,000+ threads (each with its
+ *   own stack, and the OS scheduler juggling all of them)
+ *
+ * NIO (event loops):
+ * - Sockets are non-blocking and registered with a Selector
+ * - A few event-loop threads wait for "ready" events on ALL sockets
+ *   and handle whichever ones have data (see NioTransport)
+ * - Thread count stays fixed no matter how many peers connect
+ *
+ * Both speak the same line-based JSON protocol and call the same
+ * MessageHandlers, so a blocking Peer can talk to an NIO Node and back.
+ *
+ * BITCOIN: Bitcoin Core uses one socket-handler thread that polls every
+ * peer's socket (select/poll/epoll) - the same idea as NIO.
+ */
+public enum TransportType {
+
+    /** One thread per connection, blocking reads (the original transport) */
+    BLOCKING,
+
+    /** Non-blocking sockets served by a small, fixed set of event loops */
+    NIO
+}
@@ -3,20 +3,29 @@ package com.blocksmith.network.messages;
 import com.blocksmith.core.Block;
 import com.blocksmith.network.Message;
 import com.blocksmith.network.MessageType;
+import com.blocksmith.util.Hash256;
 
 /**
  * Broadcast a new block to peers.
+ * 
+ * The block hash is sent alongside the block so a receiver can check
+ * "have I seen this already?" with one Hash256 lookup before touching
+ * the block body.
  */
 public class NewBlockMessage extends Message {
     
+    private Hash256 blockHash;
     private Block block;
     
     public NewBlockMessage(String nodeId, Block block) {
         super(MessageType.NEW_BLOCK, nodeId);
+        this.blockHash = block.getHashValue();
         this.block = block;
     }
     
     public NewBlockMessage() {}
     
+    public Hash256 getBlockHash() { return blockHash; }
+
     public Block getBlock() { return block; }
-}
\ No newline at end of file
+}
@@ -3,20 +3,28 @@ package com.blocksmith.network.messages;
 import com.blocksmith.core.Transaction;
 import com.blocksmith.network.Message;
 import com.blocksmith.network.MessageType;
+import com.blocksmith.util.Hash256;
 
 /**
  * Broadcast a new transaction to peers.
+ * 
+ * The transaction ID is sent alongside the transaction so a receiver
+ * can drop duplicates with one Hash256 lookup.
  */
 public class NewTransactionMessage extends Message {
     
+    private Hash256 transactionId;
     private Transaction transaction;
     
     public NewTransactionMessage(String nodeId, Transaction transaction) {
         super(MessageType.NEW_TRANSACTION, nodeId);
+        this.transactionId = transaction.getTransactionIdValue();
         this.transaction = transaction;
     }
     
     public NewTransactionMessage() {}
     
+    public Hash256 getTransactionId() { return transactionId; }
+
     public Transaction getTransaction() { return transaction; }
-}
\ No newline at end of file
+}
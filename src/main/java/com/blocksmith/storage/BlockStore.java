@@ -0,0 +1,69 @@
+package com.blocksmith.storage;
+
+import com.blocksmith.util.Hash256;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * THEORY: Append-Only Block Storage
+ * 
+ * A blockchain never changes history - new blocks are only ever added
+ * at the end. That makes an append-only log the natural storage format:
+ * 
+ *   height 0      height 1      height 2
+ *   [genesis] --> [block] -----> [block] --> ... append here
+ * 
+ * The store knows nothing about what a block contains. It keeps opaque
+ * records (the encoded block) together with each block's hash, and
+ * finds any record by its height.
+ * 
+ * IMPLEMENTATIONS:
+ * - MemoryBlockStore: records in a list (tests, throwaway chains)
+ * - FileBlockStore:   segment files on disk, memory-mapped
+ * 
+ * THREAD SAFETY: read(), getBlockHash() and size() may be called from
+ * several threads at once (e.g. parallel chain validation), as long as
+ * no append() runs at the same time. The Blockchain that owns a store
+ * serializes appends with everything else.
+ */
+public interface BlockStore extends Closeable {
+
+    /**
+     * Appends a block record at the next height.
+     *
+     * @param blockHash Hash of the block (kept in the index)
+     * @param record Encoded block
+     * @return The height the record was stored at
+     */
+    int append(Hash256 blockHash, byte[] record);
+
+    /**
+     * Reads the record stored at a height.
+     *
+     * @param height Block height (0 = Genesis)
+     * @return The encoded block
+     * @throws IndexOutOfBoundsException if no block exists at that height
+     */
+    byte[] read(int height);
+
+    /**
+     * Returns the hash of the block at a height, without reading the record.
+     *
+     * @param height Block height (0 = Genesis)
+     * @return The block hash
+     * @throws IndexOutOfBoundsException if no block exists at that height
+     */
+    Hash256 getBlockHash(int height);
+
+    /**
+     * Returns the number of stored blocks.
+     */
+    int size();
+
+    /**
+     * Releases files and other resources. The store cannot be used afterwards.
+     */
+    @Override
+    void close() throws IOException;
+}
@@ -0,0 +1,328 @@
+package com.blocksmith.storage;
+
+import com.blocksmith.util.Hash256;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only block log stored in memory-mapped segment files.
+ *
+ * THEORY: SEGMENTED LOG
+ *
+ * Records are appended to fixed-size segment files. When a segment is
+ * full, a new one is started:
+ *
+ *   blocks-00000.seg   [rec 0][rec 1][rec 2]...[rec 911]  (full)
+ *   blocks-00001.seg   [rec 912][rec 913]...              (current)
+ *   blocks.idx         one entry per height
+ *
+ * Each record is framed with its length and a CRC32 checksum:
+ *
+ *   int length | int crc32 | length bytes of encoded block
+ *
+ * Each index entry is 40 bytes: segment (int), offset (int), block hash (32).
+ * Reading height h is one array lookup plus one read at a known offset -
+ * no scanning. The hash in the index lets the chain rebuild its
+ * hash -> height map at startup without decoding a single block.
+ *
+ * MEMORY MAPPING: Segments are mapped with FileChannel.map(). Reads and
+ * writes are plain memory copies served by the OS page cache, and the
+ * data lives outside the Java heap - a chain can be much larger than
+ * the heap, and only the blocks actually touched are paged in.
+ *
+ * CRASH SAFETY: A block is written in two steps:
+ *   1. write the record into the segment, and force it to disk
+ *   2. append the index entry, and force it to disk
+ * The index entry is the commit point. After a crash, a record without
+ * an index entry is simply overwritten by the next append, and a torn
+ * index entry (partial, or pointing at a bad checksum) is dropped.
+ *
+ * BITCOIN: Bitcoin Core stores blocks in 128 MB blk?????.dat files and
+ * keeps their positions in a separate LevelDB index - the same split
+ * between an append-only data log and a small index.
+ *
+ * THREAD SAFETY: Concurrent reads are safe; see BlockStore.
+ */
+public class FileBlockStore implements BlockStore {
+
+    /** Default size of one segment file (64 MB). */
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final String INDEX_FILE = "blocks.idx";
+    private static final int RECORD_HEADER_SIZE = 8;                  // length + crc32
+    private static final int INDEX_ENTRY_SIZE = 4 + 4 + Hash256.SIZE; // segment + offset + hash
+
+    private final Path directory;
+    private final int segmentSize;
+    private final List<MappedByteBuffer> segments;
+    private final FileChannel indexChannel;
+
+    // In-memory copy of the index: compact primitive arrays, no objects per block
+    private long[] locations;   // (segment << 32) | offset
+    private byte[] hashes;      // 32 bytes per height
+    private int count;
+
+    private int writeSegment;
+    private int writeOffset;
+
+    /**
+     * Opens (or creates) a block store in a directory with the default segment size.
+     *
+     * @param directory Directory holding the segment and index files
+     * @throws IOException if the files cannot be opened
+     */
+    public FileBlockStore(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens (or creates) a block store in a directory.
+     *
+     * @param directory Directory holding the segment and index files
+     * @param segmentSize Size of each segment file in bytes (the largest
+     *                    record must fit in one segment)
+     * @throws IOException if the files cannot be opened
+     */
+    public FileBlockStore(Path directory, int segmentSize) throws IOException {
+        if (segmentSize <= RECORD_HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segments = new ArrayList<>();
+
+        Files.createDirectories(directory);
+        this.indexChannel = FileChannel.open(directory.resolve(INDEX_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            loadIndex();
+            recover();
+        } catch (IOException | RuntimeException e) {
+            indexChannel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int append(Hash256 blockHash, byte[] record) {
+        int recordSize = RECORD_HEADER_SIZE + record.length;
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Record of " + record.length
+                + " bytes does not fit in a segment of " + segmentSize + " bytes");
+        }
+
+        try {
+            // Roll over to a new segment if the record does not fit
+            if (writeOffset + recordSize > segmentSize) {
+                writeSegment++;
+                writeOffset = 0;
+            }
+            MappedByteBuffer segment = segment(writeSegment);
+
+            // Step 1: write and force the record
+            ByteBuffer out = segment.duplicate();
+            out.position(writeOffset);
+            out.putInt(record.length);
+            out.putInt(checksum(record));
+            out.put(record);
+            segment.force(writeOffset, recordSize);
+
+            // Step 2: write and force the index entry (commit point)
+            ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+            entry.putInt(writeSegment).putInt(writeOffset);
+            blockHash.writeTo(entry.array(), 8);
+            entry.position(0);
+            writeFully(entry, (long) count * INDEX_ENTRY_SIZE);
+            indexChannel.force(false);
+
+            addToIndex(writeSegment, writeOffset, blockHash);
+            writeOffset += recordSize;
+            return count - 1;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append block at height " + count, e);
+        }
+    }
+
+    @Override
+    public byte[] read(int height) {
+        checkHeight(height);
+        try {
+            byte[] record = readRecord(height);
+            if (record == null) {
+                throw new IllegalStateException("Corrupt block record at height " + height);
+            }
+            return record;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read block at height " + height, e);
+        }
+    }
+
+    @Override
+    public Hash256 getBlockHash(int height) {
+        checkHeight(height);
+        return Hash256.fromBytes(hashes, height * Hash256.SIZE);
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the number of segment files in use.
+     */
+    public int getSegmentCount() {
+        return writeSegment + 1;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void close() throws IOException {
+        segments.clear();
+        indexChannel.close();
+    }
+
+    // ===== STARTUP =====
+
+    /**
+     * Reads every complete index entry into the in-memory arrays.
+     * A partial entry at the end (torn write) is cut off.
+     */
+    private void loadIndex() throws IOException {
+        long fileSize = indexChannel.size();
+        int entries = (int) (fileSize / INDEX_ENTRY_SIZE);
+        if ((long) entries * INDEX_ENTRY_SIZE != fileSize) {
+            indexChannel.truncate((long) entries * INDEX_ENTRY_SIZE);
+        }
+
+        locations = new long[Math.max(16, entries)];
+        hashes = new byte[locations.length * Hash256.SIZE];
+        count = 0;
+
+        ByteBuffer buffer = ByteBuffer.allocate(INDEX_ENTRY_SIZE * 1024);
+        long position = 0;
+        byte[] hash = new byte[Hash256.SIZE];
+        while (count < entries) {
+            buffer.clear();
+            int toRead = (int) Math.min(buffer.capacity(), (long) (entries - count) * INDEX_ENTRY_SIZE);
+            buffer.limit(toRead);
+            while (buffer.hasRemaining()) {
+                if (indexChannel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of index file");
+                }
+            }
+            position += toRead;
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                int segment = buffer.getInt();
+                int offset = buffer.getInt();
+                buffer.get(hash);
+                addToIndex(segment, offset, Hash256.fromBytes(hash));
+            }
+        }
+    }
+
+    /**
+     * Drops index entries whose record is damaged (from the end only -
+     * a crash can only tear the last write), then positions the writer
+     * right after the last good record.
+     */
+    private void recover() throws IOException {
+        while (count > 0 && readRecord(count - 1) == null) {
+            count--;
+            indexChannel.truncate((long) count * INDEX_ENTRY_SIZE);
+        }
+
+        if (count == 0) {
+            writeSegment = 0;
+            writeOffset = 0;
+        } else {
+            long last = locations[count - 1];
+            writeSegment = (int) (last >>> 32);
+            writeOffset = (int) last + RECORD_HEADER_SIZE + segment(writeSegment).getInt((int) last);
+        }
+    }
+
+    // ===== HELPERS =====
+
+    /**
+     * Reads and checks one record.
+     *
+     * @return The record bytes, or null if the length or checksum is bad
+     */
+    private byte[] readRecord(int height) throws IOException {
+        long location = locations[height];
+        int segmentIndex = (int) (location >>> 32);
+        int offset = (int) location;
+
+        ByteBuffer in = segment(segmentIndex).duplicate();
+        if (offset < 0 || offset + RECORD_HEADER_SIZE > segmentSize) return null;
+        in.position(offset);
+        int length = in.getInt();
+        int crc = in.getInt();
+        if (length < 0 || length > segmentSize - offset - RECORD_HEADER_SIZE) return null;
+
+        byte[] record = new byte[length];
+        in.get(record);
+        return checksum(record) == crc ? record : null;
+    }
+
+    /**
+     * Returns a mapped segment, mapping (and creating) it on first use.
+     * Synchronized so that concurrent readers map each segment once.
+     */
+    private synchronized MappedByteBuffer segment(int index) throws IOException {
+        while (segments.size() <= index) {
+            Path file = directory.resolve(String.format("blocks-%05d.seg", segments.size()));
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed
+                segments.add(channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+            }
+        }
+        return segments.get(index);
+    }
+
+    private void addToIndex(int segment, int offset, Hash256 hash) {
+        if (count == locations.length) {
+            locations = Arrays.copyOf(locations, count * 2);
+            hashes = Arrays.copyOf(hashes, count * 2 * Hash256.SIZE);
+        }
+        locations[count] = ((long) segment << 32) | (offset & 0xFFFFFFFFL);
+        hash.writeTo(hashes, count * Hash256.SIZE);
+        count++;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += indexChannel.write(buffer, position);
+        }
+    }
+
+    private void checkHeight(int height) {
+        if (height < 0 || height >= count) {
+            throw new IndexOutOfBoundsException("No block at height " + height + " (size " + count + ")");
+        }
+    }
+
+    private static int checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+}
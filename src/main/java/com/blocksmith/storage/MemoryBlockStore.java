@@ -0,0 +1,45 @@
+package com.blocksmith.storage;
+
+import com.blocksmith.util.Hash256;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Block store that keeps every record in memory.
+ * 
+ * Nothing survives a restart. Used for tests and for chains that do not
+ * need to be persisted (new Blockchain() with no directory).
+ */
+public class MemoryBlockStore implements BlockStore {
+
+    private final List<byte[]> records = new ArrayList<>();
+    private final List<Hash256> hashes = new ArrayList<>();
+
+    @Override
+    public int append(Hash256 blockHash, byte[] record) {
+        records.add(record.clone());
+        hashes.add(blockHash);
+        return records.size() - 1;
+    }
+
+    @Override
+    public byte[] read(int height) {
+        return records.get(height).clone();
+    }
+
+    @Override
+    public Hash256 getBlockHash(int height) {
+        return hashes.get(height);
+    }
+
+    @Override
+    public int size() {
+        return records.size();
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+}
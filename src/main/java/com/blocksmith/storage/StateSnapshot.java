@@ -0,0 +1,186 @@
+package com.blocksmith.storage;
+
+import com.blocksmith.util.Hash256;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot of the chain state at a given height.
+ *
+ * THEORY: STATE SNAPSHOTS
+ *
+ * The balance index is derived from the blocks - it can always be rebuilt
+ * by replaying the whole chain. But replaying a million blocks on every
+ * restart takes minutes. A snapshot saves the derived state every so
+ * often, so startup only replays the blocks after it:
+ *
+ *   blocks:    [0] [1] ... [5000] [5001] [5002]
+ *                           ^ snapshot (height 5000, tip hash, balances)
+ *   startup:   load snapshot, replay 5001 and 5002
+ *
+ * The tip hash ties the snapshot to one exact chain: if the block stored
+ * at the snapshot height has a different hash, the snapshot is ignored.
+ *
+ * ATOMIC WRITE: The snapshot is written to a temporary file, forced to
+ * disk and then renamed over the old one. A rename is atomic, so a crash
+ * leaves either the old snapshot or the new one - never half of each.
+ * A trailing CRC32 catches anything else (e.g. a damaged disk); a bad
+ * snapshot is treated as missing, and the chain is replayed in full.
+ *
+ * FILE LAYOUT (big-endian):
+ *
+ *   int     magic ("BSSS")
+ *   int     version
+ *   int     height
+ *   32      tip hash
+ *   int     address count
+ *   ...     per address: int length, UTF-8 address, long units
+ *   int     crc32 of everything above
+ *
+ * BITCOIN: Bitcoin Core keeps its UTXO set in a database (chainstate/)
+ * together with the best block hash, for the same reason. assumeutxo
+ * goes further and loads a UTXO snapshot to start a node in minutes.
+ */
+public final class StateSnapshot {
+
+    private static final int MAGIC = 0x42535353; // "BSSS"
+    private static final int VERSION = 1;
+
+    private final int height;
+    private final Hash256 tipHash;
+    private final Map<String, Long> balances;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param height Height of the last block included in the state
+     * @param tipHash Hash of that block
+     * @param balances Balance of every address in units
+     */
+    public StateSnapshot(int height, Hash256 tipHash, Map<String, Long> balances) {
+        this.height = height;
+        this.tipHash = tipHash;
+        this.balances = Collections.unmodifiableMap(balances);
+    }
+
+    /**
+     * Writes the snapshot atomically, replacing any existing file.
+     *
+     * @param file Target file
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void write(Path file) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + balances.size() * 48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(height);
+        out.write(tipHash.toBytes());
+        out.writeInt(balances.size());
+        for (Map.Entry<String, Long> entry : balances.entrySet()) {
+            byte[] address = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(address.length);
+            out.write(address);
+            out.writeLong(entry.getValue());
+        }
+        out.writeInt(checksum(bytes.toByteArray(), bytes.size()));
+        out.flush();
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads a snapshot.
+     *
+     * @param file Snapshot file
+     * @return The snapshot, or null if the file is missing or damaged
+     * @throws IOException if the file exists but cannot be read
+     */
+    public static StateSnapshot read(Path file) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (bytes.length < 4) return null;
+
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        int body = bytes.length - 4;
+        if (in.getInt(body) != checksum(bytes, body)) return null;
+        in.limit(body);
+
+        try {
+            if (in.getInt() != MAGIC || in.getInt() != VERSION) return null;
+            int height = in.getInt();
+            byte[] hash = new byte[Hash256.SIZE];
+            in.get(hash);
+            int count = in.getInt();
+            if (count < 0) return null;
+
+            Map<String, Long> balances = new HashMap<>(Math.min(count, in.remaining() / 12) * 4 / 3 + 1);
+            for (int i = 0; i < count; i++) {
+                int length = in.getInt();
+                if (length < 0 || length > in.remaining()) return null;
+                byte[] address = new byte[length];
+                in.get(address);
+                balances.put(new String(address, StandardCharsets.UTF_8), in.getLong());
+            }
+            if (in.hasRemaining()) return null;
+            return new StateSnapshot(height, Hash256.fromBytes(hash), balances);
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public Hash256 getTipHash() {
+        return tipHash;
+    }
+
+    /**
+     * Returns the balance of every address in units.
+     */
+    public Map<String, Long> getBalances() {
+        return balances;
+    }
+
+    private static int checksum(byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return "StateSnapshot{height=" + height + ", tipHash=" + tipHash.toHex().substring(0, 16)
+            + "..., addresses=" + balances.size() + "}";
+    }
+}
@@ -0,0 +1,343 @@
+package com.blocksmith.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Sequential write-ahead log of opaque records with group commit.
+ *
+ * THEORY: WRITE-AHEAD LOG (WAL)
+ *
+ * Before a change is applied in memory, a record describing it is
+ * appended to a log file. After a crash the log is read back from the
+ * start and every change is applied again ("replayed"). Appending to
+ * the end of one file is the cheapest write a disk can do.
+ *
+ * Records are framed like the block store's:
+ *
+ *   int length | int crc32 | length bytes of payload
+ *
+ * A crash can tear the last record; reading stops at the first record
+ * that is incomplete or fails its checksum, and the file is cut there.
+ *
+ * GROUP COMMIT:
+ * A record is only safe once fsync (FileChannel.force) has returned,
+ * and one fsync costs about as much as writing many records. Forcing
+ * after every record would limit admissions to a few hundred per second.
+ * Instead, append() only queues the record, and a single flusher thread
+ * writes everything queued so far and forces it with ONE fsync:
+ *
+ *   append(a) append(b) append(c)        append(d) append(e)
+ *   '------- batch 1: write + fsync ---' '-- batch 2: write + fsync --'
+ *
+ * While one batch is being forced, new records collect for the next one,
+ * so the batch size grows with the load. Callers that must know their
+ * record is on disk call awaitDurable() with the sequence number that
+ * append() returned.
+ *
+ * COMPACTION: A log only grows. rewrite() replaces it with a minimal set
+ * of records (written to a temp file, forced, then renamed atomically).
+ *
+ * THREAD SAFETY: Thread-safe.
+ */
+public class WriteAheadLog implements Closeable {
+
+    private static final int RECORD_HEADER_SIZE = 8; // length + crc32
+
+    private final Path file;
+    private final Object lock = new Object();
+    private final List<byte[]> recovered;
+    private final Thread flusher;
+
+    // Guarded by lock
+    private FileChannel channel;
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private long appended;   // sequence number of the last queued record
+    private long durable;    // sequence number of the last forced record
+    private long syncCount;
+    private boolean flushing;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * Opens (or creates) a log file and reads back the records it holds.
+     *
+     * @param file The log file
+     * @throws IOException if the file cannot be opened or read
+     */
+    public WriteAheadLog(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file,
+            StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            this.recovered = Collections.unmodifiableList(recover());
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+
+        this.flusher = new Thread(this::flushLoop, "wal-flusher-" + file.getFileName());
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Returns the records that were in the log when it was opened,
+     * oldest first.
+     */
+    public List<byte[]> getRecoveredRecords() {
+        return recovered;
+    }
+
+    /**
+     * Queues a record for the next group commit. Does not wait for disk.
+     *
+     * @param record The record payload
+     * @return Sequence number of the record, for awaitDurable()
+     * @throws IOException if the log is closed or an earlier flush failed
+     */
+    public long append(byte[] record) throws IOException {
+        synchronized (lock) {
+            checkUsable();
+            writeFrame(pending, record);
+            appended++;
+            lock.notifyAll();
+            return appended;
+        }
+    }
+
+    /**
+     * Waits until a record (and every record before it) is on disk.
+     *
+     * @param sequence Sequence number returned by append()
+     * @throws IOException if the flush failed or the wait was interrupted
+     */
+    public void awaitDurable(long sequence) throws IOException {
+        synchronized (lock) {
+            while (durable < sequence && failure == null) {
+                if (closed && !flusher.isAlive()) {
+                    throw new IOException("Log closed before record " + sequence + " was written");
+                }
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the log");
+                }
+            }
+            if (durable < sequence) {
+                throw new IOException("Log flush failed", failure);
+            }
+        }
+    }
+
+    /**
+     * Waits until every record appended so far is on disk.
+     *
+     * @throws IOException if the flush failed
+     */
+    public void sync() throws IOException {
+        long target;
+        synchronized (lock) {
+            target = appended;
+        }
+        awaitDurable(target);
+    }
+
+    /**
+     * Replaces the whole log with the given records (compaction).
+     *
+     * Waits for queued records first. The new log is written to a temp
+     * file and renamed over the old one, so a crash leaves one of the two.
+     *
+     * @param records The records to keep, oldest first
+     * @throws IOException if the new log cannot be written
+     */
+    public void rewrite(Collection<byte[]> records) throws IOException {
+        synchronized (lock) {
+            checkUsable();
+            // Let the flusher finish everything queued, and keep it idle
+            // (it cannot take the lock) until the new channel is in place
+            while (flushing || pending.size() > 0) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while compacting the log");
+                }
+                checkUsable();
+            }
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            for (byte[] record : records) {
+                writeFrame(bytes, record);
+            }
+
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                writeFully(out, ByteBuffer.wrap(bytes.toByteArray()));
+                out.force(true);
+            }
+
+            channel.close();
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            channel.position(channel.size());
+        }
+    }
+
+    /**
+     * Returns how many fsyncs the log has done - with group commit this
+     * is usually far fewer than the number of records.
+     */
+    public long getSyncCount() {
+        synchronized (lock) {
+            return syncCount;
+        }
+    }
+
+    /**
+     * Writes out queued records, stops the flusher and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) return;
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (lock) {
+            channel.close();
+            if (failure != null) {
+                throw new IOException("Log flush failed", failure);
+            }
+        }
+    }
+
+    // ===== FLUSHER =====
+
+    private void flushLoop() {
+        while (true) {
+            byte[] batch;
+            long target;
+            FileChannel out;
+            synchronized (lock) {
+                while (pending.size() == 0 && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (pending.size() == 0) return; // closed and fully flushed
+
+                batch = pending.toByteArray();
+                pending = new ByteArrayOutputStream(batch.length);
+                target = appended;
+                out = channel;
+                flushing = true;
+            }
+
+            try {
+                writeFully(out, ByteBuffer.wrap(batch));
+                out.force(false);
+                synchronized (lock) {
+                    durable = target;
+                    syncCount++;
+                    flushing = false;
+                    lock.notifyAll();
+                }
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    flushing = false;
+                    lock.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    // ===== HELPERS =====
+
+    /**
+     * Reads every intact record and cuts off a torn or corrupt tail.
+     */
+    private List<byte[]> recover() throws IOException {
+        long size = channel.size();
+        ByteBuffer in = ByteBuffer.allocate((int) Math.min(size, Integer.MAX_VALUE));
+        while (in.hasRemaining() && channel.read(in, in.position()) >= 0) {
+            // keep reading
+        }
+        in.flip();
+
+        List<byte[]> records = new ArrayList<>();
+        while (in.remaining() >= RECORD_HEADER_SIZE) {
+            int start = in.position();
+            int length = in.getInt();
+            int crc = in.getInt();
+            if (length < 0 || length > in.remaining()) {
+                in.position(start);
+                break;
+            }
+            byte[] record = new byte[length];
+            in.get(record);
+            if (checksum(record) != crc) {
+                in.position(start);
+                break;
+            }
+            records.add(record);
+        }
+
+        long good = in.position();
+        if (good != size) {
+            channel.truncate(good);
+            channel.force(true);
+        }
+        channel.position(good);
+        return records;
+    }
+
+    private void checkUsable() throws IOException {
+        if (closed) throw new IOException("Log is closed");
+        if (failure != null) throw new IOException("Log flush failed", failure);
+    }
+
+    private static void writeFrame(ByteArrayOutputStream out, byte[] record) {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        header.putInt(record.length).putInt(checksum(record));
+        out.write(header.array(), 0, RECORD_HEADER_SIZE);
+        out.write(record, 0, record.length);
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private static int checksum(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        return (int) crc.getValue();
+    }
+}
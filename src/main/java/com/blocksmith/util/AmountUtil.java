@@ -0,0 +1,78 @@
+package com.blocksmith.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money: amounts are stored as whole numbers of the
+ * smallest unit, never as double.
+ *
+ * THEORY: double is binary floating point. Most decimal amounts
+ * (0.1, 0.2, 49.9...) have no exact binary form, so every addition
+ * rounds a little, and summing thousands of transactions drifts:
+ *
+ *   0.1 + 0.2 = 0.30000000000000004
+ *
+ * A balance must be exact. So we count in UNITS, where
+ * 1 coin = 10^AMOUNT_SCALE units (10^8, like Bitcoin's satoshi):
+ *
+ *   50 BSC   ->  5_000_000_000 units
+ *   0.1 BSC  ->     10_000_000 units
+ *
+ * Sums of longs are exact (and cheaper than boxing doubles). Doubles
+ * only appear at the edges: when a caller passes a decimal amount in,
+ * and when a balance is shown to a human.
+ *
+ * RANGE: A long holds up to ~92 billion coins at 8 decimals.
+ */
+public final class AmountUtil {
+
+    private AmountUtil() {
+        throw new UnsupportedOperationException("Utility class - cannot be instantiated");
+    }
+
+    /**
+     * Converts a coin amount to units.
+     *
+     * The decimal value is taken as written (0.1 stays exactly 0.1) and
+     * rounded half-even to AMOUNT_SCALE decimals.
+     *
+     * @param coins Amount in coins
+     * @return Amount in units
+     * @throws IllegalArgumentException if the amount is NaN, infinite or out of range
+     */
+    public static long toUnits(double coins) {
+        if (Double.isNaN(coins) || Double.isInfinite(coins)) {
+            throw new IllegalArgumentException("Amount must be a finite number, got " + coins);
+        }
+        try {
+            return BigDecimal.valueOf(coins)
+                .setScale(BlockchainConfig.AMOUNT_SCALE, RoundingMode.HALF_EVEN)
+                .unscaledValue()
+                .longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount out of range: " + coins, e);
+        }
+    }
+
+    /**
+     * Converts units to coins, for display and double-based APIs.
+     *
+     * @param units Amount in units
+     * @return Amount in coins
+     */
+    public static double toCoins(long units) {
+        return BigDecimal.valueOf(units, BlockchainConfig.AMOUNT_SCALE).doubleValue();
+    }
+
+    /**
+     * Formats units as a plain decimal string without trailing zeros
+     * (e.g. 5_010_000_000 -> "50.1").
+     *
+     * @param units Amount in units
+     * @return Decimal string in coins
+     */
+    public static String format(long units) {
+        return BigDecimal.valueOf(units, BlockchainConfig.AMOUNT_SCALE).stripTrailingZeros().toPlainString();
+    }
+}
@@ -1,5 +1,7 @@
 package com.blocksmith.util;
 
+import java.math.BigInteger;
+
 /**
  * Central configuration for the BlockSmith blockchain.
  * 
@@ -27,21 +29,108 @@ public final class BlockchainConfig {
     public static final int MINING_DIFFICULTY = 4;
 
     /**
-     * Reward given to miner for successfully mining a block.
+     * Number of threads used to search for a valid nonce.
+     * Defaults to one worker per available CPU core.
+     */
+    public static final int MINING_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of threads used to check block hashes during chain validation.
+     * Defaults to one worker per available CPU core.
+     */
+    public static final int VALIDATION_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of threads used to verify transaction signatures.
+     * Defaults to one worker per available CPU core.
+     */
+    public static final int VERIFICATION_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of threads used by Wallet.signTransactions() for large batches.
+     * Defaults to one worker per available CPU core.
+     */
+    public static final int SIGNING_THREADS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Number of verified transaction signatures remembered, so a
+     * transaction seen in the mempool is not verified again in a block.
+     */
+    public static final int SIGNATURE_CACHE_SIZE = 100_000;
+
+    /**
+     * Number of public keys remembered with their decoded form and
+     * address, so repeated senders skip both steps.
+     */
+    public static final int PUBLIC_KEY_CACHE_SIZE = 10_000;
+
+    /**
+     * Number of key pairs a WalletFactory generates ahead of time, so
+     * creating a wallet does not wait for key generation.
+     */
+    public static final int WALLET_POOL_SIZE = 256;
+
+    /**
+     * Number of decimal places in an amount.
+     * All amounts are stored as whole units of 10^-AMOUNT_SCALE coins
+     * (see AmountUtil). Bitcoin uses 8: 1 BTC = 100,000,000 satoshi.
+     */
+    public static final int AMOUNT_SCALE = 8;
+
+    /**
+     * Number of units in one coin (10^AMOUNT_SCALE).
+     * Derived from AMOUNT_SCALE so the two can never disagree.
+     */
+    public static final long UNITS_PER_COIN = BigInteger.TEN.pow(AMOUNT_SCALE).longValueExact();
+
+    /**
+     * Reward given to miner for successfully mining a block, in units (50 coins).
      * This is how new coins enter circulation.
     */
-    public static final double MINING_REWARD = 50.0;
+    public static final long MINING_REWARD = 50 * UNITS_PER_COIN;
+
+    /**
+     * Suggested fee for a standard transaction, in units (0.1 coin).
+     * Fees are optional, but the mempool mines higher fee rates first.
+     */
+    public static final long TRANSACTION_FEE = UNITS_PER_COIN / 10;
+
+    /**
+     * Maximum number of transactions held in the mempool.
+     * When full, the lowest fee-rate transactions are evicted.
+     */
+    public static final int MEMPOOL_MAX_TRANSACTIONS = 100_000;
+
+    /**
+     * Maximum number of transactions in one block (including coinbase).
+     * Bitcoin limits block size in bytes instead (4M weight units).
+     */
+    public static final int MAX_BLOCK_TRANSACTIONS = 2_000;
+
+    /**
+     * Number of recently used blocks kept decoded on the heap.
+     * Older blocks stay in the block store and are read back on demand.
+     */
+    public static final int BLOCK_CACHE_SIZE = 1_000;
+
+    /**
+     * Number of blocks whose Merkle tree levels are kept for generating
+     * inclusion proofs (about 64 bytes per transaction each).
+     */
+    public static final int MERKLE_LEVELS_CACHE_SIZE = 64;
 
     /**
-     * Optional transaction fee (for future implementation)
+     * A persisted chain writes a state snapshot every this many blocks
+     * (and on close), so a restart only replays the blocks after it.
      */
-    public static final double TRANSACTION_FEE = 0.1;
+    public static final int SNAPSHOT_INTERVAL = 1_000;
 
     /**
      * Previous hash value for the Genesis block.
-     * Since Genesis has no predecessor, we use "0".
+     * Since Genesis has no predecessor, we use the all-zero hash
+     * (64 hex zeros, like Bitcoin's genesis block).
     */
-    public static final String GENESIS_PREV_HASH = "0";
+    public static final String GENESIS_PREV_HASH = "0".repeat(64);
 
     /**
      * Address used as sender for mining reward transactions.
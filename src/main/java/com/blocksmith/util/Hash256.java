@@ -0,0 +1,220 @@
+package com.blocksmith.util;
+
+/**
+ * Immutable 32-byte hash value (block hashes, Merkle roots, transaction IDs).
+ *
+ * THEORY: A SHA-256 hash is just 256 bits. Storing it as a 64-character
+ * hex String costs ~100 bytes of heap (String object + byte array) and
+ * every comparison walks up to 64 characters. Hash256 stores the same
+ * 256 bits as four longs:
+ *
+ *   bytes  0..7   -> w0     (most significant, big-endian)
+ *   bytes  8..15  -> w1
+ *   bytes 16..23  -> w2
+ *   bytes 24..31  -> w3
+ *
+ * BENEFITS:
+ * - Compact: 48 bytes per hash instead of ~104
+ * - Fast equals: four long comparisons
+ * - Fast hashCode: SHA-256 output is already uniformly random, so the
+ *   first word is a perfectly good hash code - nothing to compute
+ * - Hex is only rendered when someone asks for it (and then cached)
+ *
+ * BITCOIN: Bitcoin Core uses the same idea - uint256 is a fixed 32-byte
+ * array, and hex is only produced for display and RPC.
+ */
+public final class Hash256 implements Comparable<Hash256> {
+
+    /** Number of bytes in a hash. */
+    public static final int SIZE = 32;
+
+    /** The all-zero hash (used as the Genesis block's previous hash). */
+    public static final Hash256 ZERO = new Hash256(0, 0, 0, 0);
+
+    private final long w0;
+    private final long w1;
+    private final long w2;
+    private final long w3;
+
+    // Lazily rendered hex form. Benign race: every thread computes the same String.
+    private transient String hex;
+
+    private Hash256(long w0, long w1, long w2, long w3) {
+        this.w0 = w0;
+        this.w1 = w1;
+        this.w2 = w2;
+        this.w3 = w3;
+    }
+
+    /**
+     * Creates a hash from 32 bytes.
+     *
+     * @param bytes Exactly 32 bytes
+     * @return The hash value
+     * @throws IllegalArgumentException if bytes is not 32 bytes long
+     */
+    public static Hash256 fromBytes(byte[] bytes) {
+        if (bytes.length != SIZE) {
+            throw new IllegalArgumentException("Hash256 needs 32 bytes, got " + bytes.length);
+        }
+        return fromBytes(bytes, 0);
+    }
+
+    /**
+     * Creates a hash from 32 bytes starting at an offset.
+     *
+     * @param bytes Source array
+     * @param offset Index of the first byte
+     * @return The hash value
+     */
+    public static Hash256 fromBytes(byte[] bytes, int offset) {
+        return new Hash256(
+            readLong(bytes, offset),
+            readLong(bytes, offset + 8),
+            readLong(bytes, offset + 16),
+            readLong(bytes, offset + 24));
+    }
+
+    /**
+     * Parses a 64-character hex string.
+     *
+     * @param hex Hex digest (upper or lower case)
+     * @return The hash value
+     * @throws IllegalArgumentException if hex is not a 64-character hex string
+     */
+    public static Hash256 fromHex(String hex) {
+        if (hex == null || hex.length() != SIZE * 2) {
+            throw new IllegalArgumentException("Hash256 needs 64 hex characters, got: " + hex);
+        }
+        return fromBytes(HashUtil.hexToBytes(hex), 0);
+    }
+
+    /**
+     * SHA-256 of a string's UTF-8 bytes, as a Hash256.
+     *
+     * @param text Text to hash
+     * @return The hash value
+     */
+    public static Hash256 sha256(String text) {
+        byte[] digest = new byte[SIZE];
+        HashUtil.sha256(text, digest);
+        return fromBytes(digest, 0);
+    }
+
+    /**
+     * Hashes raw bytes with SHA-256.
+     *
+     * @param data The bytes to hash
+     * @return The SHA-256 digest
+     */
+    public static Hash256 sha256(byte[] data) {
+        byte[] digest = new byte[SIZE];
+        HashUtil.sha256(data, 0, data.length, digest, 0);
+        return fromBytes(digest, 0);
+    }
+
+    /**
+     * Copies the 32 hash bytes into an array.
+     *
+     * @param dest Destination array
+     * @param offset Index where the first byte is written
+     */
+    public void writeTo(byte[] dest, int offset) {
+        writeLong(dest, offset, w0);
+        writeLong(dest, offset + 8, w1);
+        writeLong(dest, offset + 16, w2);
+        writeLong(dest, offset + 24, w3);
+    }
+
+    /**
+     * Returns the hash as a new 32-byte array.
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[SIZE];
+        writeTo(bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * Returns the 64-character lowercase hex form (rendered once, then cached).
+     */
+    public String toHex() {
+        String result = hex;
+        if (result == null) {
+            result = HashUtil.bytesToHex(toBytes());
+            hex = result;
+        }
+        return result;
+    }
+
+    /**
+     * Counts leading zero bits, reading the words directly.
+     *
+     * @return Number of leading zero bits (0-256)
+     */
+    public int leadingZeroBits() {
+        if (w0 != 0) return Long.numberOfLeadingZeros(w0);
+        if (w1 != 0) return 64 + Long.numberOfLeadingZeros(w1);
+        if (w2 != 0) return 128 + Long.numberOfLeadingZeros(w2);
+        return 192 + Long.numberOfLeadingZeros(w3);
+    }
+
+    /**
+     * Checks whether this hash meets a Proof-of-Work difficulty
+     * (difficulty N = N leading hex zeros = 4*N leading zero bits).
+     *
+     * @param difficulty Number of leading hex zeros required
+     * @return true if the hash is valid at this difficulty
+     */
+    public boolean meetsDifficulty(int difficulty) {
+        return leadingZeroBits() >= difficulty * 4;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Hash256)) return false;
+        Hash256 other = (Hash256) o;
+        return w0 == other.w0 && w1 == other.w1 && w2 == other.w2 && w3 == other.w3;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(w0);
+    }
+
+    /**
+     * Orders hashes as unsigned 256-bit big-endian numbers
+     * (the same order as comparing their hex strings).
+     */
+    @Override
+    public int compareTo(Hash256 other) {
+        int cmp = Long.compareUnsigned(w0, other.w0);
+        if (cmp != 0) return cmp;
+        cmp = Long.compareUnsigned(w1, other.w1);
+        if (cmp != 0) return cmp;
+        cmp = Long.compareUnsigned(w2, other.w2);
+        if (cmp != 0) return cmp;
+        return Long.compareUnsigned(w3, other.w3);
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static void writeLong(byte[] bytes, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            bytes[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.blocksmith.util;
 
 import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 
@@ -21,6 +22,15 @@ import java.security.NoSuchAlgorithmException;
 public final class HashUtil {
     private static final char[] HEX_ARRAY = "0123456789abcdef".toCharArray();
 
+    /** Size of a SHA-256 hash in bytes. */
+    public static final int HASH_LENGTH = 32;
+
+    /**
+     * Per-thread hashing state: one digest and one text buffer per thread.
+     * MessageDigest is not thread-safe, so each thread gets its own.
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
     // private constructor to prevent instantiation of utility class
     private HashUtil() {
         throw new UnsupportedOperationException("Utility class - cannot be instantiated");
@@ -34,15 +44,201 @@ public final class HashUtil {
      * @throws RuntimeException if SHA-256 algorithm is not available
      */ 
     public static String applySha256(String input) {
+        byte[] hash = new byte[HASH_LENGTH];
+        sha256(input, hash);
+        return bytesToHex(hash);
+    }
+
+    /**
+     * Applies SHA-256 to the UTF-8 bytes of a string, writing raw bytes.
+     * 
+     * PERFORMANCE: ASCII strings (hex hashes, addresses, numbers) are
+     * encoded into a reusable per-thread buffer, so no input byte[] is
+     * allocated. Other strings fall back to String.getBytes().
+     * 
+     * @param input The string to hash
+     * @param out Buffer receiving the 32-byte hash
+     */
+    public static void sha256(String input, byte[] out) {
+        int length = input.length();
+        byte[] text = SCRATCH.get().text(length);
+
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            if (c >= 0x80) {
+                byte[] utf8 = input.getBytes(StandardCharsets.UTF_8);
+                sha256(utf8, 0, utf8.length, out, 0);
+                return;
+            }
+            text[i] = (byte) c;
+        }
+        sha256(text, 0, length, out, 0);
+    }
+
+    /**
+     * Applies SHA-256 to raw bytes.
+     * 
+     * @param input The bytes to hash
+     * @return 32-byte hash
+     */
+    public static byte[] sha256(byte[] input) {
+        byte[] out = new byte[HASH_LENGTH];
+        sha256(input, 0, input.length, out, 0);
+        return out;
+    }
+
+    /**
+     * Applies SHA-256 to a slice of a byte array, writing into a buffer.
+     * 
+     * @param in Input bytes
+     * @param off Offset of the first input byte
+     * @param len Number of input bytes
+     * @param out Buffer receiving the 32-byte hash at index 0
+     */
+    public static void sha256(byte[] in, int off, int len, byte[] out) {
+        sha256(in, off, len, out, 0);
+    }
+
+    /**
+     * Applies SHA-256 to a slice of a byte array, writing into a buffer.
+     * 
+     * THEORY: This is the allocation-free core of HashUtil. It reuses a
+     * per-thread MessageDigest (MessageDigest.getInstance() is a provider
+     * lookup - far too slow to do per hash) and writes straight into the
+     * caller's buffer, so hashing creates no garbage at all.
+     * 
+     * @param in Input bytes
+     * @param off Offset of the first input byte
+     * @param len Number of input bytes
+     * @param out Output buffer
+     * @param outOff Offset in out where the 32-byte hash is written
+     */
+    public static void sha256(byte[] in, int off, int len, byte[] out, int outOff) {
+        MessageDigest digest = SCRATCH.get().digest;
+        digest.update(in, off, len);
+        try {
+            digest.digest(out, outOff, HASH_LENGTH);
+        } catch (DigestException e) {
+            digest.reset();
+            throw new IllegalArgumentException("Output buffer too small for SHA-256 hash", e);
+        }
+    }
+
+    /**
+     * Applies SHA-256 twice: SHA-256(SHA-256(input)).
+     * 
+     * BITCOIN: Block hashes, transaction IDs and Merkle nodes are all
+     * double-SHA-256. Hashing twice protects against length-extension
+     * attacks on the outer hash.
+     * 
+     * @param in Input bytes
+     * @param off Offset of the first input byte
+     * @param len Number of input bytes
+     * @param out Buffer receiving the 32-byte hash at index 0
+     */
+    public static void doubleSha256(byte[] in, int off, int len, byte[] out) {
+        sha256(in, off, len, out, 0);
+        sha256(out, 0, HASH_LENGTH, out, 0);
+    }
+
+    /**
+     * Applies SHA-256 twice: SHA-256(SHA-256(input)).
+     * 
+     * @param input The bytes to hash
+     * @return 32-byte hash
+     */
+    public static byte[] doubleSha256(byte[] input) {
+        byte[] out = new byte[HASH_LENGTH];
+        doubleSha256(input, 0, input.length, out);
+        return out;
+    }
+
+    /**
+     * Creates a new SHA-256 MessageDigest.
+     * 
+     * Callers that hash in a tight loop (e.g. mining) should create one
+     * digest up front and reuse it, instead of looking one up per hash.
+     * 
+     * @return A fresh SHA-256 digest
+     * @throws RuntimeException if SHA-256 algorithm is not available
+     */
+    public static MessageDigest newSha256Digest() {
         try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(input.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hashBytes);           
+            return MessageDigest.getInstance("SHA-256");
         } catch (NoSuchAlgorithmException e) {
             throw new RuntimeException("SHA-256 algorithm not available", e);
         }
     }
 
+    /**
+     * Checks whether a raw hash meets a Proof-of-Work difficulty.
+     * 
+     * THEORY: Difficulty N means "N leading hex zeros". Each hex digit is
+     * 4 bits, so this is the same as "4*N leading zero BITS". Checking the
+     * bits directly lets miners skip converting every attempt to hex.
+     * 
+     * EXAMPLE (difficulty 3 = 12 zero bits):
+     *   00 0f ...  -> 0000 0000 0000 1111 -> valid   ("000f...")
+     *   00 1f ...  -> 0000 0000 0001 1111 -> invalid ("001f...")
+     * 
+     * @param hash Raw hash bytes
+     * @param difficulty Number of leading hex zeros required
+     * @return true if the hash has at least 4*difficulty leading zero bits
+     */
+    public static boolean meetsDifficulty(byte[] hash, int difficulty) {
+        int zeroBits = difficulty * 4;
+        int fullBytes = zeroBits / 8;
+        if (fullBytes > hash.length) return false;
+
+        for (int i = 0; i < fullBytes; i++) {
+            if (hash[i] != 0) return false;
+        }
+
+        int remainingBits = zeroBits % 8;
+        if (remainingBits == 0) return true;
+        if (fullBytes == hash.length) return false;
+
+        return (hash[fullBytes] & 0xFF) >>> (8 - remainingBits) == 0;
+    }
+
+    /**
+     * Checks whether a string is a 64-character lowercase hex digest.
+     * 
+     * @param value The string to check
+     * @return true if value looks like a SHA-256 hex hash
+     */
+    public static boolean isHexDigest(String value) {
+        if (value == null || value.length() != 64) return false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Converts a hexadecimal string back to bytes.
+     * 
+     * @param hex Hex string with an even number of characters
+     * @return Decoded bytes
+     * @throws IllegalArgumentException if the string is not valid hex
+     */
+    public static byte[] hexToBytes(String hex) {
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("Hex string must have an even length");
+        }
+        byte[] bytes = new byte[hex.length() / 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("Invalid hex character in: " + hex);
+            }
+            bytes[i] = (byte) ((high << 4) | low);
+        }
+        return bytes;
+    }
+
     /**
      * Converts byte array to hexadecimal string.
      * 
@@ -52,7 +248,7 @@ public final class HashUtil {
      * @param bytes The byte array to convert
      * @return Hexadecimal string representation
      */
-    private static String bytesToHex(byte[] bytes) {
+    public static String bytesToHex(byte[] bytes) {
         char[] hexChars = new char[bytes.length * 2];
         for (int whyItIsAlwaysIHere = 0; whyItIsAlwaysIHere < bytes.length; whyItIsAlwaysIHere++) {
             int v = bytes[whyItIsAlwaysIHere] & 0xFF; // Convert byte to unsigned int
@@ -61,4 +257,39 @@ public final class HashUtil {
         }
         return new String(hexChars);
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes bytes as lowercase hex ASCII into a byte array.
+     * 
+     * Same characters as bytesToHex(), but without creating a String -
+     * for code that hashes hex text (Merkle nodes, addresses).
+     * 
+     * @param in Input bytes
+     * @param off Offset of the first input byte
+     * @param len Number of input bytes
+     * @param out Output buffer (receives 2 * len bytes)
+     * @param outOff Offset in out of the first hex character
+     */
+    public static void writeHex(byte[] in, int off, int len, byte[] out, int outOff) {
+        for (int i = 0; i < len; i++) {
+            int v = in[off + i] & 0xFF;
+            out[outOff + i * 2] = (byte) HEX_ARRAY[v >>> 4];
+            out[outOff + i * 2 + 1] = (byte) HEX_ARRAY[v & 0x0F];
+        }
+    }
+
+    /**
+     * Reusable per-thread buffers for the allocation-free hashing API.
+     */
+    private static final class Scratch {
+        private final MessageDigest digest = newSha256Digest();
+        private byte[] text = new byte[256];
+
+        private byte[] text(int length) {
+            if (text.length < length) {
+                text = new byte[Math.max(length, text.length * 2)];
+            }
+            return text;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.Hash256;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the binary block encoding used by the block store.
+ */
+@DisplayName("BlockCodec Tests")
+public class BlockCodecTest {
+
+    @Test
+    @DisplayName("Block with a signed transaction should survive a round trip")
+    void decode_encodedBlock_restoresBlock() {
+        Wallet wallet = new Wallet();
+        Transaction tx = new Transaction(wallet.getAddress(), "Bob", 1.5, 0.1);
+        wallet.signTransaction(tx);
+        Transaction reward = Transaction.ofUnits("COINBASE", "Miner", 5_000_000_000L, 0);
+
+        Block block = new Block(3, List.of(reward, tx), Hash256.sha256("parent"));
+        block.mineBlock(1);
+
+        Block restored = BlockCodec.decode(BlockCodec.encode(block));
+
+        assertEquals(block.getIndex(), restored.getIndex(), "Index should be restored");
+        assertEquals(block.getTimestamp(), restored.getTimestamp(), "Timestamp should be restored");
+        assertEquals(block.getNonce(), restored.getNonce(), "Nonce should be restored");
+        assertEquals(block.getHashValue(), restored.getHashValue(), "Hash should be restored");
+        assertEquals(block.getMerkleRootValue(), restored.getMerkleRootValue(), "Merkle root should be restored");
+        assertEquals(block.getHashValue(), restored.calculateHashValue(), "Restored block should hash the same");
+
+        Transaction restoredTx = restored.getTransactions().get(1);
+        assertEquals(tx.getTransactionIdValue(), restoredTx.getTransactionIdValue(), "Transaction ID should be restored");
+        assertEquals(tx.getAmountUnits(), restoredTx.getAmountUnits(), "Amount should be restored");
+        assertEquals(tx.getFeeUnits(), restoredTx.getFeeUnits(), "Fee should be restored");
+        assertTrue(restoredTx.verifySignature(), "Restored signature should still verify");
+        assertNull(restored.getTransactions().get(0).getSignature(), "Unsigned coinbase should stay unsigned");
+    }
+
+    @Test
+    @DisplayName("Truncated or padded input should be rejected")
+    void decode_invalidLength_throwsException() {
+        Block block = new Block(1, "data", Hash256.ZERO);
+        byte[] encoded = BlockCodec.encode(block);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> BlockCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)), "Truncated input");
+        assertThrows(IllegalArgumentException.class,
+            () -> BlockCodec.decode(Arrays.copyOf(encoded, encoded.length + 1)), "Trailing bytes");
+    }
+}
@@ -2,6 +2,9 @@ package com.blocksmith.core;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.blocksmith.util.Hash256;
+import com.blocksmith.util.HashUtil;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
@@ -16,11 +19,12 @@ public class BlockTest {
     @Test
     @DisplayName("Block should be created with correct properties")
     void testBlockCreation() {
-        Block block = new Block(1, "Test data", "previous-hash-123");
+        String previousHash = HashUtil.applySha256("previous-block");
+        Block block = new Block(1, "Test data", previousHash);
 
         assertEquals(1, block.getIndex(), "Index should match");
         assertEquals("Test data", block.getData(), "Data should match");
-        assertEquals("previous-hash-123", block.getPreviousHash(), "Previous hash should match");
+        assertEquals(previousHash, block.getPreviousHash(), "Previous hash should match");
         assertNotNull(block.getHash(), "Hash should not be null");
         assertTrue(block.getTimestamp() > 0, "Timestamp should be greater than 0");        
     }
@@ -47,7 +51,7 @@ public class BlockTest {
     void testGenesisBlock() {
         Block genesis = Block.createGenesisBlock();
         assertEquals(0, genesis.getIndex(), "Index should be 0");
-        assertEquals("0", genesis.getPreviousHash(), "Previous hash should be 0");
+        assertEquals(Hash256.ZERO, genesis.getPreviousHashValue(), "Previous hash should be all zeros");
         assertNotNull(genesis.getHash(), "Hash should not be null");
         assertTrue(genesis.getData().contains("Genesis"), "Genesis block should contain 'Genesis' in data");
     }
@@ -126,6 +130,36 @@ public class BlockTest {
         assertEquals(1, block.getTransactionCount(), "Transaction count should be 1");  // Original unchanged
     }
     
+    @Test
+    @DisplayName("Block getTransactionsView should be read-only and not copy")
+    void getTransactionsViewShouldBeReadOnlyWithoutCopy() {
+        List<Transaction> transactions = new ArrayList<>();
+        transactions.add(new Transaction("Alice", "Bob", 50.0));
+        Block block = new Block(1, transactions, "prev-hash");
+
+        List<Transaction> view = block.getTransactionsView();
+
+        assertSame(view, block.getTransactionsView(), "Every call should return the same view");
+        assertThrows(UnsupportedOperationException.class, view::clear, "View should be read-only");
+        assertSame(transactions.get(0), view.get(0), "View should hold the block's transactions");
+    }
+
+    @Test
+    @DisplayName("Block indexed and visitor access should match the transaction list")
+    void getTransactionAndForEachShouldMatchTransactions() {
+        List<Transaction> transactions = new ArrayList<>();
+        transactions.add(new Transaction("Alice", "Bob", 50.0));
+        transactions.add(new Transaction("Bob", "Carol", 20.0));
+        Block block = new Block(1, transactions, "prev-hash");
+
+        List<Transaction> visited = new ArrayList<>();
+        block.forEachTransaction(visited::add);
+
+        assertEquals(transactions, visited, "Visitor should see every transaction in order");
+        assertSame(transactions.get(1), block.getTransaction(1), "Indexed access should return the transaction");
+        assertThrows(IndexOutOfBoundsException.class, () -> block.getTransaction(2), "No third transaction");
+    }
+
     @Test
     @DisplayName("Genesis block should have empty transaction list")
     void genesisBlockShouldHaveEmptyTransactionList() {
@@ -143,4 +177,44 @@ public class BlockTest {
         assertNotNull(genesis.getMerkleRoot(), "Merkle root should not be null");
         assertEquals(64, genesis.getMerkleRoot().length(), "Merkle root should be 64 characters long");
     }
+
+    // ===== BINARY HEADER TESTS =====
+
+    @Test
+    @DisplayName("Encoded header should be 80 bytes")
+    void encodeHeader_anyBlock_is80Bytes() {
+        Block block = new Block(1, "Test data", "previous-hash-123");
+
+        byte[] header = BlockHeader.encode(block, block.getNonce());
+
+        assertEquals(BlockHeader.HEADER_SIZE, header.length, "Header should be 80 bytes");
+    }
+
+    @Test
+    @DisplayName("writeNonce should only change the last 4 header bytes")
+    void writeNonce_newNonce_changesOnlyNonceField() {
+        Block block = new Block(1, "Test data", "previous-hash-123");
+        byte[] original = BlockHeader.encode(block, 0);
+        byte[] patched = original.clone();
+
+        BlockHeader.writeNonce(patched, 0x01020304);
+
+        assertArrayEquals(
+            java.util.Arrays.copyOf(original, BlockHeader.NONCE_OFFSET),
+            java.util.Arrays.copyOf(patched, BlockHeader.NONCE_OFFSET),
+            "Bytes before the nonce should be unchanged");
+        assertArrayEquals(BlockHeader.encode(block, 0x01020304), patched,
+            "Patched header should match a freshly encoded header");
+    }
+
+    @Test
+    @DisplayName("Block hash should be SHA-256 of the binary header")
+    void calculateHash_anyBlock_matchesHeaderDigest() {
+        Block block = new Block(1, "Test data", "previous-hash-123");
+
+        String expected = com.blocksmith.util.HashUtil.bytesToHex(
+            com.blocksmith.util.HashUtil.sha256(BlockHeader.encode(block, block.getNonce())));
+
+        assertEquals(expected, block.calculateHash(), "Hash should be computed over the 80-byte header");
+    }
 }
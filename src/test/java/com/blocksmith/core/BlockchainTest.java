@@ -1,9 +1,18 @@
 package com.blocksmith.core;
 
+import com.blocksmith.storage.StateSnapshot;
+import com.blocksmith.storage.WriteAheadLog;
 import com.blocksmith.util.BlockchainConfig;
+import com.blocksmith.util.Hash256;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,7 +45,7 @@ public class BlockchainTest {
         Block genesis = blockchain.getBlock(0);
         assertEquals(0, genesis.getIndex(), "Genesis block index should be 0");
         assertEquals(BlockchainConfig.GENESIS_PREV_HASH, genesis.getPreviousHash(), 
-                "Genesis block previous hash should be '0'");
+                "Genesis block previous hash should be all zeros");
     }
 
     @Test
@@ -138,7 +147,7 @@ public class BlockchainTest {
         try {
             java.lang.reflect.Field merkleField = Block.class.getDeclaredField("merkleRoot");
             merkleField.setAccessible(true);
-            merkleField.set(block1, "HACKED_MERKLE_ROOT_12345678901234567890123456789012");
+            merkleField.set(block1, Hash256.sha256("HACKED_MERKLE_ROOT"));
         } catch (Exception e) {
             fail("Reflection failed: " + e.getMessage());
         }
@@ -157,7 +166,7 @@ public class BlockchainTest {
         try {
             java.lang.reflect.Field prevHashField = Block.class.getDeclaredField("previousHash");
             prevHashField.setAccessible(true);
-            prevHashField.set(block2, "0000fake_previous_hash");
+            prevHashField.set(block2, Hash256.sha256("fake_previous_hash"));
         } catch (Exception e) {
             fail("Reflection failed: " + e.getMessage());
         }
@@ -165,6 +174,27 @@ public class BlockchainTest {
         assertFalse(blockchain.isChainValid(), "Chain with broken link should be invalid");
     }
 
+    @Test
+    @DisplayName("Later validations should only check new blocks")
+    void isChainValidShouldOnlyCheckBlocksAfterWatermark() {
+        blockchain.addBlock("Block 1");
+        assertTrue(blockchain.isChainValid(), "Chain should be valid");
+
+        // Tamper with an already validated block, then append a new one
+        try {
+            java.lang.reflect.Field merkleField = Block.class.getDeclaredField("merkleRoot");
+            merkleField.setAccessible(true);
+            merkleField.set(blockchain.getBlock(1), Hash256.sha256("HACKED_MERKLE_ROOT"));
+        } catch (Exception e) {
+            fail("Reflection failed: " + e.getMessage());
+        }
+        blockchain.addBlock("Block 2");
+
+        assertTrue(blockchain.isChainValid(), "Incremental check should skip already validated blocks");
+        assertFalse(blockchain.validateFullChain(), "Full re-validation should catch the tampering");
+        assertFalse(blockchain.isChainValid(), "Watermark should be reset after a failed full validation");
+    }
+
     // ===== TRANSACTION POOL TESTS =====
 
     @Test
@@ -210,6 +240,21 @@ public class BlockchainTest {
         assertEquals(0, blockchain.getPendingCount(), "Pending pool should be empty");
     }
     
+    @Test
+    @DisplayName("Mined block's incremental Merkle root should match its transactions")
+    void minePendingTransactions_incrementalRoot_matchesTransactions() {
+        blockchain.minePendingTransactions("Miner1");
+        for (int i = 0; i < 5; i++) {
+            blockchain.addTransaction(new Transaction("Miner1", "Bob" + i, 1.0 + i));
+        }
+
+        Block minedBlock = blockchain.minePendingTransactions("Miner2");
+
+        assertEquals(MerkleTree.computeRoot(minedBlock.getTransactions()), minedBlock.getMerkleRootValue(),
+            "Template root from the mempool should equal a full rebuild");
+        assertEquals(6, minedBlock.getTransactionCount(), "Whole pool should be mined");
+    }
+
     @Test
     @DisplayName("minePendingTransactions should include mining reward")
     void minePendingTransactionsShouldIncludeReward() {
@@ -310,6 +355,35 @@ public class BlockchainTest {
         assertEquals(1, blockchain.getPendingCount(), "Only first transaction should be pending");
     }
 
+    @Test
+    @DisplayName("Mining should reset pending outgoing amounts")
+    void shouldResetPendingOutgoingAfterMining() {
+        Blockchain blockchain = new Blockchain();
+        blockchain.minePendingTransactions("Miner1");
+
+        assertTrue(blockchain.addTransaction(new Transaction("Miner1", "Alice", 40.0)));
+        blockchain.minePendingTransactions("Miner2");
+
+        // Miner1 now has 10 confirmed and nothing pending
+        assertTrue(blockchain.addTransaction(new Transaction("Miner1", "Bob", 10.0)),
+            "Mined transactions should no longer count as pending");
+        assertFalse(blockchain.addTransaction(new Transaction("Miner1", "Bob", 0.5)),
+            "New pending amount should count against the balance");
+    }
+
+    @Test
+    @DisplayName("Pending outgoing amounts should be tracked per sender")
+    void shouldTrackPendingOutgoingPerSender() {
+        Blockchain blockchain = new Blockchain();
+        blockchain.minePendingTransactions("Miner1");
+        blockchain.minePendingTransactions("Miner2");
+
+        assertTrue(blockchain.addTransaction(new Transaction("Miner1", "Alice", 50.0)));
+
+        assertTrue(blockchain.addTransaction(new Transaction("Miner2", "Alice", 50.0)),
+            "Another sender's pending amount should not affect Miner2");
+    }
+
     @Test
     @DisplayName("Should allow multiple transactions within balance")
     void shouldAllowMultipleTransactionsWithinBalance() {
@@ -328,4 +402,403 @@ public class BlockchainTest {
         assertEquals(3, blockchain.getPendingCount(), "All 3 transactions should be pending");
     }
 
+    // ===== BALANCE INDEX TESTS =====
+
+    @Test
+    @DisplayName("Indexed balances should match a full chain scan")
+    void balanceIndexShouldMatchFullChainScan() {
+        blockchain.minePendingTransactions("Miner1");
+        blockchain.addTransaction(new Transaction("Miner1", "Alice", 12.5));
+        blockchain.addTransaction(new Transaction("Miner1", "Bob", 7.25));
+        blockchain.minePendingTransactions("Alice");
+        blockchain.addTransaction(new Transaction("Alice", "Bob", 30.0));
+        blockchain.minePendingTransactions("Miner1");
+
+        for (String address : new String[] {"Miner1", "Alice", "Bob", "COINBASE"}) {
+            assertEquals(scanBalance(address), blockchain.getBalanceUnits(address), 
+                "Indexed balance should match scan for " + address);
+        }
+    }
+
+    @Test
+    @DisplayName("Unknown address should have zero balance")
+    void unknownAddressShouldHaveZeroBalance() {
+        blockchain.minePendingTransactions("Miner1");
+
+        assertEquals(0.0, blockchain.getBalance("Nobody"), "Unknown address should have balance 0");
+    }
+
+    @Test
+    @DisplayName("Sending to yourself should not change balance")
+    void selfTransferShouldNotChangeBalance() {
+        blockchain.minePendingTransactions("Miner1");
+        blockchain.addTransaction(new Transaction("Miner1", "Miner1", 10.0));
+        blockchain.minePendingTransactions("Miner2");
+
+        assertEquals(50.0, blockchain.getBalance("Miner1"), 0.001, "Self-transfer should net to zero");
+    }
+
+    @Test
+    @DisplayName("Fees should move from sender to miner")
+    void feesShouldMoveFromSenderToMiner() {
+        blockchain.minePendingTransactions("Miner1");
+        blockchain.addTransaction(new Transaction("Miner1", "Alice", 10.0, 0.5));
+        Block block = blockchain.minePendingTransactions("Miner2");
+
+        assertEquals(39.5, blockchain.getBalance("Miner1"), 0.001, "Sender pays amount + fee");
+        assertEquals(10.0, blockchain.getBalance("Alice"), 0.001, "Recipient gets the amount");
+        assertEquals(50.5, blockchain.getBalance("Miner2"), 0.001, "Miner gets reward + fee");
+        assertEquals(50.5, block.getTransactions().get(0).getAmount(), 0.001, "Coinbase should include fees");
+    }
+
+    @Test
+    @DisplayName("Balance check should include the fee")
+    void balanceCheckShouldIncludeFee() {
+        blockchain.minePendingTransactions("Miner1");
+
+        assertFalse(blockchain.addTransaction(new Transaction("Miner1", "Alice", 50.0, 0.1)),
+            "Amount + fee above balance should be rejected");
+        assertTrue(blockchain.addTransaction(new Transaction("Miner1", "Alice", 49.9, 0.1)),
+            "Amount + fee equal to balance should be accepted");
+    }
+
+    @Test
+    @DisplayName("Pending transactions should be listed by fee")
+    void pendingTransactionsShouldBeOrderedByFee() {
+        blockchain.minePendingTransactions("Miner1");
+        Transaction cheap = new Transaction("Miner1", "Alice", 1.0, 0.01);
+        Transaction rich = new Transaction("Miner1", "Bob", 1.0, 1.0);
+        blockchain.addTransaction(cheap);
+        blockchain.addTransaction(rich);
+
+        assertEquals(rich, blockchain.getPendingTransactions().get(0), "Highest fee should come first");
+    }
+
+    @Test
+    @DisplayName("Many small transfers should add up exactly")
+    void smallTransfersShouldAddUpExactly() {
+        blockchain.minePendingTransactions("Miner1");
+        for (int i = 0; i < 10; i++) {
+            blockchain.addTransaction(new Transaction("Miner1", "Alice" + i, 0.1));
+        }
+        blockchain.minePendingTransactions("Miner2");
+
+        assertEquals(49.0, blockchain.getBalance("Miner1"), "50 - 10 x 0.1 should be exactly 49.0");
+        assertEquals(0.1, blockchain.getBalance("Alice9"), "Each recipient should have exactly 0.1");
+    }
+
+    // ===== LOOKUP INDEX TESTS =====
+
+    @Test
+    @DisplayName("Blocks should be found by hash")
+    void getBlockByHashShouldFindEveryBlock() {
+        blockchain.addBlock("Block 1");
+        blockchain.minePendingTransactions("Miner1");
+
+        for (Block block : blockchain.getChain()) {
+            assertSame(block, blockchain.getBlockByHash(block.getHashValue()), "Block should be found by its hash");
+            assertEquals(block.getIndex(), blockchain.getBlockHeight(block.getHashValue()), "Height should match index");
+        }
+    }
+
+    @Test
+    @DisplayName("Unknown block hash should not be found")
+    void getBlockByHashShouldReturnNullForUnknownHash() {
+        Hash256 unknown = Hash256.sha256("no such block");
+
+        assertNull(blockchain.getBlockByHash(unknown), "Unknown hash should return null");
+        assertEquals(-1, blockchain.getBlockHeight(unknown), "Unknown hash should have height -1");
+        assertFalse(blockchain.containsBlock(unknown), "Unknown hash should not be contained");
+    }
+
+    @Test
+    @DisplayName("Confirmed transactions should be found by ID")
+    void findTransactionShouldLocateConfirmedTransactions() {
+        blockchain.minePendingTransactions("Miner1");
+        Transaction tx = new Transaction("Miner1", "Alice", 5.0);
+        blockchain.addTransaction(tx);
+        Block block = blockchain.minePendingTransactions("Miner2");
+
+        TransactionLocation location = blockchain.findTransaction(tx.getTransactionIdValue());
+
+        assertNotNull(location, "Mined transaction should be indexed");
+        assertEquals(block.getIndex(), location.getBlockHeight(), "Should point to the mining block");
+        assertEquals(1, location.getPosition(), "Should come right after the coinbase");
+        assertSame(tx, blockchain.getTransaction(tx.getTransactionIdValue()), "Should return the same transaction");
+    }
+
+    @Test
+    @DisplayName("Pending transactions should not be in the transaction index")
+    void findTransactionShouldIgnorePendingTransactions() {
+        blockchain.minePendingTransactions("Miner1");
+        Transaction tx = new Transaction("Miner1", "Alice", 5.0);
+        blockchain.addTransaction(tx);
+
+        assertNull(blockchain.findTransaction(tx.getTransactionIdValue()), "Pending transaction is not confirmed");
+        assertNull(blockchain.getTransaction(tx.getTransactionIdValue()), "Pending transaction is not confirmed");
+    }
+
+    @Test
+    @DisplayName("getMerkleProof should prove a confirmed transaction against its block header")
+    void getMerkleProof_confirmedTransaction_verifiesAgainstBlock() {
+        blockchain.minePendingTransactions("Miner1");
+        for (int i = 0; i < 6; i++) {
+            blockchain.addTransaction(new Transaction("Miner1", "Bob" + i, 1.0 + i));
+        }
+        Block block = blockchain.minePendingTransactions("Miner2");
+
+        for (Transaction tx : block.getTransactions()) {
+            MerkleProof proof = blockchain.getMerkleProof(tx.getTransactionIdValue());
+            assertNotNull(proof, "Confirmed transaction should have a proof");
+            assertTrue(proof.verify(block.getMerkleRootValue()), "Proof should match the block's Merkle root");
+        }
+        assertNull(blockchain.getMerkleProof(Hash256.sha256("unknown")), "Unknown transaction has no proof");
+    }
+
+    // ===== SIGNED SUBMISSION TESTS =====
+
+    @Test
+    @DisplayName("submitTransactions should admit only correctly signed transactions")
+    void submitTransactionsShouldRequireValidSignatures() {
+        Wallet wallet = new Wallet();
+        blockchain.minePendingTransactions(wallet.getAddress());
+
+        Transaction signed = new Transaction(wallet.getAddress(), "Alice", 5.0);
+        wallet.signTransaction(signed);
+        Transaction unsigned = new Transaction(wallet.getAddress(), "Bob", 6.0);
+        Transaction overspend = new Transaction(wallet.getAddress(), "Carol", 1_000.0);
+        wallet.signTransaction(overspend);
+
+        List<Boolean> results = blockchain.submitTransactions(List.of(signed, unsigned, overspend));
+
+        assertEquals(List.of(true, false, false), results, "Only the signed, funded transaction should be added");
+        assertEquals(1, blockchain.getPendingCount(), "One transaction should be pending");
+    }
+
+    // ===== PERSISTENCE TESTS =====
+
+    @Test
+    @DisplayName("Reopening a persisted chain should restore blocks and indexes")
+    void reopenedChainShouldRestoreBlocksAndIndexes(@TempDir Path directory) throws IOException {
+        Hash256 txId;
+        Hash256 latestHash;
+        try (Blockchain persisted = new Blockchain(directory)) {
+            persisted.minePendingTransactions("Miner1");
+            Transaction tx = new Transaction("Miner1", "Alice", 12.5, 0.1);
+            persisted.addTransaction(tx);
+            persisted.minePendingTransactions("Miner2");
+            txId = tx.getTransactionIdValue();
+            latestHash = persisted.getLatestBlock().getHashValue();
+        }
+
+        try (Blockchain reopened = new Blockchain(directory)) {
+            assertEquals(3, reopened.getChainSize(), "All blocks should be restored");
+            assertEquals(latestHash, reopened.getLatestBlock().getHashValue(), "Latest block should be restored");
+            assertTrue(reopened.isChainValid(), "Restored chain should be valid");
+            assertEquals(2, reopened.getBlockHeight(latestHash), "Hash index should be rebuilt");
+            assertEquals(2, reopened.findTransaction(txId).getBlockHeight(), "Transaction index should be rebuilt");
+            assertEquals(1_250_000_000L, reopened.getBalanceUnits("Alice"), "Balances should be rebuilt");
+        }
+    }
+
+    @Test
+    @DisplayName("A reopened chain should keep growing from its latest block")
+    void reopenedChainShouldAcceptNewBlocks(@TempDir Path directory) throws IOException {
+        try (Blockchain persisted = new Blockchain(directory)) {
+            persisted.addBlock("Before restart");
+        }
+
+        try (Blockchain reopened = new Blockchain(directory)) {
+            reopened.addBlock("After restart");
+
+            assertEquals(3, reopened.getChainSize(), "New block should be appended");
+            assertEquals("Before restart", reopened.getBlock(1).getData(), "Old block should read back");
+            assertTrue(reopened.isChainValid(), "Chain should stay linked across the restart");
+        }
+    }
+
+    // ===== SNAPSHOT TESTS =====
+
+    @Test
+    @DisplayName("Closing a persisted chain should write a snapshot at its tip")
+    void closeShouldWriteSnapshotAtTip(@TempDir Path directory) throws IOException {
+        Hash256 tipHash;
+        try (Blockchain persisted = new Blockchain(directory)) {
+            persisted.minePendingTransactions("Miner1");
+            tipHash = persisted.getLatestBlock().getHashValue();
+        }
+
+        StateSnapshot snapshot = StateSnapshot.read(directory.resolve("state.snapshot"));
+
+        assertNotNull(snapshot, "Snapshot should be written on close");
+        assertEquals(1, snapshot.getHeight(), "Snapshot should be at the tip");
+        assertEquals(tipHash, snapshot.getTipHash(), "Snapshot should record the tip hash");
+        assertEquals(BlockchainConfig.MINING_REWARD, snapshot.getBalances().get("Miner1"), "Snapshot should hold balances");
+    }
+
+    @Test
+    @DisplayName("Startup should take balances from the snapshot instead of replaying")
+    void startupShouldUseMatchingSnapshot(@TempDir Path directory) throws IOException {
+        Hash256 tipHash;
+        try (Blockchain persisted = new Blockchain(directory)) {
+            persisted.minePendingTransactions("Miner1");
+            tipHash = persisted.getLatestBlock().getHashValue();
+        }
+        // A marker balance that only the snapshot knows about
+        new StateSnapshot(1, tipHash, Map.of("Marker", 7L)).write(directory.resolve("state.snapshot"));
+
+        try (Blockchain reopened = new Blockchain(directory)) {
+            assertEquals(7L, reopened.getBalanceUnits("Marker"), "Balances should come from the snapshot");
+            assertEquals(1, reopened.getBlockHeight(tipHash), "Hash index should be rebuilt from the store");
+        }
+    }
+
+    @Test
+    @DisplayName("Startup should replay only the blocks after the snapshot")
+    void startupShouldReplayBlocksAfterSnapshot(@TempDir Path directory) throws IOException {
+        Hash256 txId;
+        Hash256 snapshotTip;
+        try (Blockchain persisted = new Blockchain(directory)) {
+            persisted.minePendingTransactions("Miner1");
+            snapshotTip = persisted.getLatestBlock().getHashValue();
+
+            Transaction tx = new Transaction("Miner1", "Alice", 10.0);
+            persisted.addTransaction(tx);
+            persisted.minePendingTransactions("Miner2");
+            txId = tx.getTransactionIdValue();
+        }
+        // Roll the snapshot back to height 1, as if the node crashed before closing
+        new StateSnapshot(1, snapshotTip, Map.of("Miner1", BlockchainConfig.MINING_REWARD))
+            .write(directory.resolve("state.snapshot"));
+
+        try (Blockchain reopened = new Blockchain(directory)) {
+            assertEquals(1_000_000_000L, reopened.getBalanceUnits("Alice"), "Block after the snapshot should be replayed");
+            assertEquals(BlockchainConfig.MINING_REWARD, reopened.getBalanceUnits("Miner2"), "Coinbase after the snapshot should be replayed");
+            assertNotNull(reopened.getTransaction(txId), "Transactions after the snapshot should be indexed");
+            assertNotNull(reopened.findTransaction(reopened.getBlock(1).getTransactions().get(0).getTransactionIdValue()),
+                "Transactions covered by the snapshot should be indexed on first lookup");
+        }
+    }
+
+    @Test
+    @DisplayName("A snapshot from another chain should be ignored")
+    void startupShouldIgnoreMismatchedSnapshot(@TempDir Path directory) throws IOException {
+        try (Blockchain persisted = new Blockchain(directory)) {
+            persisted.minePendingTransactions("Miner1");
+        }
+        new StateSnapshot(1, Hash256.sha256("other chain"), Map.of("Marker", 7L))
+            .write(directory.resolve("state.snapshot"));
+
+        try (Blockchain reopened = new Blockchain(directory)) {
+            assertEquals(0L, reopened.getBalanceUnits("Marker"), "Mismatched snapshot should not be used");
+            assertEquals(BlockchainConfig.MINING_REWARD, reopened.getBalanceUnits("Miner1"), "Balances should be replayed");
+        }
+    }
+
+    // ===== MEMPOOL LOG TESTS =====
+
+    @Test
+    @DisplayName("Pending transactions should survive a restart")
+    void pendingTransactionsShouldSurviveRestart(@TempDir Path directory) throws IOException {
+        Transaction mined = new Transaction("Miner1", "Alice", 5.0);
+        Transaction pending = new Transaction("Miner1", "Bob", 7.0, 0.1);
+        try (Blockchain persisted = new Blockchain(directory)) {
+            persisted.minePendingTransactions("Miner1");
+            persisted.addTransaction(mined);
+            persisted.minePendingTransactions("Miner2");
+            persisted.addTransaction(pending);
+        }
+
+        try (Blockchain reopened = new Blockchain(directory)) {
+            assertEquals(1, reopened.getPendingCount(), "Only the unmined transaction should be pending");
+            assertEquals(pending.getTransactionIdValue(),
+                reopened.getPendingTransactions().get(0).getTransactionIdValue(), "Pending transaction should be restored");
+
+            Block block = reopened.minePendingTransactions("Miner3");
+            assertEquals(2, block.getTransactionCount(), "Restored transaction should be minable");
+            assertEquals(700_000_000L, reopened.getBalanceUnits("Bob"), "Restored transaction should apply once");
+        }
+
+        try (Blockchain reopened = new Blockchain(directory)) {
+            assertEquals(0, reopened.getPendingCount(), "Mined transaction should not come back");
+        }
+    }
+
+    @Test
+    @DisplayName("A logged transaction mined in a block under the snapshot should not be re-admitted")
+    void minedTransactionUnderSnapshotShouldNotBeReadmitted(@TempDir Path directory) throws IOException {
+        Transaction mined = new Transaction("Miner1", "Alice", 5.0, 0.1);
+        try (Blockchain persisted = new Blockchain(directory)) {
+            persisted.minePendingTransactions("Miner1");
+            persisted.addTransaction(mined);
+            persisted.minePendingTransactions("Miner2");
+        } // Closing writes the snapshot at the tip, covering the block with the transaction
+
+        // Crash window: the snapshot is on disk, but only the ADD record made it to the log
+        try (WriteAheadLog log = new WriteAheadLog(directory.resolve(Blockchain.MEMPOOL_LOG_FILE))) {
+            log.rewrite(List.of(Blockchain.addRecord(mined)));
+        }
+
+        try (Blockchain reopened = new Blockchain(directory)) {
+            assertEquals(0, reopened.getPendingCount(), "Transaction confirmed under the snapshot should not come back");
+            assertEquals(4_490_000_000L, reopened.getBalanceUnits("Miner1"), "Sender should be debited once");
+        }
+    }
+
+    @Test
+    @DisplayName("Replaying pending transactions should not build the lazy snapshot index")
+    void mempoolReplayShouldKeepSnapshotIndexLazy(@TempDir Path directory) throws IOException {
+        Transaction mined = new Transaction("Miner1", "Alice", 5.0, 0.1);
+        Transaction pending = new Transaction("Miner1", "Bob", 2.0, 0.1);
+        try (Blockchain persisted = new Blockchain(directory)) {
+            persisted.minePendingTransactions("Miner1");
+            persisted.addTransaction(mined);
+            persisted.minePendingTransactions("Miner2");
+            persisted.addTransaction(pending);
+        } // Snapshot at the tip covers every block
+
+        try (Blockchain reopened = new Blockchain(directory)) {
+            assertEquals(1, reopened.getPendingCount(), "Pending transaction should be restored");
+            assertTrue(reopened.hasUnindexedSnapshotBlocks(),
+                "Replay should not decode the blocks under the snapshot");
+            assertNotNull(reopened.findTransaction(mined.getTransactionIdValue()),
+                "A real lookup should still find transactions under the snapshot");
+            assertFalse(reopened.hasUnindexedSnapshotBlocks(), "The lookup should build the index");
+        }
+    }
+
+    @Test
+    @DisplayName("A restart should keep pending transactions in arrival order")
+    void pendingArrivalOrderShouldSurviveRestart(@TempDir Path directory) throws IOException {
+        Transaction first = new Transaction("Miner1", "Alice", 1.0, 0.01);
+        Transaction second = new Transaction("Miner1", "Bob", 1.0, 0.5);
+        try (Blockchain persisted = new Blockchain(directory)) {
+            persisted.minePendingTransactions("Miner1");
+            persisted.addTransaction(first);
+            persisted.addTransaction(second);
+        }
+
+        // Reopen twice: the first restart compacts the log, the second replays it
+        try (Blockchain reopened = new Blockchain(directory)) {
+            assertEquals(2, reopened.getPendingCount(), "Both transactions should be restored");
+        }
+        try (Blockchain reopened = new Blockchain(directory)) {
+            Block block = reopened.minePendingTransactions("Miner2");
+            assertEquals(first.getTransactionIdValue(), block.getTransaction(1).getTransactionIdValue(),
+                "Whole-pool template should keep arrival order, not fee order");
+            assertEquals(second.getTransactionIdValue(), block.getTransaction(2).getTransactionIdValue(),
+                "Later arrival should come second");
+        }
+    }
+
+    private long scanBalance(String address) {
+        long balance = 0;
+        for (Block block : blockchain.getChain()) {
+            for (Transaction tx : block.getTransactions()) {
+                if (tx.getSender().equals(address)) balance -= tx.getTotalCostUnits();
+                if (tx.getRecipient().equals(address)) balance += tx.getAmountUnits();
+            }
+        }
+        return balance;
+    }
 }
@@ -0,0 +1,107 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.Hash256;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the parallel chain validator.
+ *
+ * Uses difficulty 1 so that a chain long enough to be split between
+ * several workers can be mined quickly.
+ */
+@DisplayName("ChainValidator Tests")
+public class ChainValidatorTest {
+
+    private static final int DIFFICULTY = 1;
+    private static final int THREADS = 4;
+    private static final int CHAIN_LENGTH = ChainValidator.MIN_BLOCKS_PER_THREAD * THREADS + 10;
+
+    private static List<Block> chain;
+
+    @BeforeAll
+    static void buildChain() {
+        chain = new ArrayList<>();
+        Block genesis = Block.createGenesisBlock();
+        genesis.mineBlock(DIFFICULTY, 1);
+        chain.add(genesis);
+        for (int i = 1; i < CHAIN_LENGTH; i++) {
+            Block block = new Block(i, "Block " + i, chain.get(i - 1).getHashValue());
+            block.mineBlock(DIFFICULTY, 1);
+            chain.add(block);
+        }
+    }
+
+    @Test
+    @DisplayName("A valid chain should pass with several workers")
+    void validate_validChain_returnsTrue() {
+        ChainValidator validator = new ChainValidator(THREADS);
+
+        assertTrue(validator.validate(chain::get, 0, chain.size(), DIFFICULTY), "Untouched chain should be valid");
+    }
+
+    @Test
+    @DisplayName("A tampered block in any slice should be detected")
+    void validate_tamperedBlock_returnsFalse() {
+        ChainValidator validator = new ChainValidator(THREADS);
+        int tampered = chain.size() - 5; // in the last worker's slice
+        List<Block> copy = new ArrayList<>(chain);
+        copy.set(tampered, tamperedCopy(tampered));
+
+        assertFalse(validator.validate(copy::get, 0, copy.size(), DIFFICULTY), "Tampered block should be caught");
+    }
+
+    @Test
+    @DisplayName("A broken link at a slice boundary should be detected")
+    void validate_brokenLinkAtSliceBoundary_returnsFalse() {
+        ChainValidator validator = new ChainValidator(THREADS);
+        int boundary = CHAIN_LENGTH / THREADS; // first block of the second slice
+        List<Block> copy = new ArrayList<>(chain);
+        Block forged = new Block(boundary, "Forged", Hash256.sha256("somewhere else"));
+        forged.mineBlock(DIFFICULTY, 1);
+        copy.set(boundary, forged);
+
+        assertFalse(validator.validate(copy::get, 0, copy.size(), DIFFICULTY), "Link across slices should be checked");
+    }
+
+    @Test
+    @DisplayName("A sub-range should only check its own blocks and the link into them")
+    void validate_subRange_checksOnlyThatRange() {
+        ChainValidator validator = new ChainValidator(THREADS);
+        List<Block> copy = new ArrayList<>(chain);
+        copy.set(1, tamperedCopy(1));
+
+        assertTrue(validator.validate(copy::get, 10, copy.size(), DIFFICULTY), "Blocks before the range are not checked");
+        assertFalse(validator.validate(copy::get, 0, copy.size(), DIFFICULTY), "Full range should catch it");
+        assertTrue(validator.validate(copy::get, 5, 5, DIFFICULTY), "Empty range is trivially valid");
+    }
+
+    @Test
+    @DisplayName("Thread count must be at least 1")
+    void constructor_zeroThreads_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ChainValidator(0), "Zero threads should be rejected");
+    }
+
+    /**
+     * Returns a properly mined copy of a block whose Merkle root was
+     * then changed, so its stored hash no longer matches.
+     */
+    private static Block tamperedCopy(int height) {
+        Block block = new Block(height, "Block " + height, chain.get(height - 1).getHashValue());
+        block.mineBlock(DIFFICULTY, 1);
+        try {
+            java.lang.reflect.Field merkleField = Block.class.getDeclaredField("merkleRoot");
+            merkleField.setAccessible(true);
+            merkleField.set(block, Hash256.sha256("HACKED_MERKLE_ROOT"));
+        } catch (Exception e) {
+            fail("Reflection failed: " + e.getMessage());
+        }
+        return block;
+    }
+}
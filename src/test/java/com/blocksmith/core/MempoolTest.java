@@ -0,0 +1,169 @@
+package com.blocksmith.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+/**
+ * Tests for the fee-prioritized, bounded mempool.
+ */
+@DisplayName("Mempool Tests")
+public class MempoolTest {
+
+    // ===== ADD TESTS =====
+
+    @Test
+    @DisplayName("add should accept a new transaction")
+    void add_newTransaction_returnsTrue() {
+        Mempool mempool = new Mempool(10);
+        Transaction tx = new Transaction("Alice", "Bob", 1.0, 0.1);
+
+        assertTrue(mempool.add(tx), "New transaction should be added");
+        assertEquals(1, mempool.size(), "Pool should hold one transaction");
+        assertTrue(mempool.contains(tx.getTransactionIdValue()), "Pool should contain the transaction");
+    }
+
+    @Test
+    @DisplayName("add should reject a duplicate transaction")
+    void add_duplicate_returnsFalse() {
+        Mempool mempool = new Mempool(10);
+        Transaction tx = new Transaction("Alice", "Bob", 1.0, 0.1);
+        mempool.add(tx);
+
+        assertFalse(mempool.add(tx), "Duplicate should be rejected");
+        assertEquals(1, mempool.size(), "Pool size should not change");
+    }
+
+    @Test
+    @DisplayName("Capacity below 1 should be rejected")
+    void constructor_zeroCapacity_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new Mempool(0), "Capacity must be at least 1");
+    }
+
+    // ===== EVICTION TESTS =====
+
+    @Test
+    @DisplayName("Full pool should evict the lowest fee for a higher fee")
+    void add_fullPoolHigherFee_evictsLowest() {
+        Mempool mempool = new Mempool(2);
+        Transaction low = new Transaction("Alice", "Bob", 1.0, 0.01);
+        Transaction mid = new Transaction("Alice", "Bob", 2.0, 0.5);
+        Transaction high = new Transaction("Carol", "Bob", 3.0, 1.0);
+        mempool.add(low);
+        mempool.add(mid);
+
+        assertTrue(mempool.add(high), "Higher fee should get in");
+        assertEquals(2, mempool.size(), "Pool should stay at capacity");
+        assertFalse(mempool.contains(low.getTransactionIdValue()), "Lowest fee should be evicted");
+        assertEquals(mid.getTotalCostUnits(), mempool.getPendingOutgoing("Alice"),
+            "Evicted transaction should no longer count as pending");
+    }
+
+    @Test
+    @DisplayName("Full pool should reject a fee that does not beat the lowest")
+    void add_fullPoolLowerFee_returnsFalse() {
+        Mempool mempool = new Mempool(2);
+        mempool.add(new Transaction("Alice", "Bob", 1.0, 0.5));
+        mempool.add(new Transaction("Alice", "Bob", 2.0, 0.5));
+        Transaction cheap = new Transaction("Carol", "Bob", 3.0, 0.0);
+
+        assertFalse(mempool.add(cheap), "Cheaper transaction should be rejected");
+        assertFalse(mempool.contains(cheap.getTransactionIdValue()), "Rejected transaction should not be in the pool");
+        assertEquals(0, mempool.getPendingOutgoing("Carol"), "Rejected sender should have nothing pending");
+    }
+
+    // ===== SELECTION TESTS =====
+
+    @Test
+    @DisplayName("selectForBlock should return the highest fees first, up to the limit")
+    void selectForBlock_limit_returnsHighestFees() {
+        Mempool mempool = new Mempool(10);
+        Transaction a = new Transaction("A", "X", 1.0, 0.1);
+        Transaction b = new Transaction("B", "X", 1.0, 0.9);
+        Transaction c = new Transaction("C", "X", 1.0, 0.5);
+        mempool.add(a);
+        mempool.add(b);
+        mempool.add(c);
+
+        List<Transaction> selected = mempool.selectForBlock(2);
+
+        assertEquals(List.of(b, c), selected, "Should pick the two highest fees in order");
+        assertEquals(3, mempool.size(), "Selection should not modify the pool");
+    }
+
+    @Test
+    @DisplayName("Equal fee rates should keep arrival order")
+    void selectForBlock_equalFees_keepsArrivalOrder() {
+        Mempool mempool = new Mempool(10);
+        Transaction first = new Transaction("A", "X", 1.0, 0.0);
+        Transaction second = new Transaction("A", "X", 2.0, 0.0);
+        mempool.add(first);
+        mempool.add(second);
+
+        assertEquals(List.of(first, second), mempool.selectForBlock(10), "Ties should be first come, first served");
+    }
+
+    @Test
+    @DisplayName("removeAll should drop mined transactions and their pending totals")
+    void removeAll_minedTransactions_updatesPool() {
+        Mempool mempool = new Mempool(10);
+        Transaction a = new Transaction("Alice", "X", 1.0, 0.1);
+        Transaction b = new Transaction("Alice", "X", 2.0, 0.2);
+        mempool.add(a);
+        mempool.add(b);
+
+        mempool.removeAll(List.of(a));
+
+        assertEquals(1, mempool.size(), "One transaction should remain");
+        assertEquals(b.getTotalCostUnits(), mempool.getPendingOutgoing("Alice"), "Only b should be pending");
+
+        mempool.removeAll(List.of(b));
+
+        assertEquals(0, mempool.getPendingOutgoing("Alice"), "Nothing should be pending");
+    }
+
+    // ===== TEMPLATE MERKLE ROOT TESTS =====
+
+    @Test
+    @DisplayName("templateMerkleRoot should match a full tree over coinbase and arrival order")
+    void templateMerkleRoot_afterAdds_matchesFullTree() {
+        Mempool mempool = new Mempool(10);
+        Transaction low = new Transaction("Alice", "Bob", 1.0, 0.1);
+        Transaction high = new Transaction("Carol", "Dave", 1.0, 0.5);
+        mempool.add(low);
+        mempool.add(high);
+        Transaction coinbase = new Transaction("COINBASE", "Miner", 50.0);
+
+        assertEquals(List.of(low, high), mempool.getTransactionsInArrivalOrder(), "Arrival order, not fee order");
+        assertEquals(MerkleTree.computeRoot(List.of(coinbase, low, high)), mempool.templateMerkleRoot(coinbase),
+            "Template root should equal a full rebuild");
+    }
+
+    @Test
+    @DisplayName("templateMerkleRoot should stay correct after removals and evictions")
+    void templateMerkleRoot_afterRemovalAndEviction_matchesFullTree() {
+        Mempool mempool = new Mempool(3);
+        Transaction a = new Transaction("Alice", "Bob", 1.0, 0.2);
+        Transaction b = new Transaction("Carol", "Dave", 1.0, 0.3);
+        Transaction c = new Transaction("Erin", "Frank", 1.0, 0.4);
+        Transaction d = new Transaction("Grace", "Heidi", 1.0, 0.9);
+        mempool.add(a);
+        mempool.add(b);
+        mempool.add(c);
+        mempool.removeAll(List.of(b));
+        mempool.add(d);
+        mempool.add(new Transaction("Ivan", "Judy", 1.0, 0.8)); // evicts a
+        Transaction coinbase = new Transaction("COINBASE", "Miner", 50.0);
+
+        List<Transaction> template = new java.util.ArrayList<>();
+        template.add(coinbase);
+        template.addAll(mempool.getTransactionsInArrivalOrder());
+
+        assertFalse(mempool.contains(a.getTransactionIdValue()), "Cheapest transaction should be evicted");
+        assertEquals(MerkleTree.computeRoot(template), mempool.templateMerkleRoot(coinbase),
+            "Template root should be rebuilt after out-of-order removals");
+    }
+}
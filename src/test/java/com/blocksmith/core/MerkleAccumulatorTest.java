@@ -0,0 +1,73 @@
+package com.blocksmith.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.blocksmith.util.Hash256;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for MerkleAccumulator.
+ */
+public class MerkleAccumulatorTest {
+
+    // ===== ROOT TESTS =====
+
+    @Test
+    @DisplayName("Root should equal the full tree root after every append")
+    void rootWithCoinbase_everySize_matchesFullTree() {
+        MerkleAccumulator accumulator = new MerkleAccumulator();
+        Hash256 coinbase = Hash256.sha256("coinbase");
+
+        for (int size = 0; size <= 70; size++) {
+            assertEquals(fullRoot(coinbase, size), accumulator.rootWithCoinbase(coinbase),
+                "Root with " + size + " transactions should match MerkleTree");
+            accumulator.append(leaf(size));
+        }
+    }
+
+    @Test
+    @DisplayName("Changing the coinbase should only change the root, not the accumulated leaves")
+    void rootWithCoinbase_differentCoinbases_eachMatchesFullTree() {
+        MerkleAccumulator accumulator = new MerkleAccumulator();
+        for (int i = 0; i < 37; i++) {
+            accumulator.append(leaf(i));
+        }
+
+        for (int round = 0; round < 3; round++) {
+            Hash256 coinbase = Hash256.sha256("coinbase-" + round);
+            assertEquals(fullRoot(coinbase, 37), accumulator.rootWithCoinbase(coinbase),
+                "Every template coinbase should give the full tree root");
+        }
+    }
+
+    @Test
+    @DisplayName("Reset should drop every appended leaf")
+    void reset_afterAppends_emptiesAccumulator() {
+        MerkleAccumulator accumulator = new MerkleAccumulator();
+        Hash256 coinbase = Hash256.sha256("coinbase");
+        accumulator.append(leaf(0));
+        accumulator.append(leaf(1));
+
+        accumulator.reset();
+
+        assertEquals(0, accumulator.size(), "No leaves should remain");
+        assertEquals(coinbase, accumulator.rootWithCoinbase(coinbase), "Coinbase alone is its own root");
+    }
+
+    // ===== HELPERS =====
+
+    private static Hash256 leaf(int i) {
+        return Hash256.sha256("tx-" + i);
+    }
+
+    private static Hash256 fullRoot(Hash256 coinbase, int size) {
+        byte[] leaves = new byte[(size + 1) * Hash256.SIZE];
+        coinbase.writeTo(leaves, 0);
+        for (int i = 0; i < size; i++) {
+            leaf(i).writeTo(leaves, (i + 1) * Hash256.SIZE);
+        }
+        return MerkleTree.computeRoot(leaves, size + 1);
+    }
+}
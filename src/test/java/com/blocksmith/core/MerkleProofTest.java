@@ -0,0 +1,88 @@
+package com.blocksmith.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.blocksmith.util.Hash256;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for MerkleProof.
+ */
+public class MerkleProofTest {
+
+    // ===== GENERATION TESTS =====
+
+    @Test
+    @DisplayName("Proof for every transaction should verify against the block root")
+    void generate_everyPosition_verifies() {
+        for (int count = 1; count <= 17; count++) {
+            Block block = blockWith(count);
+            for (int position = 0; position < count; position++) {
+                MerkleProof proof = MerkleProof.generate(block, position);
+
+                assertEquals(block.getTransactions().get(position).getTransactionIdValue(), proof.getTransactionId(),
+                    "Proof should be for the requested transaction");
+                assertTrue(proof.verify(block.getMerkleRootValue()),
+                    "Proof for position " + position + " of " + count + " should verify");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Proof should hold one sibling per tree level")
+    void generate_largeBlock_logarithmicSize() {
+        Block block = blockWith(100);
+
+        assertEquals(7, MerkleProof.generate(block, 42).getSiblings().size(),
+            "100 leaves need 7 levels of siblings");
+    }
+
+    // ===== VERIFICATION TESTS =====
+
+    @Test
+    @DisplayName("Proof with a tampered sibling should fail")
+    void verify_tamperedSibling_returnsFalse() {
+        Block block = blockWith(8);
+        MerkleProof proof = MerkleProof.generate(block, 3);
+        List<Hash256> siblings = new ArrayList<>(proof.getSiblings());
+        siblings.set(1, Hash256.sha256("forged"));
+
+        MerkleProof forged = new MerkleProof(proof.getTransactionId(), 3, siblings);
+
+        assertFalse(forged.verify(block.getMerkleRootValue()), "Tampered path should not reach the root");
+    }
+
+    @Test
+    @DisplayName("Proof with the wrong position should fail")
+    void verify_wrongPosition_returnsFalse() {
+        Block block = blockWith(8);
+        MerkleProof proof = MerkleProof.generate(block, 2);
+
+        MerkleProof moved = new MerkleProof(proof.getTransactionId(), 3, proof.getSiblings());
+
+        assertFalse(moved.verify(block.getMerkleRootValue()), "Left/right order is part of the proof");
+    }
+
+    @Test
+    @DisplayName("Proof should fail against another block's root")
+    void verify_otherRoot_returnsFalse() {
+        MerkleProof proof = MerkleProof.generate(blockWith(4), 1);
+
+        assertFalse(proof.verify(blockWith(5).getMerkleRootValue()), "Root of another block should not match");
+    }
+
+    // ===== HELPERS =====
+
+    private static Block blockWith(int count) {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            transactions.add(new Transaction("alice", "bob" + count + "-" + i, 1.0 + i));
+        }
+        return new Block(1, transactions, Hash256.ZERO);
+    }
+}
@@ -0,0 +1,100 @@
+package com.blocksmith.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.blocksmith.util.Hash256;
+import com.blocksmith.util.HashUtil;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for MerkleTree.
+ */
+public class MerkleTreeTest {
+
+    // ===== ROOT TESTS =====
+
+    @Test
+    @DisplayName("Root should match the String-based algorithm for small trees")
+    void computeRoot_smallTrees_matchesReference() {
+        for (int count = 1; count <= 33; count++) {
+            byte[] leaves = leaves(count);
+
+            assertEquals(referenceRoot(leaves, count), MerkleTree.computeRoot(leaves, count),
+                "Root of " + count + " leaves should not change");
+        }
+    }
+
+    @Test
+    @DisplayName("Root should match the String-based algorithm when levels are hashed in parallel")
+    void computeRoot_aboveParallelThreshold_matchesReference() {
+        int count = MerkleTree.PARALLEL_THRESHOLD * 2 + 3;
+        byte[] leaves = leaves(count);
+
+        assertEquals(referenceRoot(leaves, count), MerkleTree.computeRoot(leaves, count),
+            "Parallel root should equal the sequential root");
+    }
+
+    @Test
+    @DisplayName("Computing the root should not modify the leaves")
+    void computeRoot_anyTree_leavesUnchanged() {
+        byte[] leaves = leaves(7);
+        byte[] copy = leaves.clone();
+
+        MerkleTree.computeRoot(leaves, 7);
+
+        assertArrayEquals(copy, leaves, "Leaf array belongs to the caller");
+    }
+
+    @Test
+    @DisplayName("Block Merkle root should come from its transaction IDs")
+    void computeRoot_blockTransactions_matchesBlockRoot() {
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            transactions.add(new Transaction("alice", "bob" + i, 1.0 + i));
+        }
+        Block block = new Block(1, transactions, Hash256.ZERO);
+
+        assertEquals(block.getMerkleRootValue(), MerkleTree.computeRoot(transactions),
+            "Block should use the Merkle engine");
+    }
+
+    @Test
+    @DisplayName("Empty tree should be rejected")
+    void computeRoot_noLeaves_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> MerkleTree.computeRoot(new byte[0], 0),
+            "A tree needs at least one leaf");
+    }
+
+    // ===== HELPERS =====
+
+    private static byte[] leaves(int count) {
+        byte[] leaves = new byte[count * Hash256.SIZE];
+        for (int i = 0; i < count; i++) {
+            Hash256.sha256("leaf-" + i).writeTo(leaves, i * Hash256.SIZE);
+        }
+        return leaves;
+    }
+
+    /** The original algorithm: hex Strings, concatenated and hashed. */
+    private static Hash256 referenceRoot(byte[] leaves, int count) {
+        List<String> hashes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            hashes.add(Hash256.fromBytes(leaves, i * Hash256.SIZE).toHex());
+        }
+        while (hashes.size() > 1) {
+            List<String> nextLevel = new ArrayList<>();
+            for (int i = 0; i < hashes.size(); i += 2) {
+                String left = hashes.get(i);
+                String right = (i + 1 < hashes.size()) ? hashes.get(i + 1) : left;
+                nextLevel.add(HashUtil.applySha256(left + right));
+            }
+            hashes = nextLevel;
+        }
+        return Hash256.fromHex(hashes.get(0));
+    }
+}
@@ -0,0 +1,91 @@
+package com.blocksmith.core;
+
+import com.blocksmith.util.HashUtil;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+
+/**
+ * Hash-rate benchmark for the mining inner loop.
+ *
+ * Compares three ways of hashing one nonce attempt:
+ * 1. String     - the original loop: concatenate fields, UTF-8 encode, hex
+ * 2. Header     - binary 80-byte header, full SHA-256 per attempt
+ * 3. Midstate   - binary header, first 64 bytes pre-compressed (HeaderHasher)
+ *
+ * Not a unit test (surefire skips it). Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.blocksmith.core.MiningBenchmark
+ */
+public class MiningBenchmark {
+
+    private static final int ATTEMPTS = 2_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws DigestException {
+        Block block = new Block(1, "Benchmark block", HashUtil.applySha256("previous"));
+
+        System.out.println("═══════════════════════════════════════════════════════════");
+        System.out.println("                  MINING HASH-RATE BENCHMARK                ");
+        System.out.println("═══════════════════════════════════════════════════════════");
+        System.out.printf("  %,d attempts per round, best of %d rounds%n%n", ATTEMPTS, ROUNDS);
+
+        double stringRate = best(() -> stringLoop(block));
+        double headerRate = best(() -> headerLoop(block));
+        double midstateRate = best(() -> midstateLoop(block));
+
+        System.out.printf("  String concat loop:   %,12.0f H/s%n", stringRate);
+        System.out.printf("  Binary header loop:   %,12.0f H/s  (%.2fx)%n", headerRate, headerRate / stringRate);
+        System.out.printf("  Midstate header loop: %,12.0f H/s  (%.2fx)%n", midstateRate, midstateRate / stringRate);
+        System.out.printf("%n  Midstate vs binary header: %.2fx%n", midstateRate / headerRate);
+    }
+
+    private interface Loop {
+        int run() throws DigestException;
+    }
+
+    private static double best(Loop loop) throws DigestException {
+        double bestRate = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            int sink = loop.run();
+            long elapsed = System.nanoTime() - start;
+            if (sink == 42) System.out.print("");  // keep the JIT from discarding the loop
+            bestRate = Math.max(bestRate, ATTEMPTS / (elapsed / 1e9));
+        }
+        return bestRate;
+    }
+
+    private static int stringLoop(Block block) {
+        int hits = 0;
+        for (int nonce = 0; nonce < ATTEMPTS; nonce++) {
+            String data = block.getIndex() + block.getTimestamp() + block.getMerkleRoot()
+                + block.getPreviousHash() + nonce;
+            if (HashUtil.applySha256(data).startsWith("0000")) hits++;
+        }
+        return hits;
+    }
+
+    private static int headerLoop(Block block) throws DigestException {
+        byte[] header = BlockHeader.encode(block, 0);
+        byte[] out = new byte[32];
+        MessageDigest digest = HashUtil.newSha256Digest();
+        int hits = 0;
+        for (int nonce = 0; nonce < ATTEMPTS; nonce++) {
+            BlockHeader.writeNonce(header, nonce);
+            digest.update(header);
+            digest.digest(out, 0, 32);
+            if (HashUtil.meetsDifficulty(out, 4)) hits++;
+        }
+        return hits;
+    }
+
+    private static int midstateLoop(Block block) {
+        HeaderHasher hasher = new HeaderHasher(block);
+        int hits = 0;
+        for (int nonce = 0; nonce < ATTEMPTS; nonce++) {
+            if (HashUtil.meetsDifficulty(hasher.hash(nonce), 4)) hits++;
+        }
+        return hits;
+    }
+}
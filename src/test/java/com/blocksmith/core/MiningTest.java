@@ -132,6 +132,50 @@ public class MiningTest {
         assertTrue(zerosHigh >= 4, "High difficulty should have at least 4 zeros");
     }
 
+    // ===== PARALLEL MINING TESTS =====
+
+    @Test
+    @DisplayName("Parallel mining produces hash meeting difficulty")
+    void mineBlock_multipleThreads_hashMeetsDifficulty() {
+        Block block = new Block(1, "Parallel data", "0000previoushash");
+
+        block.mineBlock(3, 4);
+
+        assertTrue(block.getHash().startsWith("000"), "Hash should start with '000' for difficulty 3");
+    }
+
+    @Test
+    @DisplayName("Parallel mining writes back a nonce that reproduces the hash")
+    void mineBlock_multipleThreads_nonceReproducesHash() {
+        Block block = new Block(1, "Parallel data", "0000previoushash");
+
+        block.mineBlock(3, 4);
+
+        assertEquals(block.getHash(), block.calculateHash(),
+            "Recalculated hash should match the hash found by the winning worker");
+    }
+
+    @Test
+    @DisplayName("Single-threaded ParallelMiner finds the same nonce as sequential mining")
+    void parallelMiner_oneThread_matchesSequentialSearch() {
+        Block block = new Block(1, "Parallel data", "0000previoushash");
+
+        int expectedNonce = 0;
+        while (!block.calculateHash(expectedNonce).startsWith("00")) {
+            expectedNonce++;
+        }
+        new ParallelMiner(1).mine(block, 2);
+
+        assertEquals(expectedNonce, block.getNonce(), "One worker should search nonces in order");
+    }
+
+    @Test
+    @DisplayName("ParallelMiner rejects a thread count below one")
+    void parallelMiner_zeroThreads_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelMiner(0),
+            "Zero workers should be rejected");
+    }
+
     private int countLeadingZeros(String hash) {
         int count = 0;
         for (char c : hash.toCharArray()) {
@@ -0,0 +1,77 @@
+package com.blocksmith.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.blocksmith.util.HashUtil;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.PublicKey;
+
+/**
+ * Tests for PublicKeyRegistry.
+ */
+public class PublicKeyRegistryTest {
+
+    // ===== ADDRESS TESTS =====
+
+    @Test
+    @DisplayName("Derived address should match the original string-based derivation")
+    void deriveAddress_anyKey_matchesStringDerivation() {
+        PublicKey key = WalletFactory.generateKeyPair().getPublicKey();
+
+        String hash = HashUtil.applySha256(HashUtil.bytesToHex(key.getEncoded()));
+        String expected = "0x" + hash.substring(hash.length() - 40);
+
+        assertEquals(expected, PublicKeyRegistry.deriveAddress(key.getEncoded()),
+            "Addresses must stay the same as before the registry");
+    }
+
+    @Test
+    @DisplayName("Registry should match a wallet's key to its address only")
+    void matches_walletKey_onlyOwnAddress() {
+        PublicKeyRegistry registry = new PublicKeyRegistry(10);
+        Wallet wallet = new Wallet();
+        Wallet other = new Wallet();
+
+        assertTrue(registry.matches(wallet.getPublicKey(), wallet.getAddress()), "Key should match its own address");
+        assertFalse(registry.matches(wallet.getPublicKey(), other.getAddress()), "Key should not match another address");
+    }
+
+    // ===== CACHE TESTS =====
+
+    @Test
+    @DisplayName("Decoding the same bytes twice should return the cached key")
+    void decode_sameBytes_returnsSameInstance() {
+        PublicKeyRegistry registry = new PublicKeyRegistry(10);
+        byte[] encoded = WalletFactory.generateKeyPair().getPublicKey().getEncoded();
+
+        PublicKey first = registry.decode(encoded);
+        PublicKey second = registry.decode(encoded.clone());
+
+        assertSame(first, second, "Repeated sender should skip decoding");
+        assertArrayEquals(encoded, first.getEncoded(), "Decoded key should have the same encoding");
+        assertEquals(1, registry.size(), "One key should be registered");
+    }
+
+    @Test
+    @DisplayName("Registry should not grow beyond its capacity")
+    void addressOf_manyKeys_staysWithinCapacity() {
+        PublicKeyRegistry registry = new PublicKeyRegistry(3);
+        for (int i = 0; i < 8; i++) {
+            registry.addressOf(WalletFactory.generateKeyPair().getPublicKey());
+        }
+
+        assertEquals(3, registry.size(), "Registry should evict to stay within capacity");
+    }
+
+    @Test
+    @DisplayName("Invalid key bytes should be rejected")
+    void decode_invalidBytes_throwsException() {
+        PublicKeyRegistry registry = new PublicKeyRegistry(10);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.decode(new byte[] {1, 2, 3}),
+            "Garbage should not decode as a public key");
+    }
+}
@@ -0,0 +1,150 @@
+package com.blocksmith.core;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the parallel signature verification pool.
+ */
+@DisplayName("SignatureVerifier Tests")
+public class SignatureVerifierTest {
+
+    private SignatureVerifier verifier;
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new SignatureVerifier(4);
+        wallet = new Wallet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        verifier.close();
+    }
+
+    @Test
+    @DisplayName("verifyAsync should accept a signed transaction")
+    void verifyAsync_signedTransaction_completesTrue() {
+        Transaction tx = signed(1.0);
+
+        assertTrue(verifier.verifyAsync(tx).join(), "Signed transaction should verify");
+    }
+
+    @Test
+    @DisplayName("verifyAsync should reject unsigned and tampered transactions")
+    void verifyAsync_invalidTransactions_completeFalse() {
+        Transaction unsigned = new Transaction(wallet.getAddress(), "Bob", 1.0);
+        Transaction tampered = new Transaction(wallet.getAddress(), "Bob", 999.0);
+        Transaction original = signed(1.0);
+        tampered.setSignature(original.getSignature());
+        tampered.setSenderPublicKey(original.getSenderPublicKey());
+
+        assertFalse(verifier.verifyAsync(unsigned).join(), "Unsigned transaction should fail");
+        assertFalse(verifier.verifyAsync(tampered).join(), "Tampered transaction should fail");
+        assertFalse(verifier.verifyAsync(null).join(), "Null should fail, not throw");
+    }
+
+    @Test
+    @DisplayName("verifyAll should return one result per transaction, in order")
+    void verifyAll_mixedBatch_returnsResultsInOrder() {
+        List<Transaction> batch = new ArrayList<>();
+        List<Boolean> expected = new ArrayList<>();
+        for (int i = 0; i < SignatureVerifier.BATCH_SIZE * 3 + 5; i++) {
+            boolean sign = i % 7 != 0;
+            Transaction tx = new Transaction(wallet.getAddress(), "Bob", 1.0 + i);
+            if (sign) wallet.signTransaction(tx);
+            batch.add(tx);
+            expected.add(sign);
+        }
+
+        List<CompletableFuture<Boolean>> results = verifier.verifyAll(batch);
+
+        assertEquals(batch.size(), results.size(), "One future per transaction");
+        for (int i = 0; i < batch.size(); i++) {
+            assertEquals(expected.get(i), results.get(i).join(), "Result " + i + " should match its transaction");
+        }
+    }
+
+    @Test
+    @DisplayName("verifyAll on an empty batch should return no futures")
+    void verifyAll_emptyBatch_returnsEmptyList() {
+        assertTrue(verifier.verifyAll(List.of()).isEmpty(), "Empty batch should give no futures");
+    }
+
+    @Test
+    @DisplayName("verifyBlock should accept a block of valid signatures")
+    void verifyBlock_validTransactions_completesTrue() {
+        Transaction reward = Transaction.ofUnits("COINBASE", "Miner", 5_000_000_000L, 0);
+        Transaction cached = signed(2.0);
+        assertTrue(cached.verifySignature(), "Verified once, e.g. on mempool admission");
+        Transaction fresh = signed(3.0);
+
+        Block block = new Block(1, List.of(reward, cached, fresh), Block.createGenesisBlock().getHashValue());
+
+        assertTrue(verifier.verifyBlock(block).join(), "Block with valid signatures should pass");
+        assertTrue(SignatureVerifier.getSharedCache().contains(fresh), "Newly verified signature should be cached");
+    }
+
+    @Test
+    @DisplayName("verifyBlock should reject a block with an unsigned transaction")
+    void verifyBlock_unsignedTransaction_completesFalse() {
+        Transaction unsigned = new Transaction(wallet.getAddress(), "Bob", 4.0);
+        Block block = new Block(1, List.of(signed(5.0), unsigned), Block.createGenesisBlock().getHashValue());
+
+        assertFalse(verifier.verifyBlock(block).join(), "Unsigned transaction should fail the block");
+    }
+
+    @Test
+    @DisplayName("A malformed transaction mid-batch should fail without stalling the rest")
+    void verifyAll_malformedTransactionMidBatch_completesEveryFuture() throws Exception {
+        List<Transaction> batch = new ArrayList<>();
+        for (int i = 0; i < SignatureVerifier.BATCH_SIZE; i++) {
+            batch.add(signed(1.0 + i));
+        }
+        int bad = batch.size() / 2;
+        batch.set(bad, nullSender(batch.get(bad)));
+
+        List<CompletableFuture<Boolean>> results = verifier.verifyAll(batch);
+
+        for (int i = 0; i < batch.size(); i++) {
+            boolean valid = results.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals(i != bad, valid, "Result " + i + " should complete with its own outcome");
+        }
+    }
+
+    @Test
+    @DisplayName("verifyBlock should reject, not hang on, a transaction without a sender")
+    void verifyBlock_nullSender_completesFalse() throws Exception {
+        Transaction malformed = nullSender(signed(6.0));
+        Block block = new Block(1, List.of(signed(7.0), malformed, signed(8.0)), Block.createGenesisBlock().getHashValue());
+
+        assertFalse(verifier.verifyBlock(block).get(5, TimeUnit.SECONDS), "Malformed transaction should fail the block");
+    }
+
+    @Test
+    @DisplayName("Thread count must be at least 1")
+    void constructor_zeroThreads_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new SignatureVerifier(0), "Zero threads should be rejected");
+    }
+
+    private Transaction signed(double amount) {
+        Transaction tx = new Transaction(wallet.getAddress(), "Bob", amount);
+        wallet.signTransaction(tx);
+        return tx;
+    }
+
+    private static Transaction nullSender(Transaction tx) {
+        return new Transaction(tx.getTransactionIdValue(), null, tx.getRecipient(), tx.getAmountUnits(),
+            tx.getFeeUnits(), tx.getTimestamp(), tx.getSignature(), tx.getSenderPublicKey());
+    }
+}
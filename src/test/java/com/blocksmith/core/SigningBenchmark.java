@@ -0,0 +1,78 @@
+package com.blocksmith.core;
+
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput benchmark for transaction signing.
+ *
+ * Compares three ways of signing a payout batch from one wallet:
+ * 1. Per call   - the original path: Signature.getInstance + initSign
+ *                 for every transaction
+ * 2. Reused     - signTransaction() with the thread's initialized signer
+ * 3. Batch      - signTransactions() across all cores
+ *
+ * Not a unit test (surefire skips it). Run with:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.blocksmith.core.SigningBenchmark
+ */
+public class SigningBenchmark {
+
+    private static final int TRANSACTIONS = 5_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) throws Exception {
+        KeyPair keyPair = WalletFactory.generateKeyPair();
+        Wallet wallet = new Wallet(keyPair);
+
+        System.out.println("═══════════════════════════════════════════════════════════");
+        System.out.println("                 TRANSACTION SIGNING BENCHMARK              ");
+        System.out.println("═══════════════════════════════════════════════════════════");
+        System.out.printf("  %,d transactions per round, best of %d rounds%n%n", TRANSACTIONS, ROUNDS);
+
+        double perCallRate = best(batch -> {
+            for (Transaction tx : batch) {
+                Signature ecdsaSign = Signature.getInstance("SHA256withECDSA");
+                ecdsaSign.initSign(keyPair.getPrivateKey());
+                ecdsaSign.update(tx.getSigningPayload());
+                tx.setSignature(ecdsaSign.sign());
+                tx.setSenderPublicKey(keyPair.getPublicKey());
+            }
+        }, wallet);
+        double reusedRate = best(batch -> {
+            for (Transaction tx : batch) {
+                wallet.signTransaction(tx);
+            }
+        }, wallet);
+        double batchRate = best(wallet::signTransactions, wallet);
+
+        System.out.printf("  Per-call signer:      %,10.0f tx/s%n", perCallRate);
+        System.out.printf("  Reused signer:        %,10.0f tx/s  (%.2fx)%n", reusedRate, reusedRate / perCallRate);
+        System.out.printf("  Parallel batch:       %,10.0f tx/s  (%.2fx)%n", batchRate, batchRate / perCallRate);
+    }
+
+    private interface Signer {
+        void sign(List<Transaction> batch) throws Exception;
+    }
+
+    private static double best(Signer signer, Wallet wallet) throws Exception {
+        double bestRate = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            List<Transaction> batch = payouts(wallet, round);
+            long start = System.nanoTime();
+            signer.sign(batch);
+            long elapsed = System.nanoTime() - start;
+            bestRate = Math.max(bestRate, TRANSACTIONS / (elapsed / 1e9));
+        }
+        return bestRate;
+    }
+
+    private static List<Transaction> payouts(Wallet wallet, int round) {
+        List<Transaction> batch = new ArrayList<>(TRANSACTIONS);
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            batch.add(new Transaction(wallet.getAddress(), "payee-" + round + "-" + i, 1.0));
+        }
+        return batch;
+    }
+}
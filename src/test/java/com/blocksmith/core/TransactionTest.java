@@ -1,5 +1,7 @@
 package com.blocksmith.core;
 
+import com.blocksmith.util.Hash256;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
@@ -96,6 +98,20 @@ public class TransactionTest {
         
         assertFalse(tx.isValid());
     }
+
+    @Test
+    @DisplayName("NaN amount should be rejected at construction")
+    void nanAmountShouldBeRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new Transaction("Alice", "Bob", Double.NaN));
+    }
+
+    @Test
+    @DisplayName("Negative fee should be invalid")
+    void negativeFeeShouldBeInvalid() {
+        Transaction tx = new Transaction("Alice", "Bob", 10.0, -0.1);
+        
+        assertFalse(tx.isValid());
+    }
     
     @Test
     @DisplayName("Transaction with negative amount should be invalid")
@@ -184,6 +200,34 @@ public class TransactionTest {
         assertTrue(str.contains("50.00"));
     }
 
+    // ===== SIGNING PAYLOAD TESTS =====
+
+    @Test
+    @DisplayName("Signing payload should be built once and reused")
+    void getSigningPayload_calledTwice_returnsSameArray() {
+        Transaction tx = new Transaction("Alice", "Bob", 1.0);
+
+        assertSame(tx.getSigningPayload(), tx.getSigningPayload(), "Payload should be cached");
+    }
+
+    @Test
+    @DisplayName("Shifting characters between sender and recipient should change the ID")
+    void getSigningPayload_ambiguousConcatenation_differs() {
+        Transaction a = Transaction.ofUnits("ab", "c", 100, 0);
+        Transaction b = new Transaction(a.getTransactionIdValue(), "a", "bc", 100, 0, a.getTimestamp(), null, null);
+
+        assertFalse(java.util.Arrays.equals(a.getSigningPayload(), b.getSigningPayload()),
+            "Length prefixes should keep \"ab\"+\"c\" and \"a\"+\"bc\" apart");
+    }
+
+    @Test
+    @DisplayName("Transaction ID should be the SHA-256 of the signing payload")
+    void transactionId_isHashOfSigningPayload() {
+        Transaction tx = new Transaction("Alice", "Bob", 1.0, 0.1);
+
+        assertEquals(Hash256.sha256(tx.getSigningPayload()), tx.getTransactionIdValue(), "ID should hash the payload");
+    }
+
     // ===== SIGNATURE VERIFICATION TESTS =====
 
     @Test
@@ -238,6 +282,23 @@ public class TransactionTest {
         );
     }
 
+    @Test
+    @DisplayName("Valid signature from a key that is not the sender's should fail verification")
+    void verifySignature_keyNotOwnedBySender_returnsFalse() throws Exception {
+        Wallet victim = new Wallet();
+        KeyPair attackerKeys = WalletFactory.generateKeyPair();
+        Transaction tx = new Transaction(victim.getAddress(), "attacker", 50.0);
+
+        // Mathematically valid signature - but made with the attacker's key
+        java.security.Signature ecdsa = java.security.Signature.getInstance("SHA256withECDSA");
+        ecdsa.initSign(attackerKeys.getPrivateKey());
+        ecdsa.update(tx.getSigningPayload());
+        tx.setSignature(ecdsa.sign());
+        tx.setSenderPublicKey(attackerKeys.getPublicKey());
+
+        assertFalse(tx.verifySignature(), "Key must belong to the sender address");
+    }
+
     @Test
     @DisplayName("Tampered transaction should fail verification")
     void verifySignature_tamperedData_returnsFalse() {
@@ -258,4 +319,34 @@ public class TransactionTest {
         // Assert
         assertFalse(isValid, "Tampered transaction should fail verification");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Changing the fee should invalidate the signature")
+    void verifySignature_tamperedFee_returnsFalse() {
+        Wallet wallet = new Wallet();
+        Transaction tx = new Transaction(wallet.getAddress(), "recipient123", 50.0, 0.1);
+        wallet.signTransaction(tx);
+
+        // Same transaction (ID, timestamp, signature) with only the fee changed
+        Transaction tampered = new Transaction(tx.getTransactionIdValue(), tx.getSender(), tx.getRecipient(),
+            tx.getAmountUnits(), 0L, tx.getTimestamp(), tx.getSignature(), tx.getSenderPublicKey());
+
+        assertTrue(tx.verifySignature(), "Original should verify");
+        assertFalse(tampered.verifySignature(), "Fee is covered by the signature");
+    }
+
+    @Test
+    @DisplayName("Reusing a cached ID and signature with different data should fail verification")
+    void verifySignature_cachedIdWithDifferentData_returnsFalse() {
+        Wallet wallet = new Wallet();
+        Transaction tx = new Transaction(wallet.getAddress(), "recipient123", 50.0, 0.1);
+        wallet.signTransaction(tx);
+        assertTrue(tx.verifySignature(), "Original should verify (and be cached)");
+
+        // Restored copy that claims the same ID but pays someone else, more
+        Transaction forged = new Transaction(tx.getTransactionIdValue(), tx.getSender(), "attacker",
+            tx.getAmountUnits() * 10, 0L, tx.getTimestamp(), tx.getSignature(), tx.getSenderPublicKey());
+
+        assertFalse(forged.verifySignature(), "A cached ID must not vouch for different data");
+    }
+}
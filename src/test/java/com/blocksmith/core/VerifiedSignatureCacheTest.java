@@ -0,0 +1,105 @@
+package com.blocksmith.core;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the CLOCK-evicting signature cache.
+ */
+@DisplayName("VerifiedSignatureCache Tests")
+public class VerifiedSignatureCacheTest {
+
+    private Wallet wallet;
+
+    @BeforeEach
+    void setUp() {
+        wallet = new Wallet();
+    }
+
+    @Test
+    @DisplayName("Added transactions should be found")
+    void add_thenContains_returnsTrue() {
+        VerifiedSignatureCache cache = new VerifiedSignatureCache(10);
+        Transaction tx = signed(1.0);
+
+        assertFalse(cache.contains(tx), "Empty cache should miss");
+        cache.add(tx);
+        assertTrue(cache.contains(tx), "Added transaction should hit");
+        assertEquals(1, cache.size(), "Cache should hold one entry");
+    }
+
+    @Test
+    @DisplayName("Same ID with a different signature should miss")
+    void contains_differentSignature_returnsFalse() {
+        VerifiedSignatureCache cache = new VerifiedSignatureCache(10);
+        Transaction tx = signed(1.0);
+        cache.add(tx);
+
+        Transaction forged = signed(2.0);
+        byte[] original = tx.getSignature();
+        tx.setSignature(forged.getSignature());
+
+        assertFalse(cache.contains(tx), "A different signature must not reuse the cached result");
+        tx.setSignature(original);
+        assertTrue(cache.contains(tx), "The original signature should still hit");
+    }
+
+    @Test
+    @DisplayName("Same ID and signature over different data should miss")
+    void contains_differentPayload_returnsFalse() {
+        VerifiedSignatureCache cache = new VerifiedSignatureCache(10);
+        Transaction tx = signed(1.0);
+        cache.add(tx);
+
+        Transaction copy = new Transaction(tx.getTransactionIdValue(), tx.getSender(), "Mallory",
+            tx.getAmountUnits(), tx.getFeeUnits(), tx.getTimestamp(), tx.getSignature(), tx.getSenderPublicKey());
+
+        assertFalse(cache.contains(copy), "A claimed ID must not vouch for different data");
+    }
+
+    @Test
+    @DisplayName("A full cache should evict an entry that was not used again")
+    void add_whenFull_evictsUnreferencedEntry() {
+        VerifiedSignatureCache cache = new VerifiedSignatureCache(2);
+        Transaction a = signed(1.0);
+        Transaction b = signed(2.0);
+        Transaction c = signed(3.0);
+
+        cache.add(a);
+        cache.add(b);
+        assertTrue(cache.contains(a), "Hit gives a a second chance");
+        cache.add(c);
+
+        assertEquals(2, cache.size(), "Cache should stay at capacity");
+        assertTrue(cache.contains(a), "Recently used entry should survive");
+        assertFalse(cache.contains(b), "Unused entry should be evicted");
+        assertTrue(cache.contains(c), "New entry should be present");
+    }
+
+    @Test
+    @DisplayName("verifySignature should record valid signatures in the shared cache")
+    void verifySignature_validSignature_isCached() {
+        Transaction tx = signed(4.0);
+        VerifiedSignatureCache shared = SignatureVerifier.getSharedCache();
+
+        assertFalse(shared.contains(tx), "Not verified yet");
+        assertTrue(tx.verifySignature(), "Signature should verify");
+        assertTrue(shared.contains(tx), "Verified signature should be cached");
+        assertTrue(tx.verifySignature(), "Second check should still succeed");
+    }
+
+    @Test
+    @DisplayName("Capacity must be at least 1")
+    void constructor_zeroCapacity_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new VerifiedSignatureCache(0), "Zero capacity should be rejected");
+    }
+
+    private Transaction signed(double amount) {
+        Transaction tx = new Transaction(wallet.getAddress(), "Bob", amount);
+        wallet.signTransaction(tx);
+        return tx;
+    }
+}
@@ -0,0 +1,102 @@
+package com.blocksmith.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPairGenerator;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tests for WalletFactory and the KeyPair it produces.
+ */
+public class WalletFactoryTest {
+
+    // ===== KEY PAIR TESTS =====
+
+    @Test
+    @DisplayName("Generated key pair should be an EC key pair")
+    void generateKeyPair_always_returnsEcKeys() {
+        KeyPair keyPair = WalletFactory.generateKeyPair();
+
+        assertEquals("EC", keyPair.getPublicKey().getAlgorithm(), "Public key should be EC");
+        assertEquals("EC", keyPair.getPrivateKey().getAlgorithm(), "Private key should be EC");
+    }
+
+    @Test
+    @DisplayName("Key pair should reject non-EC keys")
+    void keyPair_rsaKeys_throwsException() throws Exception {
+        java.security.KeyPair rsa = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+
+        assertThrows(IllegalArgumentException.class, () -> new KeyPair(rsa),
+            "RSA keys should be rejected");
+    }
+
+    @Test
+    @DisplayName("Wallet built from a key pair should use its keys")
+    void wallet_fromKeyPair_usesKeys() {
+        KeyPair keyPair = WalletFactory.generateKeyPair();
+
+        Wallet first = new Wallet(keyPair);
+        Wallet second = new Wallet(keyPair);
+
+        assertEquals(keyPair.getPublicKey(), first.getPublicKey(), "Wallet should use the given public key");
+        assertEquals(first.getAddress(), second.getAddress(), "Same key pair should give the same address");
+    }
+
+    // ===== POOL TESTS =====
+
+    @Test
+    @DisplayName("Factory should pre-generate key pairs up to the pool size")
+    void constructor_afterStart_fillsPool() throws InterruptedException {
+        try (WalletFactory factory = new WalletFactory(4)) {
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (factory.getPooledCount() < 4 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(4, factory.getPooledCount(), "Pool should fill up in the background");
+            assertEquals(4, factory.getPoolSize(), "Pool should never exceed its size");
+        }
+    }
+
+    @Test
+    @DisplayName("Factory wallets should be distinct and able to sign")
+    void newWallet_manyWallets_distinctAndSigning() {
+        try (WalletFactory factory = new WalletFactory(8)) {
+            Set<String> addresses = new HashSet<>();
+            for (int i = 0; i < 50; i++) {
+                Wallet wallet = factory.newWallet();
+                addresses.add(wallet.getAddress());
+
+                Transaction tx = new Transaction(wallet.getAddress(), "recipient", 1.0 + i);
+                wallet.signTransaction(tx);
+                assertTrue(tx.verifySignature(), "Factory wallet should produce valid signatures");
+            }
+
+            assertEquals(50, addresses.size(), "Every wallet should have its own address");
+        }
+    }
+
+    @Test
+    @DisplayName("Factory should still create wallets after close")
+    void newWallet_afterClose_generatesInline() {
+        WalletFactory factory = new WalletFactory(2);
+        factory.close();
+
+        Wallet wallet = factory.newWallet();
+
+        assertNotNull(wallet.getAddress(), "Closed factory should fall back to inline generation");
+        assertEquals(0, factory.getPooledCount(), "Closed factory should hold no key pairs");
+        assertTrue(factory.getMissCount() >= 1, "Inline generation should count as a miss");
+    }
+
+    @Test
+    @DisplayName("Pool size below 1 should be rejected")
+    void constructor_zeroPoolSize_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new WalletFactory(0),
+            "Pool size 0 should be rejected");
+    }
+}
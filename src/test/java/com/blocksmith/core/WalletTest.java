@@ -162,5 +162,49 @@ public class WalletTest {
             "Transaction's public key should match wallet's public key"
         );
     }
-        
+
+    // ===== BATCH SIGNING TESTS =====
+
+    @Test
+    @DisplayName("Batch signing should produce valid signatures for every transaction")
+    void signTransactions_largeBatch_allSignaturesValid() {
+        Wallet wallet = new Wallet();
+        java.util.List<Transaction> batch = new java.util.ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            batch.add(new Transaction(wallet.getAddress(), "recipient" + i, 1.0 + i));
+        }
+
+        wallet.signTransactions(batch, 4);
+
+        for (Transaction tx : batch) {
+            assertEquals(wallet.getPublicKey(), tx.getSenderPublicKey(), "Every transaction should carry the wallet's key");
+            assertTrue(tx.verifySignature(), "Every batch signature should verify");
+        }
+    }
+
+    @Test
+    @DisplayName("Batch signing should reject the whole batch if one sender does not match")
+    void signTransactions_foreignSender_signsNothing() {
+        Wallet wallet = new Wallet();
+        Transaction own = new Transaction(wallet.getAddress(), "recipient1", 50.0);
+        Transaction foreign = new Transaction("someOtherAddress", "recipient2", 50.0);
+
+        assertThrows(
+            IllegalStateException.class,
+            () -> wallet.signTransactions(java.util.List.of(own, foreign)),
+            "Should throw exception when any sender doesn't match"
+        );
+        assertNull(own.getSignature(), "No transaction should be signed when the batch is rejected");
+    }
+
+    @Test
+    @DisplayName("Reused signer should keep producing valid signatures")
+    void signTransaction_repeatedCalls_signaturesStayValid() {
+        Wallet wallet = new Wallet();
+        for (int i = 0; i < 5; i++) {
+            Transaction tx = new Transaction(wallet.getAddress(), "recipient" + i, 10.0 + i);
+            wallet.signTransaction(tx);
+            assertTrue(tx.verifySignature(), "Signature " + i + " should verify");
+        }
+    }
 }
@@ -1,6 +1,8 @@
 package com.blocksmith.network;
 
+import com.blocksmith.core.Block;
 import com.blocksmith.network.messages.*;
+import com.blocksmith.util.HashUtil;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -71,6 +73,41 @@ class MessageTest {
         assertEquals("node-789", restored.getNodeId());
     }
 
+    // ===== NewBlockMessage Tests =====
+
+    @Test
+    @DisplayName("NewBlockMessage should send hashes as 64-char hex")
+    void newBlockMessage_toJson_writesHashesAsHex() {
+        Block block = new Block(1, "Test data", HashUtil.applySha256("previous"));
+        String json = new NewBlockMessage("node-123", block).toJson();
+
+        assertTrue(json.contains("\"blockHash\":\"" + block.getHash() + "\""), "Block hash should be hex");
+        assertTrue(json.contains("\"previousHash\":\"" + block.getPreviousHash() + "\""), "Previous hash should be hex");
+    }
+
+    @Test
+    @DisplayName("NewBlockMessage should restore block hashes")
+    void newBlockMessage_roundTrip_preservesHashes() {
+        Block block = new Block(1, "Test data", HashUtil.applySha256("previous"));
+        String json = new NewBlockMessage("node-123", block).toJson();
+
+        NewBlockMessage restored = (NewBlockMessage) MessageParser.parse(json);
+
+        assertNotNull(restored, "Message should parse");
+        assertEquals(block.getHashValue(), restored.getBlockHash(), "Block hash should survive round trip");
+        assertEquals(block.getHashValue(), restored.getBlock().getHashValue(), "Block should keep its hash");
+        assertEquals(block.getPreviousHashValue(), restored.getBlock().getPreviousHashValue());
+        assertEquals(block.getMerkleRootValue(), restored.getBlock().getMerkleRootValue());
+    }
+
+    @Test
+    @DisplayName("NewBlockMessage with invalid hash hex should be rejected")
+    void newBlockMessage_invalidHashHex_returnsNull() {
+        String json = "{\"type\":\"NEW_BLOCK\",\"nodeId\":\"n\",\"blockHash\":\"not-a-hash\"}";
+
+        assertNull(MessageParser.parse(json), "Invalid hash should make the message malformed");
+    }
+
     // ===== Timestamp Tests =====
 
     @Test
@@ -0,0 +1,374 @@
+package com.blocksmith.network;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.blocksmith.network.messages.HelloMessage;
+import com.blocksmith.network.messages.PingMessage;
+import com.blocksmith.network.messages.PongMessage;
+
+/**
+ * Tests for the NIO transport: same protocol and handlers as the blocking
+ * transport, served by a fixed set of event-loop threads.
+ */
+@DisplayName("NIO Transport Tests")
+class NioTransportTest {
+
+    private Node node;
+    private Node otherNode;
+    private Peer peer;
+    private NioTransport transport;
+    private final List<Socket> sockets = new ArrayList<>();
+
+    // Use different ports for each test to avoid conflicts
+    private static final int TEST_PORT_BASE = 19300;
+    private static int portCounter = 0;
+
+    private int getNextPort() {
+        return TEST_PORT_BASE + (portCounter++);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+        if (peer != null) {
+            peer.disconnect();
+        }
+        if (transport != null) {
+            transport.close();
+        }
+        if (otherNode != null) {
+            otherNode.stop();
+        }
+        if (node != null) {
+            node.stop();
+        }
+    }
+
+    /**
+     * Opens a plain socket and performs the HELLO handshake by hand.
+     */
+    private Socket connectRaw(int port, BufferedReader[] readerOut) throws IOException {
+        Socket socket = new Socket("localhost", port);
+        socket.setSoTimeout(5000);
+        sockets.add(socket);
+
+        PrintWriter writer = new PrintWriter(socket.getOutputStream(), true);
+        writer.println(new HelloMessage("raw-peer", NetworkConfig.PROTOCOL_VERSION, 9999, 0).toJson());
+
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        readerOut[0] = reader;
+        return socket;
+    }
+
+    private static boolean waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            if (condition.getAsBoolean()) return true;
+            Thread.sleep(20);
+        }
+        return condition.getAsBoolean();
+    }
+
+    private static long countEventLoopThreads(int port) {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(t -> t.getName().startsWith("Nio-EventLoop-" + port + "-"))
+                .count();
+    }
+
+    // ===== INTEROPERABILITY TESTS =====
+
+    @Test
+    @DisplayName("NIO node should answer a blocking Peer's PING with PONG")
+    void nioNode_blockingPeerPing_respondsPong() throws IOException, InterruptedException {
+        int port = getNextPort();
+        node = new Node(port, TransportType.NIO);
+        node.start();
+
+        peer = new Peer("localhost", port);
+        peer.connect();
+        peer.performHandshake("test-peer", 9999, 0);
+        assertEquals(node.getNodeId(), peer.getRemoteNodeId(),
+                "Peer should learn the NIO node's ID from its HELLO");
+
+        CountDownLatch latch = new CountDownLatch(1);
+        List<Message> received = new ArrayList<>();
+        peer.startListening(new MessageListener() {
+            @Override
+            public void onMessage(Message message) {
+                received.add(message);
+                latch.countDown();
+            }
+
+            @Override
+            public void onDisconnect() {}
+        });
+
+        peer.sendMessage(new PingMessage("test-peer"));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Should receive PONG within 5 seconds");
+        assertEquals(MessageType.PONG, received.get(0).getType(), "Response should be PONG");
+    }
+
+    @Test
+    @DisplayName("Custom handler should be called with the remote node ID")
+    void nioNode_customHandler_getsCalled() throws IOException, InterruptedException {
+        int port = getNextPort();
+        node = new Node(port, TransportType.NIO);
+
+        CountDownLatch latch = new CountDownLatch(1);
+        List<String> senders = new ArrayList<>();
+        node.registerHandler(MessageType.PONG, (message, context) -> {
+            senders.add(context.getRemoteNodeId());
+            latch.countDown();
+        });
+        node.start();
+
+        peer = new Peer("localhost", port);
+        peer.connect();
+        peer.performHandshake("test-peer", 9999, 0);
+        peer.sendMessage(new PongMessage("test-peer"));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS), "Custom handler should be called within 5 seconds");
+        assertEquals("test-peer", senders.get(0), "Context should carry the sender's node ID");
+    }
+
+    @Test
+    @DisplayName("NIO node should connect to another NIO node")
+    void nioNode_connect_toNioNode_handshakeCompletes() throws IOException, InterruptedException {
+        int port = getNextPort();
+        node = new Node(port, TransportType.NIO);
+        node.start();
+        otherNode = new Node(getNextPort(), TransportType.NIO);
+        otherNode.start();
+
+        CountDownLatch pongLatch = new CountDownLatch(1);
+        otherNode.registerHandler(MessageType.PONG, (message, context) -> pongLatch.countDown());
+
+        PeerInfo info = otherNode.connect("localhost", port);
+
+        assertEquals(PeerState.CONNECTED, info.getState(), "Outbound peer should be connected");
+        assertEquals(node.getNodeId(), info.getNodeId(), "Outbound peer should carry the remote node ID");
+        assertEquals(1, otherNode.getPeerManager().getConnectedCount(), "Connecting node should track the peer");
+
+        // The accepting side registers the peer under the port from our HELLO
+        otherNode.getNioTransport().broadcast(new PingMessage(otherNode.getNodeId()).toJson());
+        assertTrue(pongLatch.await(5, TimeUnit.SECONDS), "PING over the NIO link should be answered");
+        assertEquals(1, node.getPeerManager().getConnectedCount(), "Accepting node should track the peer");
+    }
+
+    @Test
+    @DisplayName("connectToPeer() should be rejected on an NIO node")
+    void nioNode_connectToPeer_throws() throws IOException {
+        node = new Node(getNextPort(), TransportType.NIO);
+        node.start();
+
+        assertThrows(IllegalStateException.class, () -> node.connectToPeer("localhost", 1),
+                "connectToPeer() starts a listener thread per peer - NIO nodes use connect()");
+    }
+
+    @Test
+    @DisplayName("Cancelling a pending connect should close its connection")
+    void nioNode_connectCancelled_closesConnection() throws IOException, InterruptedException {
+        node = new Node(getNextPort(), TransportType.NIO);
+        node.start();
+
+        // Accepts the TCP connection but never answers HELLO
+        try (ServerSocket silent = new ServerSocket(getNextPort())) {
+            NioTransport transport = node.getNioTransport();
+            CompletableFuture<PeerInfo> handshake = transport.connect("localhost", silent.getLocalPort());
+            sockets.add(silent.accept());
+            assertEquals(1, transport.getConnectionCount(), "Pending connection should be open");
+
+            handshake.cancel(true);
+
+            assertTrue(waitFor(() -> transport.getConnectionCount() == 0),
+                    "Cancelled connection should be closed and forgotten");
+        }
+    }
+
+    // ===== SCALABILITY TESTS =====
+
+    @Test
+    @DisplayName("Many connections should be served by a fixed number of event loops")
+    void nioNode_manyConnections_fixedThreadCount() throws IOException {
+        int port = getNextPort();
+        node = new Node(port, TransportType.NIO);
+        node.start();
+
+        int connectionCount = 200;
+        BufferedReader[] readers = new BufferedReader[connectionCount];
+        for (int i = 0; i < connectionCount; i++) {
+            BufferedReader[] reader = new BufferedReader[1];
+            PrintWriter writer = new PrintWriter(connectRaw(port, reader).getOutputStream(), true);
+            readers[i] = reader[0];
+            assertNotNull(readers[i].readLine(), "Connection " + i + " should receive HELLO");
+            writer.println(new PingMessage("raw-peer").toJson());
+        }
+
+        for (int i = 0; i < connectionCount; i++) {
+            Message reply = MessageParser.parse(readers[i].readLine());
+            assertNotNull(reply, "Connection " + i + " should receive a reply");
+            assertEquals(MessageType.PONG, reply.getType(), "Connection " + i + " should receive PONG");
+        }
+
+        assertEquals(connectionCount, node.getNioTransport().getConnectionCount(),
+                "Every connection should be open");
+        assertEquals(NetworkConfig.NIO_EVENT_LOOPS, countEventLoopThreads(port),
+                "Thread count should not grow with the number of connections");
+    }
+
+    @Test
+    @DisplayName("A peer that stops reading should be disconnected once its write queue is full")
+    void nioNode_peerNotReading_disconnected() throws IOException, InterruptedException {
+        int port = getNextPort();
+        node = new Node(port, TransportType.NIO);
+        node.start();
+
+        BufferedReader[] reader = new BufferedReader[1];
+        connectRaw(port, reader);
+        assertNotNull(reader[0].readLine(), "Should receive HELLO");
+        NioTransport transport = node.getNioTransport();
+        assertTrue(waitFor(() -> node.getPeerManager().getConnectedCount() == 1), "Handshake should complete");
+
+        // The raw peer never reads again: fill its queue past the limit
+        String line = "x".repeat(1024 * 1024);
+        int lines = NetworkConfig.MAX_WRITE_QUEUE_BYTES / line.length() * 2;
+        for (int i = 0; i < lines; i++) {
+            transport.broadcast(line);
+        }
+
+        assertTrue(waitFor(() -> transport.getConnectionCount() == 0),
+                "Peer that does not read should be disconnected");
+    }
+
+    // ===== IDLE TIMEOUT TESTS =====
+
+    @Test
+    @DisplayName("An inbound socket that never sends HELLO should be closed after the idle timeout")
+    void nioTransport_silentInbound_closedAfterTimeout() throws IOException, InterruptedException {
+        int port = getNextPort();
+        transport = new NioTransport("node-test", port, new HashMap<>(), new PeerManager(), 1, 300);
+        transport.start();
+
+        Socket socket = new Socket("localhost", port);
+        socket.setSoTimeout(5000);
+        sockets.add(socket);
+        assertTrue(waitFor(() -> transport.getConnectionCount() == 1), "Silent socket should be accepted");
+
+        long start = System.currentTimeMillis();
+        assertEquals(-1, socket.getInputStream().read(), "Silent socket should be closed by the node");
+        assertTrue(System.currentTimeMillis() - start >= 200, "Should not be closed before the timeout");
+        assertTrue(waitFor(() -> transport.getConnectionCount() == 0), "Closed connection should be forgotten");
+    }
+
+    @Test
+    @DisplayName("A peer that keeps sending should outlive the idle timeout")
+    void nioTransport_activePeer_staysConnected() throws IOException, InterruptedException {
+        int port = getNextPort();
+        PeerManager peers = new PeerManager();
+        transport = new NioTransport("node-test", port, new HashMap<>(), peers, 1, 300);
+        transport.start();
+
+        BufferedReader[] reader = new BufferedReader[1];
+        PrintWriter writer = new PrintWriter(connectRaw(port, reader).getOutputStream(), true);
+        assertNotNull(reader[0].readLine(), "Should receive HELLO");
+
+        for (int i = 0; i < 10; i++) {
+            writer.println(new PongMessage("raw-peer").toJson());
+            Thread.sleep(100);
+        }
+
+        assertEquals(1, transport.getConnectionCount(), "Active peer should still be connected after 1 s");
+        assertEquals(1, peers.getConnectedCount(), "Active peer should still be registered");
+    }
+
+    // ===== FRAMING TESTS =====
+
+    @Test
+    @DisplayName("A message split across writes should be reassembled")
+    void nioNode_splitMessage_reassembled() throws IOException, InterruptedException {
+        int port = getNextPort();
+        node = new Node(port, TransportType.NIO);
+        node.start();
+
+        BufferedReader[] reader = new BufferedReader[1];
+        Socket socket = connectRaw(port, reader);
+        assertNotNull(reader[0].readLine(), "Should receive HELLO");
+
+        byte[] ping = (new PingMessage("raw-peer").toJson() + "\n").getBytes(StandardCharsets.UTF_8);
+        OutputStream out = socket.getOutputStream();
+        out.write(ping, 0, ping.length / 2);
+        out.flush();
+        Thread.sleep(100);
+        out.write(ping, ping.length / 2, ping.length - ping.length / 2);
+        out.flush();
+
+        Message reply = MessageParser.parse(reader[0].readLine());
+        assertNotNull(reply, "Should receive a reply");
+        assertEquals(MessageType.PONG, reply.getType(), "Split PING should be answered with PONG");
+    }
+
+    @Test
+    @DisplayName("Invalid HELLO should close the connection")
+    void nioNode_invalidHello_closesConnection() throws IOException {
+        int port = getNextPort();
+        node = new Node(port, TransportType.NIO);
+        node.start();
+
+        Socket socket = new Socket("localhost", port);
+        socket.setSoTimeout(5000);
+        sockets.add(socket);
+        new PrintWriter(socket.getOutputStream(), true).println("not json");
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+        assertNull(reader.readLine(), "Node should close the connection after a bad HELLO");
+    }
+
+    @Test
+    @DisplayName("A failing handler should not stop the event loop")
+    void nioNode_handlerThrows_keepsServing() throws IOException {
+        int port = getNextPort();
+        node = new Node(port, TransportType.NIO);
+        node.registerHandler(MessageType.PONG, (message, context) -> {
+            throw new IllegalStateException("handler failure");
+        });
+        node.start();
+
+        BufferedReader[] reader = new BufferedReader[1];
+        PrintWriter writer = new PrintWriter(connectRaw(port, reader).getOutputStream(), true);
+        assertNotNull(reader[0].readLine(), "Should receive HELLO");
+
+        writer.println(new PongMessage("raw-peer").toJson());
+        writer.println(new PingMessage("raw-peer").toJson());
+
+        Message reply = MessageParser.parse(reader[0].readLine());
+        assertNotNull(reply, "Should receive a reply");
+        assertEquals(MessageType.PONG, reply.getType(), "Connection should keep working after a handler fails");
+    }
+}
@@ -0,0 +1,144 @@
+package com.blocksmith.storage;
+
+import com.blocksmith.util.Hash256;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the memory-mapped, segmented block store.
+ */
+@DisplayName("FileBlockStore Tests")
+public class FileBlockStoreTest {
+
+    private static final int SMALL_SEGMENT = 256;
+
+    @TempDir
+    Path directory;
+
+    // ===== APPEND / READ TESTS =====
+
+    @Test
+    @DisplayName("Appended records should be readable by height")
+    void append_thenRead_returnsRecords() throws IOException {
+        try (FileBlockStore store = new FileBlockStore(directory, SMALL_SEGMENT)) {
+            assertEquals(0, store.append(hash(0), record(0)), "First record should get height 0");
+            assertEquals(1, store.append(hash(1), record(1)), "Second record should get height 1");
+
+            assertEquals(2, store.size(), "Store should hold two records");
+            assertArrayEquals(record(1), store.read(1), "Record should read back unchanged");
+            assertEquals(hash(0), store.getBlockHash(0), "Hash should come from the index");
+        }
+    }
+
+    @Test
+    @DisplayName("Reading a missing height should throw")
+    void read_missingHeight_throwsException() throws IOException {
+        try (FileBlockStore store = new FileBlockStore(directory, SMALL_SEGMENT)) {
+            store.append(hash(0), record(0));
+
+            assertThrows(IndexOutOfBoundsException.class, () -> store.read(1), "Height 1 does not exist");
+            assertThrows(IndexOutOfBoundsException.class, () -> store.getBlockHash(-1), "Negative height");
+        }
+    }
+
+    @Test
+    @DisplayName("Records larger than a segment should be rejected")
+    void append_recordTooLarge_throwsException() throws IOException {
+        try (FileBlockStore store = new FileBlockStore(directory, SMALL_SEGMENT)) {
+            assertThrows(IllegalArgumentException.class,
+                () -> store.append(hash(0), new byte[SMALL_SEGMENT]), "Record cannot span segments");
+            assertEquals(0, store.size(), "Nothing should be stored");
+        }
+    }
+
+    @Test
+    @DisplayName("Full segments should roll over to a new segment file")
+    void append_manyRecords_rollsOverSegments() throws IOException {
+        try (FileBlockStore store = new FileBlockStore(directory, SMALL_SEGMENT)) {
+            for (int i = 0; i < 50; i++) {
+                store.append(hash(i), record(i));
+            }
+
+            assertTrue(store.getSegmentCount() > 1, "50 records should not fit in one 256-byte segment");
+            for (int i = 0; i < 50; i++) {
+                assertArrayEquals(record(i), store.read(i), "Record " + i + " should read back unchanged");
+            }
+        }
+    }
+
+    // ===== RECOVERY TESTS =====
+
+    @Test
+    @DisplayName("Reopening should restore all records and hashes")
+    void reopen_afterClose_restoresRecords() throws IOException {
+        try (FileBlockStore store = new FileBlockStore(directory, SMALL_SEGMENT)) {
+            for (int i = 0; i < 20; i++) {
+                store.append(hash(i), record(i));
+            }
+        }
+
+        try (FileBlockStore store = new FileBlockStore(directory, SMALL_SEGMENT)) {
+            assertEquals(20, store.size(), "All records should survive a reopen");
+            assertArrayEquals(record(19), store.read(19), "Last record should read back unchanged");
+            assertEquals(hash(7), store.getBlockHash(7), "Hashes should survive a reopen");
+
+            assertEquals(20, store.append(hash(20), record(20)), "Appends should continue at the next height");
+            assertArrayEquals(record(19), store.read(19), "New append must not overwrite the old tail");
+        }
+    }
+
+    @Test
+    @DisplayName("A partial index entry should be dropped on open")
+    void reopen_tornIndexEntry_dropsIt() throws IOException {
+        try (FileBlockStore store = new FileBlockStore(directory, SMALL_SEGMENT)) {
+            store.append(hash(0), record(0));
+            store.append(hash(1), record(1));
+        }
+        try (FileChannel index = FileChannel.open(directory.resolve("blocks.idx"), StandardOpenOption.WRITE)) {
+            index.truncate(index.size() - 5);
+        }
+
+        try (FileBlockStore store = new FileBlockStore(directory, SMALL_SEGMENT)) {
+            assertEquals(1, store.size(), "Torn entry should be dropped");
+            assertArrayEquals(record(0), store.read(0), "Complete entry should survive");
+        }
+    }
+
+    @Test
+    @DisplayName("A last record with a bad checksum should be dropped on open")
+    void reopen_corruptLastRecord_dropsIt() throws IOException {
+        try (FileBlockStore store = new FileBlockStore(directory, SMALL_SEGMENT)) {
+            store.append(hash(0), record(0));
+            store.append(hash(1), record(1));
+        }
+        // Flip a payload byte of the second record (header 8 bytes + first record)
+        Path segment = directory.resolve("blocks-00000.seg");
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[8 + record(0).length + 8] ^= 1;
+        Files.write(segment, bytes);
+
+        try (FileBlockStore store = new FileBlockStore(directory, SMALL_SEGMENT)) {
+            assertEquals(1, store.size(), "Corrupt tail record should be dropped");
+            assertEquals(1, store.append(hash(1), record(1)), "Next append should reuse the height");
+            assertArrayEquals(record(1), store.read(1), "Re-appended record should read back");
+        }
+    }
+
+    private static Hash256 hash(int i) {
+        return Hash256.sha256("block-" + i);
+    }
+
+    private static byte[] record(int i) {
+        return ("record number " + i).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,66 @@
+package com.blocksmith.storage;
+
+import com.blocksmith.util.Hash256;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for state snapshot files.
+ */
+@DisplayName("StateSnapshot Tests")
+public class StateSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Snapshot should survive a write/read round trip")
+    void write_thenRead_restoresSnapshot() throws IOException {
+        Path file = directory.resolve("state.snapshot");
+        Map<String, Long> balances = Map.of("Alice", 1_250_000_000L, "Bob", -5L, "Zoë", 0L);
+
+        new StateSnapshot(42, Hash256.sha256("tip"), balances).write(file);
+        StateSnapshot restored = StateSnapshot.read(file);
+
+        assertNotNull(restored, "Snapshot should be readable");
+        assertEquals(42, restored.getHeight(), "Height should be restored");
+        assertEquals(Hash256.sha256("tip"), restored.getTipHash(), "Tip hash should be restored");
+        assertEquals(balances, restored.getBalances(), "Balances should be restored");
+        assertFalse(Files.exists(directory.resolve("state.snapshot.tmp")), "Temporary file should be renamed away");
+    }
+
+    @Test
+    @DisplayName("Writing again should replace the previous snapshot")
+    void write_twice_replacesSnapshot() throws IOException {
+        Path file = directory.resolve("state.snapshot");
+        new StateSnapshot(1, Hash256.sha256("one"), Map.of("Alice", 1L)).write(file);
+        new StateSnapshot(2, Hash256.sha256("two"), Map.of("Bob", 2L)).write(file);
+
+        StateSnapshot restored = StateSnapshot.read(file);
+
+        assertEquals(2, restored.getHeight(), "Latest snapshot should win");
+        assertEquals(Map.of("Bob", 2L), restored.getBalances(), "Old balances should be gone");
+    }
+
+    @Test
+    @DisplayName("Missing or damaged snapshots should read as null")
+    void read_missingOrCorrupt_returnsNull() throws IOException {
+        Path file = directory.resolve("state.snapshot");
+        assertNull(StateSnapshot.read(file), "Missing file should read as null");
+
+        new StateSnapshot(7, Hash256.sha256("tip"), Map.of("Alice", 100L)).write(file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[10] ^= 1;
+        Files.write(file, bytes);
+
+        assertNull(StateSnapshot.read(file), "Checksum mismatch should read as null");
+    }
+}
@@ -0,0 +1,157 @@
+package com.blocksmith.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the group-commit write-ahead log.
+ */
+@DisplayName("WriteAheadLog Tests")
+public class WriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    // ===== APPEND / RECOVERY TESTS =====
+
+    @Test
+    @DisplayName("Synced records should be recovered after reopening")
+    void append_thenReopen_recoversRecords() throws IOException {
+        Path file = directory.resolve("test.log");
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            assertTrue(log.getRecoveredRecords().isEmpty(), "New log should be empty");
+            log.append(record(1));
+            long last = log.append(record(2));
+            log.awaitDurable(last);
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            List<byte[]> records = log.getRecoveredRecords();
+            assertEquals(2, records.size(), "Both records should be recovered");
+            assertArrayEquals(record(1), records.get(0), "Records should keep their order");
+            assertArrayEquals(record(2), records.get(1), "Records should keep their order");
+        }
+    }
+
+    @Test
+    @DisplayName("Close should flush records that were only queued")
+    void close_withQueuedRecords_flushesThem() throws IOException {
+        Path file = directory.resolve("test.log");
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            for (int i = 0; i < 100; i++) {
+                log.append(record(i));
+            }
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            assertEquals(100, log.getRecoveredRecords().size(), "Queued records should be written on close");
+        }
+    }
+
+    @Test
+    @DisplayName("A torn last record should be cut off on open")
+    void reopen_tornTail_truncatesIt() throws IOException {
+        Path file = directory.resolve("test.log");
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            log.append(record(1));
+            log.append(record(2));
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            assertEquals(1, log.getRecoveredRecords().size(), "Torn record should be dropped");
+            log.append(record(3));
+        }
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            List<byte[]> records = log.getRecoveredRecords();
+            assertEquals(2, records.size(), "New record should follow the last intact one");
+            assertArrayEquals(record(3), records.get(1), "New record should be readable");
+        }
+    }
+
+    // ===== GROUP COMMIT TESTS =====
+
+    @Test
+    @DisplayName("Concurrent appends should share fsyncs")
+    void awaitDurable_concurrentWriters_batchesSyncs() throws Exception {
+        int writers = 8;
+        int perWriter = 50;
+        Path file = directory.resolve("test.log");
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        log.awaitDurable(log.append(record(writer * 1000 + i)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            assertTrue(log.getSyncCount() < writers * perWriter,
+                "Group commit should need fewer fsyncs than records, got " + log.getSyncCount());
+        } finally {
+            pool.shutdown();
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            assertEquals(writers * perWriter, log.getRecoveredRecords().size(), "Every record should be on disk");
+        }
+    }
+
+    // ===== COMPACTION TESTS =====
+
+    @Test
+    @DisplayName("Rewrite should replace the log contents")
+    void rewrite_replacesRecords() throws IOException {
+        Path file = directory.resolve("test.log");
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(record(i));
+            }
+            log.rewrite(List.of(record(42)));
+            log.append(record(43));
+        }
+
+        try (WriteAheadLog log = new WriteAheadLog(file)) {
+            List<byte[]> records = log.getRecoveredRecords();
+            assertEquals(2, records.size(), "Only the rewritten and later records should remain");
+            assertArrayEquals(record(42), records.get(0), "Rewritten record should come first");
+            assertArrayEquals(record(43), records.get(1), "Appends should continue after a rewrite");
+        }
+    }
+
+    @Test
+    @DisplayName("A closed log should reject appends")
+    void append_afterClose_throwsException() throws IOException {
+        WriteAheadLog log = new WriteAheadLog(directory.resolve("test.log"));
+        log.close();
+
+        assertThrows(IOException.class, () -> log.append(record(1)), "Closed log should reject appends");
+    }
+
+    private static byte[] record(int i) {
+        return ("record " + i).getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,58 @@
+package com.blocksmith.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for fixed-point amount conversion.
+ */
+@DisplayName("AmountUtil Tests")
+public class AmountUtilTest {
+
+    @Test
+    @DisplayName("Decimal amounts should convert to exact units")
+    void toUnits_decimalAmounts_areExact() {
+        assertEquals(5_000_000_000L, AmountUtil.toUnits(50.0), "50 coins");
+        assertEquals(10_000_000L, AmountUtil.toUnits(0.1), "0.1 coin");
+        assertEquals(1L, AmountUtil.toUnits(0.00000001), "Smallest unit");
+    }
+
+    @Test
+    @DisplayName("Unit sums should be exact where doubles drift")
+    void toUnits_sum_hasNoDrift() {
+        assertNotEquals(0.3, 0.1 + 0.2, "Doubles drift (sanity check)");
+        assertEquals(AmountUtil.toUnits(0.3), AmountUtil.toUnits(0.1) + AmountUtil.toUnits(0.2), "Units add exactly");
+    }
+
+    @Test
+    @DisplayName("Amounts with too many decimals should round half-even")
+    void toUnits_extraDecimals_roundsHalfEven() {
+        assertEquals(0L, AmountUtil.toUnits(0.000000005), "Half rounds to even (0)");
+        assertEquals(2L, AmountUtil.toUnits(0.000000015), "Half rounds to even (2)");
+    }
+
+    @Test
+    @DisplayName("NaN, infinity and out-of-range amounts should be rejected")
+    void toUnits_invalidAmounts_throwException() {
+        assertThrows(IllegalArgumentException.class, () -> AmountUtil.toUnits(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> AmountUtil.toUnits(Double.POSITIVE_INFINITY));
+        assertThrows(IllegalArgumentException.class, () -> AmountUtil.toUnits(1e12), "Above ~92 billion coins");
+    }
+
+    @Test
+    @DisplayName("Units should convert back and format without trailing zeros")
+    void toCoinsAndFormat_roundTrip() {
+        assertEquals(50.1, AmountUtil.toCoins(5_010_000_000L), "Units to coins");
+        assertEquals("50.1", AmountUtil.format(5_010_000_000L), "Formatted coins");
+        assertEquals("0", AmountUtil.format(0), "Zero");
+    }
+
+    @Test
+    @DisplayName("One coin should convert to UNITS_PER_COIN units")
+    void toUnits_oneCoin_matchesUnitsPerCoin() {
+        assertEquals(BlockchainConfig.UNITS_PER_COIN, AmountUtil.toUnits(1.0), "Scale and units per coin agree");
+        assertEquals(1.0, AmountUtil.toCoins(BlockchainConfig.UNITS_PER_COIN), "And back");
+    }
+}
@@ -0,0 +1,105 @@
+package com.blocksmith.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the Hash256 value type.
+ */
+@DisplayName("Hash256 Tests")
+public class Hash256Test {
+
+    private static final String HEX = HashUtil.applySha256("BlockSmith");
+
+    // ===== CONVERSION TESTS =====
+
+    @Test
+    @DisplayName("Hex should survive a round trip")
+    void fromHex_toHex_roundTrips() {
+        assertEquals(HEX, Hash256.fromHex(HEX).toHex(), "Hex should round-trip unchanged");
+    }
+
+    @Test
+    @DisplayName("Upper-case hex should render as lower-case")
+    void fromHex_upperCase_rendersLowerCase() {
+        assertEquals(HEX, Hash256.fromHex(HEX.toUpperCase()).toHex(), "Hex output should be lower-case");
+    }
+
+    @Test
+    @DisplayName("Bytes should survive a round trip")
+    void fromBytes_toBytes_roundTrips() {
+        byte[] bytes = HashUtil.hexToBytes(HEX);
+        assertArrayEquals(bytes, Hash256.fromBytes(bytes).toBytes(), "Bytes should round-trip unchanged");
+    }
+
+    @Test
+    @DisplayName("writeTo should copy bytes at the given offset")
+    void writeTo_withOffset_copiesBytes() {
+        byte[] dest = new byte[40];
+        Hash256.fromHex(HEX).writeTo(dest, 4);
+
+        assertEquals(HEX, HashUtil.bytesToHex(java.util.Arrays.copyOfRange(dest, 4, 36)), "Bytes should start at offset");
+        assertEquals(0, dest[0], "Bytes before offset should be untouched");
+    }
+
+    @Test
+    @DisplayName("sha256 should match HashUtil.applySha256")
+    void sha256_text_matchesHashUtil() {
+        assertEquals(HEX, Hash256.sha256("BlockSmith").toHex(), "Hash256.sha256 should match hex hash");
+    }
+
+    @Test
+    @DisplayName("Invalid hex should be rejected")
+    void fromHex_invalidInput_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> Hash256.fromHex("abc"), "Short hex should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> Hash256.fromHex("z".repeat(64)), "Non-hex should be rejected");
+        assertThrows(IllegalArgumentException.class, () -> Hash256.fromBytes(new byte[31]), "31 bytes should be rejected");
+    }
+
+    // ===== EQUALITY TESTS =====
+
+    @Test
+    @DisplayName("Equal hashes should be equal with equal hash codes")
+    void equals_sameValue_isEqual() {
+        Hash256 a = Hash256.fromHex(HEX);
+        Hash256 b = Hash256.fromBytes(HashUtil.hexToBytes(HEX));
+
+        assertEquals(a, b, "Same bytes should be equal");
+        assertEquals(a.hashCode(), b.hashCode(), "Equal hashes should have equal hash codes");
+    }
+
+    @Test
+    @DisplayName("Hashes differing in the last byte should not be equal")
+    void equals_lastByteDiffers_notEqual() {
+        byte[] bytes = HashUtil.hexToBytes(HEX);
+        Hash256 a = Hash256.fromBytes(bytes);
+        bytes[31] ^= 1;
+        Hash256 b = Hash256.fromBytes(bytes);
+
+        assertNotEquals(a, b, "Different last byte should not be equal");
+    }
+
+    @Test
+    @DisplayName("compareTo should order like hex strings")
+    void compareTo_matchesHexOrder() {
+        Hash256 low = Hash256.fromHex("7f" + "ff".repeat(31));
+        Hash256 high = Hash256.fromHex("80" + "00".repeat(31));
+
+        assertTrue(low.compareTo(high) < 0, "0x7f... should sort before 0x80... (unsigned)");
+        assertEquals(0, low.compareTo(Hash256.fromHex(low.toHex())), "Equal hashes should compare as 0");
+    }
+
+    // ===== DIFFICULTY TESTS =====
+
+    @Test
+    @DisplayName("Difficulty check should agree with leading hex zeros")
+    void meetsDifficulty_matchesLeadingHexZeros() {
+        Hash256 hash = Hash256.fromHex("000" + "f".repeat(61));
+
+        assertTrue(hash.meetsDifficulty(3), "Three hex zeros should meet difficulty 3");
+        assertFalse(hash.meetsDifficulty(4), "Three hex zeros should not meet difficulty 4");
+        assertEquals(256, Hash256.ZERO.leadingZeroBits(), "Zero hash has 256 leading zero bits");
+    }
+}
@@ -56,4 +56,105 @@ public class HashUtilTest {
         String hash = HashUtil.applySha256("Test");
         assertTrue(hash.matches("[0-9a-f]{64}"), "Hash should only contain lowercase hexadecimal characters");
     }
+
+    // ===== BYTE-LEVEL DIFFICULTY TESTS =====
+
+    @Test
+    @DisplayName("meetsDifficulty should agree with the hex prefix check")
+    void meetsDifficulty_sameAsHexPrefix() {
+        for (int i = 0; i < 200; i++) {
+            byte[] hash = HashUtil.sha256(("input-" + i).getBytes());
+            String hex = HashUtil.bytesToHex(hash);
+            for (int difficulty = 0; difficulty <= 3; difficulty++) {
+                assertEquals(hex.startsWith("0".repeat(difficulty)), HashUtil.meetsDifficulty(hash, difficulty),
+                    "Bit check should match hex check for " + hex + " at difficulty " + difficulty);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("meetsDifficulty should handle odd difficulties (half bytes)")
+    void meetsDifficulty_oddDifficulty_checksHighNibble() {
+        byte[] hash = new byte[32];
+        hash[1] = 0x0f;
+
+        assertTrue(HashUtil.meetsDifficulty(hash, 3), "00 0f.. has three leading hex zeros");
+        assertFalse(HashUtil.meetsDifficulty(hash, 4), "00 0f.. does not have four leading hex zeros");
+    }
+
+    @Test
+    @DisplayName("hexToBytes should reverse bytesToHex")
+    void hexToBytes_roundTrip_preservesBytes() {
+        byte[] hash = HashUtil.sha256("round trip".getBytes());
+
+        assertArrayEquals(hash, HashUtil.hexToBytes(HashUtil.bytesToHex(hash)), "Round trip should preserve bytes");
+    }
+
+    @Test
+    @DisplayName("isHexDigest should only accept 64 lowercase hex characters")
+    void isHexDigest_variousInputs() {
+        assertTrue(HashUtil.isHexDigest(HashUtil.applySha256("x")), "SHA-256 hex should be a digest");
+        assertFalse(HashUtil.isHexDigest("0"), "Short string should not be a digest");
+        assertFalse(HashUtil.isHexDigest("z".repeat(64)), "Non-hex characters should be rejected");
+    }
+
+    // ===== BYTE API TESTS =====
+
+    @Test
+    @DisplayName("sha256 should match the FIPS 180-2 test vector for 'abc'")
+    void sha256_abc_matchesKnownVector() {
+        assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad",
+            HashUtil.bytesToHex(HashUtil.sha256("abc".getBytes())), "SHA-256('abc') should match the standard vector");
+    }
+
+    @Test
+    @DisplayName("sha256 with offsets should hash only the given slice")
+    void sha256_slice_hashesOnlySlice() {
+        byte[] input = "xxabcxx".getBytes();
+        byte[] out = new byte[40];
+
+        HashUtil.sha256(input, 2, 3, out, 8);
+
+        byte[] expected = HashUtil.sha256("abc".getBytes());
+        assertArrayEquals(expected, java.util.Arrays.copyOfRange(out, 8, 40), "Slice hash should equal hash of 'abc'");
+    }
+
+    @Test
+    @DisplayName("String and byte APIs should agree, including non-ASCII input")
+    void sha256_stringInput_matchesUtf8Bytes() {
+        for (String input : new String[] {"Hello BlockSmith", "zażółć gęślą jaźń", "x".repeat(1000)}) {
+            byte[] out = new byte[32];
+            HashUtil.sha256(input, out);
+
+            assertArrayEquals(HashUtil.sha256(input.getBytes(java.nio.charset.StandardCharsets.UTF_8)), out,
+                "String hash should equal hash of its UTF-8 bytes");
+        }
+    }
+
+    @Test
+    @DisplayName("doubleSha256 should equal sha256 applied twice")
+    void doubleSha256_abc_matchesKnownVector() {
+        assertEquals("4f8b42c22dd3729b519ba6f68d2da7cc5b2d606d05daed5ad5128cc03e6c6358",
+            HashUtil.bytesToHex(HashUtil.doubleSha256("abc".getBytes())), "Double SHA-256 of 'abc' should match");
+    }
+
+    @Test
+    @DisplayName("Hashing from many threads should give consistent results")
+    void applySha256_concurrentCallers_consistentResults() throws InterruptedException {
+        String expected = HashUtil.applySha256("shared input");
+        java.util.concurrent.atomic.AtomicInteger mismatches = new java.util.concurrent.atomic.AtomicInteger();
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    if (!expected.equals(HashUtil.applySha256("shared input"))) mismatches.incrementAndGet();
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) thread.join();
+
+        assertEquals(0, mismatches.get(), "Per-thread digests should never corrupt each other's results");
+    }
 }
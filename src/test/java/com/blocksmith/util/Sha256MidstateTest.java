@@ -0,0 +1,63 @@
+package com.blocksmith.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * Tests for SHA-256 midstate hashing.
+ *
+ * Every result is compared against the JDK's MessageDigest, which is
+ * the reference implementation.
+ */
+@DisplayName("Sha256Midstate Tests")
+public class Sha256MidstateTest {
+
+    @Test
+    @DisplayName("80-byte header hash should match MessageDigest for many nonces")
+    void hash_headerWithChangingTail_matchesMessageDigest() {
+        byte[] header = new byte[80];
+        new Random(42).nextBytes(header);
+        Sha256Midstate midstate = new Sha256Midstate(header, 64);
+        byte[] out = new byte[32];
+
+        for (int nonce = 0; nonce < 500; nonce++) {
+            header[76] = (byte) (nonce >>> 24);
+            header[77] = (byte) (nonce >>> 16);
+            header[78] = (byte) (nonce >>> 8);
+            header[79] = (byte) nonce;
+
+            midstate.hash(header, out);
+
+            assertArrayEquals(HashUtil.sha256(header), out, "Midstate hash should match for nonce " + nonce);
+        }
+    }
+
+    @Test
+    @DisplayName("Other message lengths should also match MessageDigest")
+    void hash_variousLengths_matchesMessageDigest() {
+        Random random = new Random(7);
+        int[][] shapes = { {0, 0}, {0, 55}, {64, 0}, {64, 10}, {40, 40}, {128, 200} };
+
+        for (int[] shape : shapes) {
+            byte[] message = new byte[shape[0] + shape[1]];
+            random.nextBytes(message);
+            byte[] out = new byte[32];
+
+            new Sha256Midstate(message, shape[0]).hash(message, out);
+
+            assertArrayEquals(HashUtil.sha256(message), out,
+                "Hash should match for prefix " + shape[0] + " and tail " + shape[1]);
+        }
+    }
+
+    @Test
+    @DisplayName("Prefix longer than the message should be rejected")
+    void constructor_prefixTooLong_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> new Sha256Midstate(new byte[80], 96),
+            "Prefix cannot be longer than the message");
+    }
+}